@@ -18,7 +18,9 @@ android {
 
     buildTypes {
         release {
-            isMinifyEnabled = false
+            // R8: os modelos da API usam AdaptadoresJson (sem reflexão), então podem ser renomeados
+            isMinifyEnabled = true
+            isShrinkResources = true
             proguardFiles(
                 getDefaultProguardFile("proguard-android-optimize.txt"),
                 "proguard-rules.pro"
@@ -26,6 +28,16 @@ android {
         }
     }
 
+    testOptions {
+        unitTests.all {
+            // Benchmarks (DesempenhoTest) só rodam com -Pbenchmark, com a saída no console
+            val benchmark = project.hasProperty("benchmark")
+            it.systemProperty("benchmark", benchmark)
+            it.testLogging.showStandardStreams = benchmark
+            if (benchmark) it.maxHeapSize = "2g"
+        }
+    }
+
     compileOptions {
         sourceCompatibility = JavaVersion.VERSION_11
         targetCompatibility = JavaVersion.VERSION_11
@@ -38,13 +50,11 @@ dependencies {
     implementation(libs.material)
     implementation(libs.activity)
     implementation(libs.constraintlayout)
+    implementation(libs.recyclerview)
 
     // 🔹 OkHttp (para requisições HTTP)
     implementation("com.squareup.okhttp3:okhttp:4.12.0")
 
-    // 🔹 Interceptor de logs (para debug de requisições)
-    implementation("com.squareup.okhttp3:logging-interceptor:4.12.0")
-
     // 🔹 Retrofit (para conectar com o backend ASP.NET)
     implementation("com.squareup.retrofit2:retrofit:2.9.0")
 
@@ -54,6 +64,9 @@ dependencies {
     // 🔹 SignalR (comunicação em tempo real)
     implementation("com.microsoft.signalr:signalr:7.0.5")
 
+    // 🔹 WorkManager (sincronização dos chamados em segundo plano)
+    implementation("androidx.work:work-runtime:2.9.1")
+
     // 🔹 Picasso (para exibir imagens de forma simples)
     implementation("com.squareup.picasso:picasso:2.71828")
     implementation("com.google.android.material:material:1.11.0")
@@ -61,6 +74,7 @@ dependencies {
 
     // 🔹 Dependências de teste
     testImplementation(libs.junit)
+    testImplementation("com.squareup.okhttp3:mockwebserver:4.12.0") // servidor falso para testar uploads
     androidTestImplementation(libs.ext.junit)
     androidTestImplementation(libs.espresso.core)
 }
@@ -18,4 +18,23 @@
 
 # If you keep the line number information, uncomment this to
 # hide the original source file name.
-#-renamesourcefileattribute SourceFile
\ No newline at end of file
+#-renamesourcefileattribute SourceFile
+
+# ============================================================
+# Regras do app
+# ============================================================
+# Os modelos da API (Ticket, Mensagem, ReabrirResponse...) não precisam de
+# regra: o JSON é convertido pelos adaptadores do AdaptadoresJson.
+
+-keepattributes SourceFile,LineNumberTable
+
+# Retrofit 2.9 + R8 em modo completo: mantém os tipos genéricos dos métodos da ApiService
+-keep,allowobfuscation,allowshrinking interface retrofit2.Call
+-keep,allowobfuscation,allowshrinking class retrofit2.Response
+
+# SignalR: o cliente Java usa o próprio Gson (por reflexão) nas mensagens do protocolo
+# e nos payloads do ReceberMensagem e do ChamadoAtualizado, que não passam pelo AdaptadoresJson
+-keep class com.microsoft.signalr.** { *; }
+-keepclassmembers class com.example.appsuportecliente.model.MensagemAoVivo { <fields>; }
+-keepclassmembers class com.example.appsuportecliente.model.ChamadoAtualizado { <fields>; }
+-dontwarn org.slf4j.impl.StaticLoggerBinder
@@ -0,0 +1,556 @@
+package com.example.appsuportecliente;
+
+import com.example.appsuportecliente.model.AlteracoesChamados;
+import com.example.appsuportecliente.model.Chamado;
+import com.example.appsuportecliente.model.ColunasMensagens;
+import com.example.appsuportecliente.model.Mensagem;
+import com.example.appsuportecliente.model.ReabrirResponse;
+import com.example.appsuportecliente.model.Ticket;
+import com.example.appsuportecliente.model.TicketResponse;
+import com.example.appsuportecliente.model.TicketWrapper;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Conversão JSON dos modelos da API, escrita à mão (sem reflexão).
+ *
+ * Cada modelo tem o seu TypeAdapter, que lê e grava os campos pelo nome usado
+ * no JSON do backend. Como o Gson não precisa descobrir os campos das classes
+ * em tempo de execução, o R8 pode renomear e otimizar os modelos no release.
+ *
+ * {@link #gson()} é a instância única usada pelo Retrofit, pelos uploads e
+ * pelo registro de uploads pendentes. Modelo novo na API = adaptador novo aqui.
+ *
+ * Na leitura, datas viram milissegundos ({@link DatasApi}) e nomes repetidos
+ * são compartilhados ({@link Nomes}); na gravação, voltam ao formato da API.
+ */
+public final class AdaptadoresJson {
+
+    public static final TypeAdapter<Ticket> TICKET = new AdaptadorTicket();
+    public static final TypeAdapter<Mensagem> MENSAGEM = new AdaptadorMensagem();
+
+    private static final Gson GSON = new GsonBuilder()
+            .setLenient()  // deixa o parser mais flexível com JSON mal formatado
+            .registerTypeAdapter(Ticket.class, TICKET.nullSafe())
+            .registerTypeAdapter(Mensagem.class, MENSAGEM.nullSafe())
+            .registerTypeAdapter(TicketWrapper.class, new AdaptadorTicketWrapper().nullSafe())
+            .registerTypeAdapter(AlteracoesChamados.class, new AdaptadorAlteracoes().nullSafe())
+            .registerTypeAdapter(ReabrirResponse.class, new AdaptadorReabrir().nullSafe())
+            .registerTypeAdapter(TicketResponse.class, new AdaptadorTicketResponse().nullSafe())
+            .registerTypeAdapter(Chamado.class, new AdaptadorChamado().nullSafe())
+            .registerTypeAdapter(LoginResponse.class, new AdaptadorLogin().nullSafe())
+            .registerTypeAdapter(UploadEmPartes.Estado.class, new AdaptadorEstadoUpload().nullSafe())
+            .registerTypeAdapter(UploadEmPartes.RespostaUpload.class, new AdaptadorRespostaUpload().nullSafe())
+            .create();
+
+    private AdaptadoresJson() {
+    }
+
+    public static Gson gson() {
+        return GSON;
+    }
+
+    // ============================================================
+    // TICKETS
+    // ============================================================
+
+    private static final class AdaptadorTicket extends TypeAdapter<Ticket> {
+        @Override
+        public Ticket read(JsonReader in) throws IOException {
+            Ticket t = new Ticket();
+
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "id": t.setId(lerInt(in)); break;
+                    case "title": t.setTitle(lerTexto(in)); break;
+                    case "description": t.setDescription(lerTexto(in)); break;
+                    case "status": t.setStatus(lerTexto(in)); break;
+                    case "tecnico": t.setTecnico(lerNome(in)); break;
+                    case "criador": t.setCriador(lerNome(in)); break;
+                    case "dataCriacao": t.setDataCriacao(lerData(in)); break;
+                    case "inicioAtendimento": t.setInicioAtendimento(lerData(in)); break;
+                    case "fimAtendimento": t.setFimAtendimento(lerData(in)); break;
+                    case "tempoAtendimento": t.setTempoAtendimento(DatasApi.segundosDe(lerTexto(in))); break;
+                    default: in.skipValue(); break;
+                }
+            }
+            in.endObject();
+            return t;
+        }
+
+        @Override
+        public void write(JsonWriter out, Ticket t) throws IOException {
+            out.beginObject();
+            out.name("id").value(t.getId());
+            out.name("title").value(t.getTitle());
+            out.name("description").value(t.getDescription());
+            out.name("status").value(t.getStatus());
+            out.name("tecnico").value(t.getTecnico());
+            out.name("criador").value(t.getCriador());
+            out.name("dataCriacao").value(DatasApi.texto(t.getDataCriacao()));
+            out.name("inicioAtendimento").value(DatasApi.texto(t.getInicioAtendimento()));
+            out.name("fimAtendimento").value(DatasApi.texto(t.getFimAtendimento()));
+            out.name("tempoAtendimento").value(DatasApi.textoDuracao(t.getTempoAtendimento()));
+            out.endObject();
+        }
+    }
+
+    private static final class AdaptadorTicketWrapper extends TypeAdapter<TicketWrapper> {
+        @Override
+        public TicketWrapper read(JsonReader in) throws IOException {
+            TicketWrapper w = new TicketWrapper();
+
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "success": w.setSuccess(lerBooleano(in)); break;
+                    case "tickets": w.setTickets(lerLista(in, TICKET)); break;
+                    case "proximoCursor": w.setProximoCursor(lerIntOuNull(in)); break;
+                    default: in.skipValue(); break;
+                }
+            }
+            in.endObject();
+            return w;
+        }
+
+        @Override
+        public void write(JsonWriter out, TicketWrapper w) throws IOException {
+            out.beginObject();
+            out.name("success").value(w.isSuccess());
+            out.name("tickets");
+            gravarLista(out, w.getTickets(), TICKET);
+            out.name("proximoCursor").value(w.getProximoCursor());
+            out.endObject();
+        }
+    }
+
+    private static final class AdaptadorAlteracoes extends TypeAdapter<AlteracoesChamados> {
+        @Override
+        public AlteracoesChamados read(JsonReader in) throws IOException {
+            AlteracoesChamados a = new AlteracoesChamados();
+
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "success": a.setSuccess(lerBooleano(in)); break;
+                    case "tickets": a.setTickets(lerLista(in, TICKET)); break;
+                    case "comMensagens": a.setComMensagens(lerInteiros(in)); break;
+                    case "marca": a.setMarca(lerTexto(in)); break;
+                    default: in.skipValue(); break;
+                }
+            }
+            in.endObject();
+            return a;
+        }
+
+        @Override
+        public void write(JsonWriter out, AlteracoesChamados a) throws IOException {
+            out.beginObject();
+            out.name("success").value(a.isSuccess());
+            out.name("tickets");
+            gravarLista(out, a.getTickets(), TICKET);
+            out.name("comMensagens");
+            if (a.getComMensagens() == null) {
+                out.nullValue();
+            } else {
+                out.beginArray();
+                for (Integer id : a.getComMensagens()) out.value(id);
+                out.endArray();
+            }
+            out.name("marca").value(a.getMarca());
+            out.endObject();
+        }
+    }
+
+    private static final class AdaptadorTicketResponse extends TypeAdapter<TicketResponse> {
+        @Override
+        public TicketResponse read(JsonReader in) throws IOException {
+            TicketResponse r = new TicketResponse();
+
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "success": r.success = lerBooleano(in); break;
+                    case "tecnicoResponsavel": r.tecnicoResponsavel = lerTexto(in); break;
+                    case "especialidade": r.especialidade = lerTexto(in); break;
+                    case "usuario": r.usuario = lerTexto(in); break;
+                    case "ticketId": r.ticketId = lerInt(in); break;
+                    case "redirectUrl": r.redirectUrl = lerTexto(in); break;
+                    case "criador": r.criador = lerTexto(in); break;
+                    default: in.skipValue(); break;
+                }
+            }
+            in.endObject();
+            return r;
+        }
+
+        @Override
+        public void write(JsonWriter out, TicketResponse r) throws IOException {
+            out.beginObject();
+            out.name("success").value(r.success);
+            out.name("tecnicoResponsavel").value(r.tecnicoResponsavel);
+            out.name("especialidade").value(r.especialidade);
+            out.name("usuario").value(r.usuario);
+            out.name("ticketId").value(r.ticketId);
+            out.name("redirectUrl").value(r.redirectUrl);
+            out.name("criador").value(r.criador != null ? r.criador.toString() : null);
+            out.endObject();
+        }
+    }
+
+    // Corpo do POST Tickets/Novo (nomes com maiúscula, como no backend)
+    private static final class AdaptadorChamado extends TypeAdapter<Chamado> {
+        @Override
+        public Chamado read(JsonReader in) throws IOException {
+            Chamado c = new Chamado(null, null, null);
+
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "Title": c.setTitle(lerTexto(in)); break;
+                    case "Description": c.setDescription(lerTexto(in)); break;
+                    case "Criador": c.setCriador(lerTexto(in)); break;
+                    default: in.skipValue(); break;
+                }
+            }
+            in.endObject();
+            return c;
+        }
+
+        @Override
+        public void write(JsonWriter out, Chamado c) throws IOException {
+            out.beginObject();
+            out.name("Title").value(c.getTitle());
+            out.name("Description").value(c.getDescription());
+            out.name("Criador").value(c.getCriador());
+            out.endObject();
+        }
+    }
+
+    // ============================================================
+    // CHAT
+    // ============================================================
+
+    private static final class AdaptadorMensagem extends TypeAdapter<Mensagem> {
+        @Override
+        public Mensagem read(JsonReader in) throws IOException {
+            Mensagem m = new Mensagem();
+
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "id": m.setId(lerInt(in)); break;
+                    case "remetente": m.setRemetente(lerNome(in)); break;
+                    case "destinatario": m.setDestinatario(lerNome(in)); break;
+                    case "conteudo": m.setConteudo(lerTexto(in)); break;
+                    case "dataEnvio": m.setDataEnvio(lerData(in)); break;
+                    case "ticketId": m.setTicketId(lerInt(in)); break;
+                    case "tipo": m.setTipo(lerNome(in)); break;
+                    case "nomeOriginal": m.setNomeOriginal(lerTexto(in)); break;
+                    case "cursor": m.setCursor(lerTexto(in)); break;
+                    default: in.skipValue(); break;
+                }
+            }
+            in.endObject();
+            return m;
+        }
+
+        // idLocal fica de fora: só existe no banco do aparelho
+        @Override
+        public void write(JsonWriter out, Mensagem m) throws IOException {
+            out.beginObject();
+            out.name("id").value(m.getId());
+            out.name("remetente").value(m.getRemetente());
+            out.name("destinatario").value(m.getDestinatario());
+            out.name("conteudo").value(m.getConteudo());
+            out.name("dataEnvio").value(DatasApi.texto(m.getDataEnvio()));
+            out.name("ticketId").value(m.getTicketId());
+            out.name("tipo").value(m.getTipo());
+            out.name("nomeOriginal").value(m.getNomeOriginal());
+            out.name("cursor").value(m.getCursor());
+            out.endObject();
+        }
+    }
+
+    private static final class AdaptadorReabrir extends TypeAdapter<ReabrirResponse> {
+        @Override
+        public ReabrirResponse read(JsonReader in) throws IOException {
+            ReabrirResponse r = new ReabrirResponse();
+
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "success": r.setSuccess(lerBooleano(in)); break;
+                    case "ticket": r.setTicket(lerObjeto(in, TICKET)); break;
+                    case "mensagens": r.setMensagens(lerColunas(in)); break;
+                    case "cursorAnterior": r.setCursorAnterior(lerTexto(in)); break;
+                    default: in.skipValue(); break;
+                }
+            }
+            in.endObject();
+            return r;
+        }
+
+        @Override
+        public void write(JsonWriter out, ReabrirResponse r) throws IOException {
+            out.beginObject();
+            out.name("success").value(r.isSuccess());
+            out.name("ticket");
+            if (r.getTicket() != null) TICKET.write(out, r.getTicket()); else out.nullValue();
+            out.name("mensagens");
+            gravarLista(out, r.getMensagens(), MENSAGEM);
+            out.name("cursorAnterior").value(r.getCursorAnterior());
+            out.endObject();
+        }
+    }
+
+    // ============================================================
+    // LOGIN
+    // ============================================================
+
+    private static final class AdaptadorLogin extends TypeAdapter<LoginResponse> {
+        @Override
+        public LoginResponse read(JsonReader in) throws IOException {
+            boolean success = false;
+            String message = null;
+            String redirectUrl = null;
+            String username = null;
+
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "success": success = lerBooleano(in); break;
+                    case "message": message = lerTexto(in); break;
+                    case "redirectUrl": redirectUrl = lerTexto(in); break;
+                    case "username": username = lerTexto(in); break;
+                    default: in.skipValue(); break;
+                }
+            }
+            in.endObject();
+            return new LoginResponse(success, message, redirectUrl, username);
+        }
+
+        @Override
+        public void write(JsonWriter out, LoginResponse r) throws IOException {
+            out.beginObject();
+            out.name("success").value(r.isSuccess());
+            out.name("message").value(r.getMessage());
+            out.name("redirectUrl").value(r.getRedirectUrl());
+            out.name("username").value(r.getUsername());
+            out.endObject();
+        }
+    }
+
+    // ============================================================
+    // UPLOADS
+    // ============================================================
+
+    // Andamento salvo em SharedPreferences pelo RegistroUploads
+    private static final class AdaptadorEstadoUpload extends TypeAdapter<UploadEmPartes.Estado> {
+        @Override
+        public UploadEmPartes.Estado read(JsonReader in) throws IOException {
+            UploadEmPartes.Estado e = new UploadEmPartes.Estado();
+
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "chave": e.chave = lerTexto(in); break;
+                    case "origem": e.origem = lerTexto(in); break;
+                    case "nomeArquivo": e.nomeArquivo = lerTexto(in); break;
+                    case "tamanho": e.tamanho = lerLong(in); break;
+                    case "ticketId": e.ticketId = lerInt(in); break;
+                    case "usuario": e.usuario = lerTexto(in); break;
+                    case "uploadId": e.uploadId = lerTexto(in); break;
+                    case "confirmados": e.confirmados = lerLong(in); break;
+                    default: in.skipValue(); break;
+                }
+            }
+            in.endObject();
+            return e;
+        }
+
+        @Override
+        public void write(JsonWriter out, UploadEmPartes.Estado e) throws IOException {
+            out.beginObject();
+            out.name("chave").value(e.chave);
+            out.name("origem").value(e.origem);
+            out.name("nomeArquivo").value(e.nomeArquivo);
+            out.name("tamanho").value(e.tamanho);
+            out.name("ticketId").value(e.ticketId);
+            out.name("usuario").value(e.usuario);
+            out.name("uploadId").value(e.uploadId);
+            out.name("confirmados").value(e.confirmados);
+            out.endObject();
+        }
+    }
+
+    // Resposta de Upload/Iniciar, Status, Parte, Concluir e do upload simples
+    private static final class AdaptadorRespostaUpload extends TypeAdapter<UploadEmPartes.RespostaUpload> {
+        @Override
+        public UploadEmPartes.RespostaUpload read(JsonReader in) throws IOException {
+            UploadEmPartes.RespostaUpload r = new UploadEmPartes.RespostaUpload();
+
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "success": r.success = lerBooleano(in); break;
+                    case "uploadId": r.uploadId = lerTexto(in); break;
+                    case "recebidos": r.recebidos = lerLong(in); break;
+                    case "fileUrl": r.fileUrl = lerTexto(in); break;
+                    case "error": r.error = lerTexto(in); break;
+                    default: in.skipValue(); break;
+                }
+            }
+            in.endObject();
+            return r;
+        }
+
+        @Override
+        public void write(JsonWriter out, UploadEmPartes.RespostaUpload r) throws IOException {
+            out.beginObject();
+            out.name("success").value(r.success);
+            out.name("uploadId").value(r.uploadId);
+            out.name("recebidos").value(r.recebidos);
+            out.name("fileUrl").value(r.fileUrl);
+            out.name("error").value(r.error);
+            out.endObject();
+        }
+    }
+
+    // ============================================================
+    // LEITURA DOS VALORES
+    // ============================================================
+    // Mesmas regras dos adaptadores padrão do Gson: null vira o valor padrão
+    // do campo, e números/booleanos vindos como texto são aceitos.
+
+    static String lerTexto(JsonReader in) throws IOException {
+        JsonToken token = in.peek();
+        if (token == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        if (token == JsonToken.BOOLEAN) return Boolean.toString(in.nextBoolean());
+        return in.nextString();
+    }
+
+    // Nomes, status e tipos se repetem muito: uma instância só de cada (Nomes)
+    static String lerNome(JsonReader in) throws IOException {
+        return Nomes.internar(lerTexto(in));
+    }
+
+    // Data da API ("yyyy-MM-dd HH:mm:ss") em milissegundos desde 1970
+    static long lerData(JsonReader in) throws IOException {
+        return DatasApi.epochDe(lerTexto(in));
+    }
+
+    static int lerInt(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return 0;
+        }
+        return in.nextInt();
+    }
+
+    static Integer lerIntOuNull(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        return in.nextInt();
+    }
+
+    static long lerLong(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return 0;
+        }
+        return in.nextLong();
+    }
+
+    static boolean lerBooleano(JsonReader in) throws IOException {
+        JsonToken token = in.peek();
+        if (token == JsonToken.NULL) {
+            in.nextNull();
+            return false;
+        }
+        if (token == JsonToken.STRING) return Boolean.parseBoolean(in.nextString());
+        return in.nextBoolean();
+    }
+
+    private static <T> T lerObjeto(JsonReader in, TypeAdapter<T> adaptador) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        return adaptador.read(in);
+    }
+
+    private static <T> List<T> lerLista(JsonReader in, TypeAdapter<T> adaptador) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        List<T> lista = new ArrayList<>();
+        in.beginArray();
+        while (in.hasNext()) lista.add(lerObjeto(in, adaptador));
+        in.endArray();
+        return lista;
+    }
+
+    private static List<Integer> lerInteiros(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        List<Integer> lista = new ArrayList<>();
+        in.beginArray();
+        while (in.hasNext()) {
+            Integer valor = lerIntOuNull(in);
+            if (valor != null) lista.add(valor);
+        }
+        in.endArray();
+        return lista;
+    }
+
+    // Histórico inteiro de um chamado: guardado em colunas, não em objetos
+    private static List<Mensagem> lerColunas(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        ColunasMensagens colunas = new ColunasMensagens();
+        in.beginArray();
+        while (in.hasNext()) {
+            Mensagem m = lerObjeto(in, MENSAGEM);
+            if (m != null) colunas.add(m);
+        }
+        in.endArray();
+        colunas.compactar();
+        return colunas;
+    }
+
+    private static <T> void gravarLista(JsonWriter out, List<T> lista, TypeAdapter<T> adaptador) throws IOException {
+        if (lista == null) {
+            out.nullValue();
+            return;
+        }
+
+        out.beginArray();
+        for (T item : lista) {
+            if (item != null) adaptador.write(out, item); else out.nullValue();
+        }
+        out.endArray();
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.appsuportecliente;
 // Pacote principal onde a interface da API fica localizada no projeto Android.
 
+import com.example.appsuportecliente.model.AlteracoesChamados;
 import com.example.appsuportecliente.model.Chamado;
 import com.example.appsuportecliente.LoginResponse;
 import com.example.appsuportecliente.model.Mensagem;
@@ -55,6 +56,43 @@ public interface ApiService {
     @GET("Tickets/ListarPorCliente")
     Call<TicketWrapper> listarChamados(@Query("usuario") String nomeUsuario);
 
+    // 🔹 LISTA OS CHAMADOS DO CLIENTE EM PÁGINAS
+    // ------------------------------------------
+    // Mesmo endpoint, com paginação por cursor (do chamado mais novo para o mais antigo).
+    // @Query("cursor") → proximoCursor da página anterior (null na primeira página)
+    // @Query("tamanho") → quantidade de chamados por página
+    //
+    // Retorno:
+    // {
+    //   "success": true,
+    //   "tickets": [...],
+    //   "proximoCursor": 123   (null quando não há mais páginas)
+    // }
+    @GET("Tickets/ListarPorCliente")
+    Call<TicketWrapper> listarChamadosPaginado(
+            @Query("usuario") String nomeUsuario,
+            @Query("cursor") Integer cursor,
+            @Query("tamanho") int tamanho
+    );
+
+    // 🔹 ALTERAÇÕES NOS CHAMADOS DO CLIENTE (SINCRONIZAÇÃO EM SEGUNDO PLANO)
+    // ----------------------------------------------------------------------
+    // @Query("desde") → "marca" devolvida pela sincronização anterior
+    // (null na primeira vez: o servidor devolve todos os chamados do cliente)
+    //
+    // Retorno:
+    // {
+    //   "success": true,
+    //   "tickets": [...],          (só os alterados desde a marca)
+    //   "comMensagens": [12, 15],  (chamados com mensagens novas)
+    //   "marca": "2025-10-20 14:32:00"
+    // }
+    @GET("Tickets/AlteracoesPorCliente")
+    Call<AlteracoesChamados> alteracoesChamados(
+            @Query("usuario") String nomeUsuario,
+            @Query("desde") String desde
+    );
+
     // 🔹 REABRIR O CHAT DE UM TICKET
     // --------------------------------
     // @POST("Tickets/ReabrirChatMobile/{id}") → rota com parâmetro dinâmico
@@ -75,8 +113,15 @@ public interface ApiService {
     // ------------------------------------------------
     // @GET("Tickets/VisualizarChatMobile/{id}") → endpoint que devolve
     // o chat completo do ticket, incluindo todas as mensagens.
+    // @Query("desde") → opcional; devolve só mensagens enviadas a partir dessa data
+    // (formato "yyyy-MM-dd HH:mm:ss"). Se for null, o Retrofit omite o parâmetro.
+    // @Query("limite") → opcional; devolve só as "limite" mensagens mais recentes
+    // anteriores a @Query("antes") (cursor), e a resposta traz "cursorAnterior".
     @GET("Tickets/VisualizarChatMobile/{id}")
     Call<ReabrirResponse> visualizarChatMobile(
-            @Path("id") int ticketId             // ID do ticket desejado
+            @Path("id") int ticketId,            // ID do ticket desejado
+            @Query("desde") String desde,        // Última data já sincronizada
+            @Query("antes") String antes,        // Cursor da página anterior
+            @Query("limite") Integer limite      // Tamanho da página
     );
 }
@@ -0,0 +1,139 @@
+package com.example.appsuportecliente;
+
+import android.content.Intent;
+import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.text.Editable;
+import android.text.TextWatcher;
+import android.util.Log;
+import android.view.View;
+import android.widget.EditText;
+import android.widget.TextView;
+
+import androidx.appcompat.app.AppCompatActivity;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.example.appsuportecliente.model.ResultadoBusca;
+import com.example.appsuportecliente.model.StatusTicket;
+
+import java.util.List;
+
+/**
+ * Busca nos chamados e nas conversas já guardados no aparelho
+ * (ChatDatabase.buscar): responde na hora e funciona sem rede.
+ *
+ * Cada alteração do texto agenda uma nova busca, e o resultado de uma busca
+ * que já foi substituída por outra é descartado. Tocar num resultado abre o
+ * chat do chamado (somente leitura), já na mensagem encontrada.
+ */
+public class BuscaActivity extends AppCompatActivity {
+
+    private static final String TAG = "DEBUG_BUSCA";
+
+    private static final int MAX_RESULTADOS = 50;
+
+    // Espera depois da última tecla antes de buscar
+    private static final long ESPERA_DIGITACAO_MS = 150;
+
+    private EditText editBusca;
+    private TextView txtSemResultados;
+    private ResultadosBuscaAdapter adapter;
+    private String usuario;
+
+    private ChatDatabase chatDatabase;
+    private final Tarefas.Escopo tarefas = Tarefas.escopo(this);
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private final Runnable buscarAgora = this::buscar;
+
+    // Número da busca mais recente (só ela é exibida). Thread principal.
+    private int geracao;
+
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        setContentView(R.layout.activity_busca);
+
+        usuario = SessaoUsuario.get().getUsuario();
+        if (usuario == null || usuario.isEmpty()) {
+            finish();
+            return;
+        }
+
+        editBusca = findViewById(R.id.editBusca);
+        txtSemResultados = findViewById(R.id.txtSemResultados);
+        RecyclerView recycler = findViewById(R.id.recyclerResultados);
+
+        recycler.setLayoutManager(new LinearLayoutManager(this));
+        adapter = new ResultadosBuscaAdapter(this::abrirResultado);
+        recycler.setAdapter(adapter);
+
+        chatDatabase = ChatDatabase.getInstance(this);
+
+        editBusca.addTextChangedListener(new TextWatcher() {
+            @Override
+            public void beforeTextChanged(CharSequence s, int start, int count, int after) {
+            }
+
+            @Override
+            public void onTextChanged(CharSequence s, int start, int before, int count) {
+            }
+
+            @Override
+            public void afterTextChanged(Editable s) {
+                handler.removeCallbacks(buscarAgora);
+                handler.postDelayed(buscarAgora, ESPERA_DIGITACAO_MS);
+            }
+        });
+    }
+
+    // Roda a busca em segundo plano e exibe, se ainda for a mais recente
+    private void buscar() {
+        String texto = editBusca.getText().toString();
+        int esta = ++geracao;
+
+        if (RelevanciaBusca.consultaFts(texto) == null) {
+            adapter.submitList(null);
+            txtSemResultados.setVisibility(View.GONE);
+            return;
+        }
+
+        tarefas.io(Tarefas.Prioridade.VISIVEL, () -> {
+            long inicio = SystemClock.elapsedRealtime();
+            List<ResultadoBusca> resultados = chatDatabase.buscar(usuario, texto, MAX_RESULTADOS);
+            Log.d(TAG, "🔍 " + resultados.size() + " resultados em "
+                    + (SystemClock.elapsedRealtime() - inicio) + " ms");
+
+            tarefas.naUi(() -> {
+                if (esta != geracao) return; // o texto mudou nesse meio tempo
+
+                adapter.submitList(resultados);
+                txtSemResultados.setVisibility(resultados.isEmpty() ? View.VISIBLE : View.GONE);
+            });
+        });
+    }
+
+    // Abre o chat do chamado; para mensagens, já posicionado nela
+    private void abrirResultado(ResultadoBusca resultado) {
+        Intent intent = new Intent(this, ChatActivity.class);
+        intent.putExtra("ticketId", resultado.getTicketId());
+        intent.putExtra("titulo", resultado.getTitulo());
+        intent.putExtra("usuario", usuario);
+        intent.putExtra("tecnico", resultado.getTecnico() != null ? resultado.getTecnico() : "Não atribuído");
+        // Como na lista de chamados: só o chamado em andamento abre com a barra de envio
+        intent.putExtra("modoVisualizacao",
+                StatusTicket.de(resultado.getStatus()) != StatusTicket.EM_ANDAMENTO);
+        if (resultado.getTipo() == ResultadoBusca.TIPO_MENSAGEM) {
+            intent.putExtra(ChatActivity.EXTRA_MENSAGEM, resultado.getIdMensagem());
+        }
+        startActivity(intent);
+    }
+
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        handler.removeCallbacks(buscarAgora);
+    }
+}
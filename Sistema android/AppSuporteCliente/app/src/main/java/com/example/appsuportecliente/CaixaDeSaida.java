@@ -0,0 +1,286 @@
+package com.example.appsuportecliente;
+
+import android.content.Context;
+import android.util.Log;
+
+import com.example.appsuportecliente.model.EnvioPendente;
+import com.example.appsuportecliente.model.MensagemAoVivo;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Caixa de saída das mensagens do cliente.
+ *
+ * Cada mensagem recebe um clientId e é gravada no banco (ChatDatabase) antes
+ * de sair. O envio é feito pelo hub (EnviarMensagemComId) na ordem em que o
+ * usuário escreveu, com até {@link #MAX_EM_VOO} mensagens aguardando resposta
+ * ao mesmo tempo. A mensagem só sai da caixa quando o servidor devolve o id
+ * gravado; se a conexão cair, tudo o que ficou é reenviado ao reconectar
+ * (o servidor ignora clientIds repetidos). Mensagens pendentes de uma
+ * execução anterior do app são retomadas no init().
+ */
+public final class CaixaDeSaida {
+
+    private static final String TAG = "CAIXA_SAIDA";
+
+    // Mensagens enviadas sem esperar a confirmação das anteriores
+    private static final int MAX_EM_VOO = 4;
+
+    // Recusas do servidor (com a conexão ativa) antes de desistir da mensagem
+    private static final int MAX_RECUSAS = 3;
+
+    // Resultado dos envios de um ticket. Chamado fora da thread principal.
+    public interface Observador {
+        void aoEntregar(EnvioPendente envio, int idServidor);
+
+        void aoDescartar(EnvioPendente envio);
+    }
+
+    private static CaixaDeSaida instancia;
+
+    private final ChatDatabase banco;
+    private final SessaoChat sessao;
+
+    // Filas por ticket (protegidas por "this")
+    private final Map<Integer, Fila> filas = new HashMap<>();
+    private boolean restaurada = false;
+
+    private final Map<Integer, List<Observador>> observadores = new ConcurrentHashMap<>();
+
+    private CaixaDeSaida(ChatDatabase banco, SessaoChat sessao) {
+        this.banco = banco;
+        this.sessao = sessao;
+    }
+
+    // Chamado uma vez pelo SuporteApplication (depois do SessaoChat.init)
+    public static synchronized void init(Context context) {
+        if (instancia != null) return;
+
+        instancia = new CaixaDeSaida(ChatDatabase.getInstance(context), SessaoChat.get());
+        Tarefas.io(Tarefas.Prioridade.FUNDO, instancia::restaurar);
+    }
+
+    public static CaixaDeSaida get() {
+        if (instancia == null) throw new IllegalStateException("CaixaDeSaida.init() não foi chamado");
+        return instancia;
+    }
+
+    // ============================================================
+    // API
+    // ============================================================
+
+    // Coloca a mensagem na caixa e devolve na hora (a tela já pode exibir a bolha)
+    public EnvioPendente enviar(int ticketId, String autor, String conteudo) {
+        EnvioPendente envio = new EnvioPendente(UUID.randomUUID().toString(),
+                ticketId, autor, conteudo, System.currentTimeMillis());
+
+        // Grava antes de enviar: se o app fechar agora, a mensagem sai na próxima abertura.
+        // Banco e fila sob o lock, nesta thread: dois envios seguidos ficam nos dois
+        // na ordem em que foram escritos. Só o envio pela rede vai para o pool.
+        List<Fila> novas;
+        synchronized (this) {
+            novas = restaurarSePreciso();
+            banco.adicionarPendente(envio);
+            Fila nova = adicionarNaFila(envio);
+            if (nova != null) novas.add(nova);
+        }
+        inscrever(novas);
+
+        Tarefas.io(Tarefas.Prioridade.NORMAL, () -> bombear(ticketId));
+        return envio;
+    }
+
+    // Mensagens do ticket ainda sem confirmação, na ordem de envio
+    public synchronized List<EnvioPendente> pendentes(int ticketId) {
+        Fila fila = filas.get(ticketId);
+        return fila != null ? new ArrayList<>(fila.pendentes) : Collections.emptyList();
+    }
+
+    public void observar(int ticketId, Observador observador) {
+        observadores.computeIfAbsent(ticketId, k -> new CopyOnWriteArrayList<>()).add(observador);
+    }
+
+    public void deixarDeObservar(int ticketId, Observador observador) {
+        List<Observador> lista = observadores.get(ticketId);
+        if (lista != null) lista.remove(observador);
+    }
+
+    // ============================================================
+    // FILA
+    // ============================================================
+
+    // Pendências de um ticket. Enquanto existir, mantém o ticket inscrito na
+    // SessaoChat (e portanto a conexão aberta), mesmo com a tela do chat fechada.
+    private final class Fila implements SessaoChat.Ouvinte {
+        final int ticketId;
+        final List<EnvioPendente> pendentes = new ArrayList<>();
+        final Set<String> emVoo = new HashSet<>();
+        final Map<String, Integer> recusas = new HashMap<>();
+
+        Fila(int ticketId) {
+            this.ticketId = ticketId;
+        }
+
+        @Override
+        public void aoReceberMensagem(MensagemAoVivo mensagem) {
+            // A exibição é da tela do chat
+        }
+
+        @Override
+        public void aoConectar() {
+            bombear(ticketId);
+        }
+    }
+
+    private void restaurar() {
+        List<Fila> novas;
+        synchronized (this) {
+            novas = restaurarSePreciso();
+        }
+        inscrever(novas);
+    }
+
+    // Sob o lock. Carrega uma vez as pendências da execução anterior, antes do
+    // primeiro envio novo (que senão passaria na frente delas ou seria lido de
+    // novo do banco). Devolve as filas criadas, para inscrever fora do lock.
+    private List<Fila> restaurarSePreciso() {
+        List<Fila> novas = new ArrayList<>();
+        if (restaurada) return novas;
+        restaurada = true;
+
+        List<EnvioPendente> salvos = banco.listarPendentes();
+        if (!salvos.isEmpty()) Log.i(TAG, salvos.size() + " mensagem(ns) pendente(s) da última execução");
+
+        for (EnvioPendente envio : salvos) {
+            Fila nova = adicionarNaFila(envio);
+            if (nova != null) novas.add(nova);
+        }
+        return novas;
+    }
+
+    // Sob o lock. Devolve a fila se ela foi criada agora.
+    private Fila adicionarNaFila(EnvioPendente envio) {
+        Fila fila = filas.get(envio.getTicketId());
+        if (fila != null) {
+            fila.pendentes.add(envio);
+            return null;
+        }
+
+        fila = new Fila(envio.getTicketId());
+        fila.pendentes.add(envio);
+        filas.put(envio.getTicketId(), fila);
+        return fila;
+    }
+
+    // Fora do lock: a sessão avisa aoConectar() na mesma thread se já estiver conectada
+    private void inscrever(List<Fila> novas) {
+        for (Fila fila : novas) sessao.inscrever(fila.ticketId, fila);
+    }
+
+    // Envia as próximas mensagens da fila, até MAX_EM_VOO aguardando resposta.
+    // O hub executa as invocações de uma conexão uma de cada vez, na ordem de
+    // chegada, então elas são gravadas no servidor na mesma ordem da fila.
+    private void bombear(int ticketId) {
+        List<EnvioPendente> saindo = new ArrayList<>();
+
+        synchronized (this) {
+            Fila fila = filas.get(ticketId);
+            if (fila == null) return;
+
+            for (EnvioPendente envio : fila.pendentes) {
+                if (fila.emVoo.size() >= MAX_EM_VOO) break;
+                if (fila.emVoo.add(envio.getClientId())) saindo.add(envio);
+            }
+        }
+
+        for (EnvioPendente envio : saindo) {
+            sessao.invocar(Integer.class, "EnviarMensagemComId", envio.getTicketId(),
+                            envio.getAutor(), envio.getConteudo(), "cliente", envio.getClientId())
+                    .subscribe(id -> aoEntregar(envio, id), erro -> aoFalhar(envio, erro));
+        }
+    }
+
+    private void aoEntregar(EnvioPendente envio, int idServidor) {
+        int ticketId = envio.getTicketId();
+        Fila esvaziada = null;
+
+        synchronized (this) {
+            Fila fila = filas.get(ticketId);
+            if (fila == null || !fila.pendentes.remove(envio)) return;
+
+            fila.emVoo.remove(envio.getClientId());
+            fila.recusas.remove(envio.getClientId());
+            if (fila.pendentes.isEmpty()) {
+                filas.remove(ticketId);
+                esvaziada = fila;
+            }
+        }
+
+        Tarefas.io(Tarefas.Prioridade.FUNDO, () -> banco.removerPendente(envio.getClientId()));
+        for (Observador o : observadoresDo(ticketId)) o.aoEntregar(envio, idServidor);
+
+        if (esvaziada != null) {
+            sessao.cancelarInscricao(ticketId, esvaziada);
+        } else {
+            bombear(ticketId);
+        }
+    }
+
+    private void aoFalhar(EnvioPendente envio, Throwable erro) {
+        int ticketId = envio.getTicketId();
+
+        // Conexão ainda ativa: foi o servidor que recusou (ex: ticket inexistente).
+        // Sem conexão: a fila para e continua no próximo aoConectar().
+        boolean conectado = sessao.isConectado();
+        boolean descartar = false;
+        Fila esvaziada = null;
+
+        synchronized (this) {
+            Fila fila = filas.get(ticketId);
+            if (fila == null) return;
+            fila.emVoo.remove(envio.getClientId());
+
+            if (conectado) {
+                int recusas = fila.recusas.merge(envio.getClientId(), 1, Integer::sum);
+                descartar = recusas >= MAX_RECUSAS;
+            }
+
+            if (descartar) {
+                fila.pendentes.remove(envio);
+                fila.recusas.remove(envio.getClientId());
+                if (fila.pendentes.isEmpty()) {
+                    filas.remove(ticketId);
+                    esvaziada = fila;
+                }
+            }
+        }
+
+        Log.w(TAG, "Envio " + envio.getClientId() + " falhou" + (descartar ? " (descartado)" : "")
+                + ": " + erro.getMessage());
+
+        if (descartar) {
+            Tarefas.io(Tarefas.Prioridade.FUNDO, () -> banco.removerPendente(envio.getClientId()));
+            for (Observador o : observadoresDo(ticketId)) o.aoDescartar(envio);
+        }
+
+        if (esvaziada != null) {
+            sessao.cancelarInscricao(ticketId, esvaziada);
+        } else if (conectado) {
+            bombear(ticketId);
+        }
+    }
+
+    private List<Observador> observadoresDo(int ticketId) {
+        List<Observador> lista = observadores.get(ticketId);
+        return lista != null ? lista : Collections.emptyList();
+    }
+}
@@ -17,8 +17,6 @@ import com.example.appsuportecliente.model.TicketResponse;
 import retrofit2.Call;
 import retrofit2.Callback;
 import retrofit2.Response;
-import retrofit2.Retrofit;
-import retrofit2.converter.gson.GsonConverterFactory;
 
 /**
  * Activity responsável por criar um novo chamado.
@@ -49,13 +47,8 @@ public class ChamadoActivity extends AppCompatActivity {
         progressDialog.setMessage("Enviando chamado...");
         progressDialog.setCancelable(false);
 
-        // 📌 Configura Retrofit para chamadas HTTP
-        Retrofit retrofit = new Retrofit.Builder()
-                .baseUrl("http://192.168.1.9:5290/") // URL base da API
-                .addConverterFactory(GsonConverterFactory.create()) // Converte JSON automaticamente
-                .build();
-
-        apiService = retrofit.create(ApiService.class);
+        // 📌 Usa o Retrofit compartilhado do app para chamadas HTTP
+        apiService = RetrofitClient.getApiService();
 
         // 📌 Evento do botão ENVIAR chamado
         btnEnviar.setOnClickListener(v -> enviarChamado());
@@ -81,9 +74,9 @@ public class ChamadoActivity extends AppCompatActivity {
             return;
         }
 
-        // 📌 Recupera nome do criador armazenado login
-        String criador = getSharedPreferences("UserPrefs", MODE_PRIVATE)
-                .getString("username", "Usuário desconhecido");
+        // 📌 Recupera nome do criador (sessão do login)
+        String criador = SessaoUsuario.get().getUsuario();
+        if (criador == null) criador = "Usuário desconhecido";
 
         // Log para depuração
         Log.d(TAG, "👤 Nome do criador carregado: " + criador);
@@ -0,0 +1,161 @@
+package com.example.appsuportecliente;
+
+import android.annotation.SuppressLint;
+import android.util.Log;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.Button;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.example.appsuportecliente.model.Ticket;
+
+import java.util.Objects;
+
+/**
+ * Adapter da lista de chamados (MeusChamadosActivity).
+ *
+ * Os cards (item_chamado) são reciclados, então a tela abre rápido mesmo
+ * para clientes com centenas de chamados; as páginas novas entram no fim
+ * da lista pelo DiffUtil.
+ */
+public class ChamadosAdapter extends ListAdapter<Ticket, ChamadosAdapter.ChamadoViewHolder> {
+
+    private static final String TAG = "DEBUG_CHAMADOS";
+
+    // Mesmo chamado = mesmo id; conteúdo = campos exibidos no card
+    private static final DiffUtil.ItemCallback<Ticket> DIFF = new DiffUtil.ItemCallback<Ticket>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull Ticket antigo, @NonNull Ticket novo) {
+            return antigo.getId() == novo.getId();
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull Ticket antigo, @NonNull Ticket novo) {
+            return antigo.getSituacao() == novo.getSituacao()
+                    && Objects.equals(antigo.getTitle(), novo.getTitle())
+                    && Objects.equals(antigo.getDescription(), novo.getDescription())
+                    && Objects.equals(antigo.getTecnico(), novo.getTecnico())
+                    && antigo.getDataCriacao() == novo.getDataCriacao()
+                    && antigo.getMensagemNova() == novo.getMensagemNova();
+        }
+    };
+
+    // Ações dos botões do card
+    public interface AcoesChamado {
+        void reabrir(Ticket ticket);
+        void visualizar(Ticket ticket);
+    }
+
+    private final AcoesChamado acoes;
+
+    public ChamadosAdapter(AcoesChamado acoes) {
+        super(DIFF);
+        this.acoes = acoes;
+        setHasStableIds(true);
+    }
+
+    @Override
+    public long getItemId(int position) {
+        return getItem(position).getId();
+    }
+
+    @NonNull
+    @Override
+    public ChamadoViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        View card = LayoutInflater.from(parent.getContext())
+                .inflate(R.layout.item_chamado, parent, false);
+        return new ChamadoViewHolder(card);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull ChamadoViewHolder holder, int position) {
+        holder.bind(getItem(position), acoes);
+    }
+
+    // ============================================================
+    // VIEWHOLDER
+    // ============================================================
+
+    static class ChamadoViewHolder extends RecyclerView.ViewHolder {
+        final TextView txtId;
+        final TextView txtStatus;
+        final TextView txtTitulo;
+        final TextView txtDescricao;
+        final TextView txtTecnico;
+        final TextView txtData;
+        final TextView txtMensagemNova;
+        final Button btnReabrir;
+        final Button btnVisualizar;
+
+        ChamadoViewHolder(@NonNull View card) {
+            super(card);
+            txtId = card.findViewById(R.id.txtId);
+            txtStatus = card.findViewById(R.id.txtStatus);
+            txtTitulo = card.findViewById(R.id.txtTitulo);
+            txtDescricao = card.findViewById(R.id.txtDescricao);
+            txtTecnico = card.findViewById(R.id.txtTecnico);
+            txtData = card.findViewById(R.id.txtData);
+            txtMensagemNova = card.findViewById(R.id.txtMensagemNova);
+            btnReabrir = card.findViewById(R.id.btnReabrir);
+            btnVisualizar = card.findViewById(R.id.btnVisualizar);
+        }
+
+        @SuppressLint("SetTextI18n")
+        void bind(Ticket ticket, AcoesChamado acoes) {
+
+            // Preenche os textos
+            txtId.setText("#" + ticket.getId());
+            txtStatus.setText(ticket.getStatus());
+            txtTitulo.setText(ticket.getTitle());
+            txtDescricao.setText(ticket.getDescription());
+            txtTecnico.setText("👷 Técnico: " +
+                    (ticket.getTecnico() != null ? ticket.getTecnico() : "Não atribuído"));
+            txtData.setText("📅 " + DatasApi.texto(ticket.getDataCriacao()));
+
+            if (ticket.getMensagemNova() > 0) {
+                txtMensagemNova.setText("💬 Nova mensagem · " + DatasApi.horaDe(ticket.getMensagemNova()));
+                txtMensagemNova.setVisibility(View.VISIBLE);
+            } else {
+                txtMensagemNova.setVisibility(View.GONE);
+            }
+
+            // Configura cor e botões baseado no status
+            switch (ticket.getSituacao()) {
+                case ABERTO:
+                    txtStatus.setBackgroundResource(R.drawable.bg_status_aberto);
+                    btnReabrir.setVisibility(View.GONE);
+                    btnVisualizar.setVisibility(View.GONE);
+                    break;
+
+                case EM_ANDAMENTO:
+                    txtStatus.setBackgroundResource(R.drawable.bg_status_andamento);
+                    btnReabrir.setVisibility(View.VISIBLE);
+                    btnVisualizar.setVisibility(View.GONE);
+                    break;
+
+                case FECHADO:
+                    txtStatus.setBackgroundResource(R.drawable.bg_status_fechado);
+                    btnReabrir.setVisibility(View.GONE);
+                    btnVisualizar.setVisibility(View.VISIBLE);
+                    break;
+
+                default:
+                    txtStatus.setBackgroundResource(R.drawable.bg_status_desconhecido);
+                    btnReabrir.setVisibility(View.GONE);
+                    btnVisualizar.setVisibility(View.GONE);
+                    Log.w(TAG, "⚠️ Status desconhecido no chamado #" + ticket.getId());
+                    break;
+            }
+
+            // 🔄 Reabrir / 👁️ Visualizar
+            btnReabrir.setOnClickListener(v -> acoes.reabrir(ticket));
+            btnVisualizar.setOnClickListener(v -> acoes.visualizar(ticket));
+        }
+    }
+}
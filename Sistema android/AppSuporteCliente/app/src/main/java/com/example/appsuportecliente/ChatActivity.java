@@ -5,8 +5,10 @@ import androidx.activity.result.contract.ActivityResultContracts;
 import androidx.annotation.NonNull;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.appcompat.app.AlertDialog;
+import androidx.core.widget.TextViewCompat;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
 
-import android.graphics.Paint;
 import android.annotation.SuppressLint;
 import android.content.Intent;
 import android.database.Cursor;
@@ -14,8 +16,6 @@ import android.net.Uri;
 import android.os.Bundle;
 import android.os.Handler;
 import android.os.Looper;
-import android.text.Html;
-import android.text.method.LinkMovementMethod;
 import android.util.Log;
 import android.view.Gravity;
 import android.view.View;
@@ -23,34 +23,31 @@ import android.webkit.MimeTypeMap;
 import android.widget.EditText;
 import android.widget.ImageButton;
 import android.widget.LinearLayout;
-import android.widget.ScrollView;
 import android.widget.TextView;
 import android.widget.Toast;
 
-import com.google.gson.Gson;
-import com.google.gson.internal.LinkedTreeMap;
-import com.microsoft.signalr.HubConnection;
-import com.microsoft.signalr.HubConnectionBuilder;
-import com.microsoft.signalr.HubConnectionState;
+import com.example.appsuportecliente.model.EnvioPendente;
+import com.example.appsuportecliente.model.ItemChat;
+import com.example.appsuportecliente.model.Mensagem;
+import com.example.appsuportecliente.model.MensagemAoVivo;
 
-import org.json.JSONArray;
-import org.json.JSONObject;
-
-import java.io.File;
-import java.io.FileOutputStream;
-import java.io.InputStream;
-import java.io.OutputStream;
+import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.net.HttpURLConnection;
-import java.net.URL;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import okhttp3.Call;
 import okhttp3.Callback;
+import okhttp3.HttpUrl;
 import okhttp3.MediaType;
 import okhttp3.MultipartBody;
-import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.RequestBody;
 import okhttp3.Response;
@@ -60,13 +57,41 @@ public class ChatActivity extends AppCompatActivity {
     // Tag para logs
     private static final String TAG = "CHAT_DEBUG";
 
+    // Mensagens por página do histórico (primeira tela e cada rolagem para cima ou,
+    // aberto pela busca, para baixo)
+    static final int TAMANHO_PAGINA = 30;
+
+    // Id local (ChatDatabase) da mensagem em que o chat deve abrir (vindo da busca)
+    static final String EXTRA_MENSAGEM = "mensagemLocal";
+
+    // Mensagens anteriores à encontrada na busca exibidas junto com ela
+    private static final int CONTEXTO_BUSCA = 10;
+
+    // Mensagens gravadas/exibidas de cada vez durante a leitura do histórico
+    private static final int LOTE_HISTORICO = 50;
+
+    // A página anterior (ou a seguinte) é pedida quando faltam estes itens para o topo (ou o fim)
+    private static final int LIMIAR_ANTERIORES = 5;
+
+    // Acima deste tamanho o arquivo é enviado em partes retomáveis (Upload/Parte)
+    private static final long LIMITE_UPLOAD_SIMPLES = 4L * 1024 * 1024;
+
     // Componentes da interface
     private EditText editMensagem;
-    private LinearLayout chatLogContainer;
-    private ScrollView scrollView;
+    private RecyclerView recyclerChat;
+    private ChatAdapter chatAdapter;
 
-    // Conexão com o SignalR
-    private HubConnection hubConnection;
+    // Conexão com o SignalR (compartilhada pelo app; esta tela só se inscreve no ticket)
+    private final SessaoChat sessao = SessaoChat.get();
+    private final SessaoChat.Ouvinte ouvinteChat = new OuvinteChat();
+
+    // Mensagens do cliente: gravadas e enviadas pela caixa de saída
+    private final CaixaDeSaida caixaDeSaida = CaixaDeSaida.get();
+    private final CaixaDeSaida.Observador observadorEnvios = new ObservadorEnvios();
+    private final Map<String, Long> chavesDosEnvios = new HashMap<>(); // clientId -> bolha
+
+    // Armazenamento local das mensagens
+    private ChatDatabase chatDatabase;
 
     // Informações do ticket e usuário
     private int ticketId;
@@ -74,12 +99,55 @@ public class ChatActivity extends AppCompatActivity {
     private String tecnico;
 
     // Controle de estado
-    private boolean handlersRegistrados = false;
     private boolean modoVisualizacao = false;
 
-    // Controle de duplicação de mensagens
-    private final Set<String> mensagensRecebidas = new HashSet<>();
-    private final Set<String> mensagensRenderizadas = new HashSet<>();
+    // Controle de duplicação: ids das últimas mensagens exibidas (ver ClassificadorChat.chaveDe)
+    private static final int JANELA_DEDUPLICACAO = 1024;
+    private final JanelaIds idsExibidos = new JanelaIds(JANELA_DEDUPLICACAO);
+
+    // Uploads em andamento, pela chave da bolha (permite cancelar)
+    private final Map<Long, Call> enviosAtivos = new ConcurrentHashMap<>();
+    private final Map<Long, UploadEmPartes> enviosEmPartes = new ConcurrentHashMap<>();
+    private final Set<Long> canceladosPeloUsuario = ConcurrentHashMap.newKeySet();
+
+    // Andamento salvo dos uploads em partes (sobrevive ao fechamento do app)
+    private RegistroUploads registroUploads;
+
+    // Tarefas em segundo plano desta tela (canceladas no onDestroy)
+    private final Tarefas.Escopo tarefas = Tarefas.escopo(this);
+
+    // Mensagens ao vivo: exibidas em lote, uma vez por quadro
+    private static final int FILA_AO_VIVO = 256;
+    private static final int AO_VIVO_POR_QUADRO = 64;
+    private static final long ESPERA_FILA_CHEIA_MS = 500;
+    private final FilaPorQuadro<PreparadorMensagens.Pronta> filaAoVivo = new FilaPorQuadro<>(
+            FILA_AO_VIVO, AO_VIVO_POR_QUADRO, ESPERA_FILA_CHEIA_MS, this::exibirAoVivo);
+    private final AtomicBoolean ressincronizar = new AtomicBoolean();
+
+    // Itens da linha do tempo (fonte da verdade; o adapter recebe cópias)
+    private final List<ItemChat> itensChat = new ArrayList<>();
+
+    // Monta as bolhas (e suas chaves estáveis) fora da thread principal
+    private PreparadorMensagens preparador;
+
+    // Paginação do histórico para cima
+    private LinearLayoutManager layoutManager;
+    private Mensagem maisAntigaExibida;         // referência para buscar as anteriores
+    private boolean carregandoAnteriores = false;
+    private boolean historicoCompleto = false;  // já chegou ao início da conversa
+
+    // Paginação para baixo (aberto pela busca): enquanto a janela não chega à
+    // mensagem mais recente do aparelho, as novas (sincronismo e ao vivo) ficam
+    // só no banco e entram na tela quando a rolagem chegar até elas
+    private boolean recentesPendentes = false;
+    private Mensagem maisNovaExibida;           // referência para buscar as seguintes
+    private long chaveMaisNova;                 // bolha dela (as seguintes entram logo depois)
+    private boolean carregandoPosteriores = false;
+
+    // Rolagem automática para a última mensagem (desligada ao abrir pela busca,
+    // até o usuário voltar ao fim da conversa) e bolha a posicionar na tela
+    private boolean seguirFim = true;
+    private long chaveDestino;
 
     // Temporizador do encerramento
     private Handler temporizadorHandler = new Handler(Looper.getMainLooper());
@@ -92,6 +160,13 @@ public class ChatActivity extends AppCompatActivity {
                 if (result.getResultCode() == RESULT_OK && result.getData() != null) {
                     Uri uriSelecionado = result.getData().getData();
                     if (uriSelecionado != null) {
+                        // Mantém o acesso ao arquivo para retomar o envio depois de reiniciar o app
+                        try {
+                            getContentResolver().takePersistableUriPermission(
+                                    uriSelecionado, Intent.FLAG_GRANT_READ_URI_PERMISSION);
+                        } catch (SecurityException e) {
+                            Log.w(TAG, "Permissão persistente negada: " + e.getMessage());
+                        }
                         enviarArquivoParaServidor(uriSelecionado, ticketId);
                     }
                 }
@@ -105,8 +180,40 @@ public class ChatActivity extends AppCompatActivity {
 
         // Vincula componentes da interface
         editMensagem = findViewById(R.id.editMensagem);
-        chatLogContainer = findViewById(R.id.chatLogContainer);
-        scrollView = findViewById(R.id.scrollView);
+        recyclerChat = findViewById(R.id.recyclerChat);
+
+        // Linha do tempo: começa de baixo, como em qualquer chat
+        layoutManager = new LinearLayoutManager(this);
+        layoutManager.setStackFromEnd(true);
+        recyclerChat.setLayoutManager(layoutManager);
+        chatAdapter = new ChatAdapter(chave -> {
+            Call envio = enviosAtivos.get(chave);
+            if (envio != null) envio.cancel();
+
+            // Cancelado pelo usuário: descarta também o andamento salvo
+            UploadEmPartes emPartes = enviosEmPartes.get(chave);
+            if (emPartes != null) {
+                emPartes.cancelar();
+                canceladosPeloUsuario.add(chave);
+            }
+        });
+        recyclerChat.setAdapter(chatAdapter);
+
+        // Rolando para cima perto do topo: carrega as mensagens anteriores
+        // (e, aberto pela busca, para baixo perto do fim: as seguintes)
+        recyclerChat.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(@NonNull RecyclerView rv, int dx, int dy) {
+                if (dy < 0 && layoutManager.findFirstVisibleItemPosition() <= LIMIAR_ANTERIORES) {
+                    carregarMensagensMaisAntigas();
+                }
+                if (dy > 0 && recentesPendentes && layoutManager.findLastVisibleItemPosition()
+                        >= chatAdapter.getItemCount() - 1 - LIMIAR_ANTERIORES) {
+                    carregarMensagensPosteriores();
+                }
+                if (dy > 0 && !recentesPendentes && !rv.canScrollVertically(1)) seguirFim = true;
+            }
+        });
 
         ImageButton btnEnviar = findViewById(R.id.btnEnviar);
         ImageButton btnAnexo = findViewById(R.id.btnAnexo);
@@ -121,6 +228,7 @@ public class ChatActivity extends AppCompatActivity {
         usuario = getIntent().getStringExtra("usuario");
         tecnico = getIntent().getStringExtra("tecnico");
         modoVisualizacao = getIntent().getBooleanExtra("modoVisualizacao", false);
+        long mensagemDestino = getIntent().getLongExtra(EXTRA_MENSAGEM, 0);
 
         // Valida dados do chat
         if (ticketId == 0 || usuario == null || tecnico == null) {
@@ -129,6 +237,12 @@ public class ChatActivity extends AppCompatActivity {
             return;
         }
 
+        // Bolhas de texto são medidas em segundo plano com os mesmos parâmetros do layout delas
+        TextView modeloTexto = getLayoutInflater()
+                .inflate(R.layout.item_mensagem_texto, recyclerChat, false)
+                .findViewById(R.id.txtMensagem);
+        preparador = new PreparadorMensagens(usuario, TextViewCompat.getTextMetricsParams(modeloTexto));
+
         // Exibe nome e inicial do técnico
         tecnicoNome.setText(tecnico);
         tecnicoInicial.setText(tecnico.substring(0, 1).toUpperCase());
@@ -141,42 +255,33 @@ public class ChatActivity extends AppCompatActivity {
             barraEnvio.setVisibility(View.GONE);
         }
 
-        // Carrega histórico de mensagens
-        carregarMensagensAnteriores(ticketId);
-
-        // Inicia conexão com o hub SignalR
-        hubConnection = HubConnectionBuilder.create(getString(R.string.chat_hub_url)).build();
+        // Carrega histórico de mensagens (primeiro do aparelho, depois do servidor)
+        chatDatabase = ChatDatabase.getInstance(this);
+        caixaDeSaida.observar(ticketId, observadorEnvios);
+        carregarMensagensAnteriores(ticketId, mensagemDestino);
 
-        // Registra handlers (ReceberMensagem, encerramento, etc.)
-        configurarHandlersSignalR();
+        // Continua uploads deste chamado interrompidos da última vez
+        registroUploads = new RegistroUploads(this);
+        if (!modoVisualizacao) retomarUploadsPendentes();
 
-        // Inicia conexão
-        hubConnection.start().subscribe(() -> {
-            hubConnection.invoke("EntrarNoTicket", ticketId);
-        }, error -> runOnUiThread(() ->
-                Toast.makeText(ChatActivity.this, "Erro SignalR: " + error.getMessage(), Toast.LENGTH_LONG).show()
-        ));
+        // Passa a receber os eventos deste ticket pela sessão do SignalR
+        sessao.inscrever(ticketId, ouvinteChat);
 
         // Enviar mensagem texto
         btnEnviar.setOnClickListener(v -> {
             String texto = editMensagem.getText().toString().trim();
             if (!texto.isEmpty()) {
-                btnEnviar.setEnabled(false);
-
-                // Envia para o servidor
-                hubConnection.invoke("EnviarMensagem", ticketId, usuario, texto, "cliente");
-
-                // Exibe no chat local
-                adicionarBolha(texto, true);
-
+                // Vai para a caixa de saída (gravada no aparelho) e aparece na hora
+                // (uma bolha só: preparada aqui mesmo, antes de a confirmação poder chegar)
+                EnvioPendente envio = caixaDeSaida.enviar(ticketId, usuario, texto);
+                exibirEnvio(envio, preparador.prepararPropria(envio.getConteudo(), envio.getCriadaEm()));
                 editMensagem.setText("");
-                new Handler(Looper.getMainLooper()).postDelayed(() -> btnEnviar.setEnabled(true), 800);
             }
         });
 
         // Abrir seletor de arquivos
         btnAnexo.setOnClickListener(v -> {
-            Intent intent = new Intent(Intent.ACTION_GET_CONTENT);
+            Intent intent = new Intent(Intent.ACTION_OPEN_DOCUMENT);
             intent.setType("*/*");
             intent.addCategory(Intent.CATEGORY_OPENABLE);
             abrirArquivo.launch(intent);
@@ -184,43 +289,77 @@ public class ChatActivity extends AppCompatActivity {
     }
 
     // ============================================================
-    // CONFIGURAÇÃO DOS HANDLERS DO SIGNALR
+    // EVENTOS DO SIGNALR (vindos da SessaoChat)
     // ============================================================
-    private void configurarHandlersSignalR() {
-        if (handlersRegistrados) return;
+    private class OuvinteChat implements SessaoChat.Ouvinte {
 
-        hubConnection.remove("ReceberMensagem");
-        hubConnection.remove("ChatEncerradoPeloTecnico");
-
-        // Recebe mensagens em tempo real
-        hubConnection.on("ReceberMensagem", (dados) -> runOnUiThread(() -> {
+        // Recebe mensagens em tempo real (thread do SignalR): monta a mensagem e a
+        // bolha aqui e deixa para a fila exibir junto com as outras do mesmo quadro
+        @Override
+        public void aoReceberMensagem(MensagemAoVivo evento) {
             try {
-                LinkedTreeMap map = (LinkedTreeMap) dados;
-                String autor = map.get("autor") != null ? map.get("autor").toString() : "";
-                String mensagem = map.get("mensagem") != null ? map.get("mensagem").toString() : "";
-                String papel = map.get("papel") != null ? map.get("papel").toString() : "";
-
-                // Impede mostrar mensagens enviadas por você mesmo
-                if (autor.trim().equalsIgnoreCase(usuario.trim())) return;
-
-                // Impede duplicações
-                String idMensagem = autor + mensagem + papel;
-                if (mensagensRecebidas.contains(idMensagem)) return;
-                mensagensRecebidas.add(idMensagem);
+                // Impede mostrar mensagens enviadas por você mesmo; o eco traz o
+                // clientId e o id do servidor, que confirmam a bolha do envio
+                if (evento.getAutor().trim().equalsIgnoreCase(usuario.trim())) {
+                    if (evento.getClientId() != null && evento.getId() > 0) {
+                        tarefas.naUi(() -> confirmarEnvio(evento.getClientId(), evento.getId()));
+                    }
+                    return;
+                }
 
-                adicionarBolha(mensagem, false);
+                Mensagem recebida = new Mensagem();
+                recebida.setId(evento.getId());
+                if (evento.getId() > 0) recebida.setTipo("texto"); // arquivos chegam sem id (aviso do upload)
+                recebida.setRemetente(evento.getAutor());
+                recebida.setConteudo(evento.getMensagem());
+                recebida.setNomeOriginal(evento.getNomeOriginal());
+                recebida.setDataEnvio(DatasApi.epochDe(evento.getData()));
+                recebida.setTicketId(ticketId);
+
+                // Tela não acompanha mesmo esperando: a mensagem vem depois pelo sincronismo
+                if (!filaAoVivo.enfileirar(preparador.preparar(recebida)) && !tarefas.isEncerrado()
+                        && ressincronizar.compareAndSet(false, true)) {
+                    Log.w(TAG, "Fila de mensagens ao vivo cheia; ressincronizando");
+                    tarefas.io(Tarefas.Prioridade.VISIVEL, () -> {
+                        ressincronizar.set(false);
+                        sincronizarComServidor(ticketId);
+                    });
+                }
 
             } catch (Exception e) {
                 Log.e(TAG, "Erro processar mensagem: " + e.getMessage(), e);
             }
-        }), Object.class);
+        }
 
         // Quando técnico decide encerrar
-        hubConnection.on("ChatEncerradoPeloTecnico",
-                (ticketIdServer) -> runOnUiThread(this::mostrarDialogoEncerramento),
-                Integer.class);
+        @Override
+        public void aoSolicitarEncerramento() {
+            tarefas.naUi(ChatActivity.this::mostrarDialogoEncerramento);
+        }
 
-        handlersRegistrados = true;
+        // Conexão voltou depois de uma queda: busca o que foi enviado nesse meio tempo
+        @Override
+        public void aoReconectar() {
+            tarefas.io(Tarefas.Prioridade.VISIVEL, () -> sincronizarComServidor(ticketId));
+        }
+    }
+
+    // Confirmações da caixa de saída para as mensagens deste ticket
+    private class ObservadorEnvios implements CaixaDeSaida.Observador {
+
+        @Override
+        public void aoEntregar(EnvioPendente envio, int idServidor) {
+            tarefas.naUi(() -> confirmarEnvio(envio.getClientId(), idServidor));
+        }
+
+        @Override
+        public void aoDescartar(EnvioPendente envio) {
+            tarefas.naUi(() -> {
+                atualizarEntrega(envio.getClientId(), ItemChat.ENTREGA_FALHOU);
+                Toast.makeText(ChatActivity.this,
+                        "O servidor recusou uma mensagem.", Toast.LENGTH_LONG).show();
+            });
+        }
     }
 
     // ============================================================
@@ -298,9 +437,11 @@ public class ChatActivity extends AppCompatActivity {
     }
 
     // Envia confirmação ao servidor
+    @SuppressLint("CheckResult")
     private void confirmarEncerramento() {
-        if (hubConnection != null && hubConnection.getConnectionState() == HubConnectionState.CONNECTED) {
-            hubConnection.invoke("ClienteConfirmouEncerrar", ticketId);
+        if (sessao.isConectado()) {
+            sessao.invocar("ClienteConfirmouEncerrar", ticketId)
+                    .subscribe(() -> { }, erro -> Log.w(TAG, "ClienteConfirmouEncerrar: " + erro.getMessage()));
         }
         Toast.makeText(this, "Chamado encerrado com sucesso.", Toast.LENGTH_SHORT).show();
         encerrarChat();
@@ -317,245 +458,610 @@ public class ChatActivity extends AppCompatActivity {
     // ============================================================
     // CARREGA HISTÓRICO DO CHAT
     // ============================================================
-    private void carregarMensagensAnteriores(int ticketId) {
-        new Thread(() -> {
-            try {
-                String url = "http://192.168.1.9:5290/Tickets/VisualizarChatMobile/" + ticketId;
+    // "destino": id local da mensagem em que abrir (0 = no fim da conversa)
+    private void carregarMensagensAnteriores(int ticketId, long destino) {
+        if (destino > 0) seguirFim = false;
+
+        tarefas.io(Tarefas.Prioridade.VISIVEL, () -> {
+            // 1) Mostra imediatamente as mensagens mais recentes salvas no aparelho
+            // (aberto pela busca: uma página a partir da mensagem encontrada)
+            // e, depois delas, as que ainda estão na caixa de saída
+            List<Mensagem> doAparelho = destino > 0
+                    ? chatDatabase.listarAPartirDe(ticketId, destino, CONTEXTO_BUSCA, TAMANHO_PAGINA)
+                    : chatDatabase.listarRecentes(ticketId, TAMANHO_PAGINA);
+            if (doAparelho.isEmpty() && destino > 0) {
+                doAparelho = chatDatabase.listarRecentes(ticketId, TAMANHO_PAGINA);
+            }
+
+            List<PreparadorMensagens.Pronta> locais = preparador.preparar(doAparelho);
+            long chave = 0;
+            int seguintes = 0; // a encontrada e as posteriores a ela
+            for (PreparadorMensagens.Pronta p : locais) {
+                if (p.mensagem.getIdLocal() == destino) chave = p.item.getChave();
+                if (chave != 0) seguintes++;
+            }
+            long chaveEncontrada = chave;
+            // Página cheia: pode haver mais novas no aparelho
+            PreparadorMensagens.Pronta ultima = seguintes >= TAMANHO_PAGINA
+                    ? locais.get(locais.size() - 1) : null;
+
+            List<EnvioPendente> naCaixa = caixaDeSaida.pendentes(ticketId);
+            List<ItemChat> bolhasDaCaixa = new ArrayList<>(naCaixa.size());
+            for (EnvioPendente envio : naCaixa) {
+                bolhasDaCaixa.add(preparador.prepararPropria(envio.getConteudo(), envio.getCriadaEm()));
+            }
+            tarefas.naUi(() -> {
+                if (chaveEncontrada != 0) {
+                    chaveDestino = chaveEncontrada;
+                } else {
+                    seguirFim = true; // a mensagem da busca não está mais no aparelho
+                }
+                renderizarMensagens(locais);
+                if (ultima != null) {
+                    recentesPendentes = true;
+                    maisNovaExibida = ultima.mensagem;
+                    chaveMaisNova = ultima.item.getChave();
+                }
+                for (int i = 0; i < naCaixa.size(); i++) exibirEnvio(naCaixa.get(i), bolhasDaCaixa.get(i));
+            });
 
-                // Abre conexão HTTP
-                HttpURLConnection conn = (HttpURLConnection) new URL(url).openConnection();
-                conn.setRequestMethod("GET");
+            // 2) Busca no servidor o que ainda não está no aparelho
+            sincronizarComServidor(ticketId);
+        });
+    }
 
-                // Lê resposta do servidor
-                InputStream in = conn.getInputStream();
-                byte[] buffer = new byte[8192];
-                int bytesRead;
-                StringBuilder response = new StringBuilder();
+    // Busca no servidor só as mensagens novas desde o último sincronismo
+    // (primeira abertura: só a página mais recente; o resto vem ao rolar para cima).
+    // Roda na thread de IO; usada ao abrir a tela e depois de cada reconexão.
+    private void sincronizarComServidor(int ticketId) {
+        try {
+            HttpUrl.Builder url = urlHistorico(ticketId);
 
-                while ((bytesRead = in.read(buffer)) != -1) {
-                    response.append(new String(buffer, 0, bytesRead));
-                }
+            String desde = chatDatabase.ultimaDataSincronizada(ticketId);
+            if (desde != null) {
+                url.addQueryParameter("desde", desde);
+            } else {
+                url.addQueryParameter("limite", String.valueOf(TAMANHO_PAGINA));
+            }
 
-                conn.disconnect();
+            // Lê a resposta em streaming: cada lote é gravado no banco
+            // (antes de exibir, pois a rolagem para cima usa o cursor do banco)
+            // e exibido, sem nunca ter o histórico inteiro em memória.
+            List<Mensagem> lote = new ArrayList<>(LOTE_HISTORICO);
+            lerHistorico(url, ticketId, m -> {
+                lote.add(m);
+                if (lote.size() == LOTE_HISTORICO) publicarLote(lote, ticketId);
+            });
+            publicarLote(lote, ticketId);
 
-                JSONObject json = new JSONObject(response.toString());
-                JSONArray array = json.getJSONArray("mensagens");
+        } catch (Exception e) {
+            Log.e(TAG, "Erro carregar mensagens antigas: " + e.getMessage(), e);
+        }
+    }
 
-                // Atualiza UI
-                runOnUiThread(() -> {
-                    chatLogContainer.removeAllViews();
-                    for (int i = 0; i < array.length(); i++) {
-                        try {
-                            JSONObject obj = array.getJSONObject(i);
-                            String remetente = obj.getString("remetente");
-                            String conteudo = obj.getString("conteudo");
+    // Grava, prepara e exibe um lote do histórico (roda na thread de IO). Esvazia o lote.
+    private void publicarLote(List<Mensagem> lote, int ticketId) {
+        if (lote.isEmpty()) return;
 
-                            boolean isUsuario = remetente.equalsIgnoreCase(usuario);
-                            adicionarBolha(conteudo, isUsuario);
+        List<Mensagem> copia = new ArrayList<>(lote);
+        lote.clear();
 
-                        } catch (Exception e) {
-                            Log.e(TAG, "Erro parse mensagem antiga: " + e.getMessage());
-                        }
-                    }
-                });
+        chatDatabase.salvarMensagens(ticketId, copia);
+        List<PreparadorMensagens.Pronta> prontas = preparador.preparar(copia);
+        tarefas.naUi(() -> renderizarMensagens(prontas));
+    }
 
-            } catch (Exception e) {
-                Log.e(TAG, "Erro carregar mensagens antigas: " + e.getMessage(), e);
+    // Carrega a página anterior à mensagem mais antiga exibida:
+    // primeiro do banco local e, quando ele acaba, do servidor (pelo cursor).
+    private void carregarMensagensMaisAntigas() {
+        if (carregandoAnteriores || historicoCompleto || maisAntigaExibida == null) return;
+        carregandoAnteriores = true;
+
+        Mensagem referencia = maisAntigaExibida;
+        tarefas.io(Tarefas.Prioridade.VISIVEL, () -> {
+            boolean completo = false;
+            List<Mensagem> anteriores = chatDatabase.listarAnteriores(ticketId, referencia, TAMANHO_PAGINA);
+
+            if (anteriores.size() < TAMANHO_PAGINA) {
+                String cursor = chatDatabase.cursorMaisAntigo(ticketId);
+
+                if (cursor == null) {
+                    completo = true; // nada do servidor no aparelho: não há referência para voltar
+                } else {
+                    try {
+                        HttpUrl.Builder url = urlHistorico(ticketId)
+                                .addQueryParameter("antes", cursor)
+                                .addQueryParameter("limite", String.valueOf(TAMANHO_PAGINA));
+
+                        // Página pequena: junta inteira para inserir no topo de uma vez
+                        List<Mensagem> doServidor = new ArrayList<>();
+                        LeitorHistorico.Resultado resultado = lerHistorico(url, ticketId, doServidor::add);
+
+                        chatDatabase.salvarMensagens(ticketId, doServidor);
+                        completo = resultado.cursorAnterior == null;
+
+                        // As do servidor são mais antigas que as que restavam no banco
+                        doServidor.addAll(anteriores);
+                        anteriores = doServidor;
+
+                    } catch (Exception e) {
+                        Log.e(TAG, "Erro carregar mensagens anteriores: " + e.getMessage(), e);
+                    }
+                }
             }
-        }).start();
+
+            List<PreparadorMensagens.Pronta> pagina = preparador.preparar(anteriores);
+            boolean fim = completo;
+            tarefas.naUi(() -> {
+                carregandoAnteriores = false;
+                historicoCompleto = fim;
+                renderizarAnteriores(pagina);
+            });
+        });
+    }
+
+    // Aberto pela busca: carrega do banco a página seguinte à mensagem mais nova
+    // exibida. Ao chegar ao fim, a tela volta a receber as novas diretamente.
+    private void carregarMensagensPosteriores() {
+        if (carregandoPosteriores || !recentesPendentes || maisNovaExibida == null) return;
+        carregandoPosteriores = true;
+
+        Mensagem referencia = maisNovaExibida;
+        tarefas.io(Tarefas.Prioridade.VISIVEL, () -> {
+            List<Mensagem> posteriores = chatDatabase.listarPosteriores(ticketId, referencia, TAMANHO_PAGINA);
+            List<PreparadorMensagens.Pronta> pagina = preparador.preparar(posteriores);
+            boolean fim = posteriores.size() < TAMANHO_PAGINA;
+
+            tarefas.naUi(() -> {
+                carregandoPosteriores = false;
+                renderizarPosteriores(pagina);
+                if (fim) {
+                    recentesPendentes = false;
+                    // O que foi gravado entre a consulta e agora não chegou a ser exibido
+                    Mensagem ultima = maisNovaExibida;
+                    tarefas.io(Tarefas.Prioridade.VISIVEL, () -> {
+                        List<PreparadorMensagens.Pronta> atrasadas = preparador.preparar(
+                                chatDatabase.listarPosteriores(ticketId, ultima, TAMANHO_PAGINA));
+                        if (!atrasadas.isEmpty()) tarefas.naUi(() -> renderizarMensagens(atrasadas));
+                    });
+                }
+            });
+        });
+    }
+
+    // URL base do histórico do ticket (Tickets/VisualizarChatMobile/{id})
+    private static HttpUrl.Builder urlHistorico(int ticketId) {
+        return LeitorHistorico.url(RetrofitClient.getBaseUrl(), ticketId);
+    }
+
+    // Lê o histórico pelo cliente HTTP compartilhado
+    private static LeitorHistorico.Resultado lerHistorico(HttpUrl.Builder url, int ticketId,
+                                                          LeitorHistorico.Receptor receptor)
+            throws IOException {
+        return LeitorHistorico.buscar(RetrofitClient.getHttpClient(), url.build(), ticketId, receptor);
     }
 
     // ============================================================
-    // ADICIONA UMA MENSAGEM NA TELA
+    // ADICIONA MENSAGENS NA TELA
     // ============================================================
-    @SuppressLint("InflateParams")
-    private void adicionarBolha(String mensagem, boolean isUsuario) {
+    // Retorna false (e não exibe) se a mensagem com este id já estiver na tela
+    private boolean adicionarBolha(ItemChat item, long id) {
+        if (!idsExibidos.adicionar(id)) return false;
+
+        itensChat.add(item);
+        publicarItens();
+        return true;
+    }
 
-        // Evita duplicação
-        String msgId = mensagem.replace("file:", "").trim().toLowerCase();
-        if (mensagensRenderizadas.contains(msgId)) return;
-        mensagensRenderizadas.add(msgId);
+    // Mensagens ao vivo de um quadro: uma atualização da lista, uma rolagem
+    // e uma gravação no banco para o lote inteiro
+    private void exibirAoVivo(List<PreparadorMensagens.Pronta> lote) {
+        List<Mensagem> novas = new ArrayList<>(lote.size());
 
-        // Layout da bolha externa
-        LinearLayout messageLayout = new LinearLayout(this);
-        messageLayout.setOrientation(LinearLayout.VERTICAL);
+        // Janela da busca longe do fim: só grava (entra na tela ao rolar até ela)
+        if (recentesPendentes) {
+            for (PreparadorMensagens.Pronta p : lote) novas.add(p.mensagem);
+            Tarefas.io(Tarefas.Prioridade.FUNDO, () -> chatDatabase.salvarMensagensAoVivo(ticketId, novas));
+            return;
+        }
 
-        LinearLayout.LayoutParams layoutParams = new LinearLayout.LayoutParams(
-                LinearLayout.LayoutParams.WRAP_CONTENT,
-                LinearLayout.LayoutParams.WRAP_CONTENT
-        );
+        for (PreparadorMensagens.Pronta p : lote) {
+            // Impede duplicações (ex: a mesma mensagem já veio no sincronismo)
+            if (!idsExibidos.adicionar(p.id)) continue;
 
-        layoutParams.gravity = isUsuario ? Gravity.END : Gravity.START;
-        layoutParams.setMargins(8, 8, 8, 8);
-        messageLayout.setLayoutParams(layoutParams);
+            itensChat.add(p.item);
+            novas.add(p.mensagem);
+        }
+        if (novas.isEmpty()) return;
 
-        // Layout interno (bolha)
-        LinearLayout bubbleLayout = new LinearLayout(this);
-        bubbleLayout.setOrientation(LinearLayout.VERTICAL);
-        bubbleLayout.setBackgroundResource(isUsuario ? R.drawable.bg_bolha_usuario : R.drawable.bg_bolha_tecnico);
-        bubbleLayout.setPadding(20, 14, 20, 14);
+        publicarItens();
 
-        // VERIFICA SE É ARQUIVO
-        if (mensagem.startsWith("file:")) {
+        // Guarda no banco local até o próximo sincronismo trazer a versão oficial.
+        // Sem escopo: a gravação deve terminar mesmo se a tela fechar.
+        Tarefas.io(Tarefas.Prioridade.FUNDO, () -> chatDatabase.salvarMensagensAoVivo(ticketId, novas));
+    }
 
-            String fileUrl = mensagem.replace("file:", "").trim();
-            String ext = fileUrl.substring(fileUrl.lastIndexOf('.') + 1).toLowerCase();
+    // Bolha de uma mensagem do cliente, com o relógio até o servidor confirmar
+    private void exibirEnvio(EnvioPendente envio, ItemChat item) {
+        if (!idsExibidos.adicionar(ClassificadorChat.chaveEnvio(envio.getClientId()))) return;
 
-            // Se for imagem
-            if (ext.matches("jpg|jpeg|png|gif|bmp|webp")) {
+        chavesDosEnvios.put(envio.getClientId(), item.getChave());
+        itensChat.add(item.comEntrega(ItemChat.ENTREGA_PENDENTE));
+        if (chaveDestino == 0) seguirFim = true; // o usuário quer ver o que enviou
+        publicarItens();
+    }
 
-                android.widget.ImageView imageView = new android.widget.ImageView(this);
-                imageView.setAdjustViewBounds(true);
-                imageView.setMaxWidth(600);
-                imageView.setMaxHeight(600);
+    private void atualizarEntrega(String clientId, int entrega) {
+        Long chave = chavesDosEnvios.remove(clientId);
+        if (chave == null) return;
 
-                new Thread(() -> {
-                    try {
-                        URL url = new URL(fileUrl);
-                        android.graphics.Bitmap bitmap =
-                                android.graphics.BitmapFactory.decodeStream(url.openConnection().getInputStream());
+        for (int i = 0; i < itensChat.size(); i++) {
+            if (itensChat.get(i).getChave() == chave) {
+                itensChat.set(i, itensChat.get(i).comEntrega(entrega));
+                publicarItens(false);
+                return;
+            }
+        }
+    }
 
-                        runOnUiThread(() -> imageView.setImageBitmap(bitmap));
-                    } catch (Exception e) {
-                        Log.e(TAG, "Erro carregar imagem: " + e.getMessage(), e);
-                    }
-                }).start();
+    // Exibe uma lista de mensagens (histórico local ou vindo do servidor)
+    // com uma única atualização do RecyclerView.
+    private void renderizarMensagens(List<PreparadorMensagens.Pronta> mensagens) {
+        // Janela da busca longe do fim: já estão no banco, entram ao rolar até elas
+        if (recentesPendentes) return;
 
-                bubbleLayout.addView(imageView);
+        boolean mudou = false;
 
-            } else {
-                // Se for outro arquivo (PDF, ZIP...)
-                TextView txtLink = new TextView(this);
-                String nomeArquivo = fileUrl.substring(fileUrl.lastIndexOf('/') + 1);
+        // Primeira página exibida: passa a ser a referência para carregar as anteriores
+        if (maisAntigaExibida == null && !mensagens.isEmpty()) maisAntigaExibida = mensagens.get(0).mensagem;
+
+        for (PreparadorMensagens.Pronta p : mensagens) {
+            if (idsExibidos.adicionar(p.id)) {
+                itensChat.add(p.item);
+                mudou = true;
+            }
+        }
 
-                txtLink.setText("📎 " + nomeArquivo);
-                txtLink.setTextColor(0xFF007BFF);
-                txtLink.setPaintFlags(txtLink.getPaintFlags() | Paint.UNDERLINE_TEXT_FLAG);
+        if (mudou) publicarItens();
+    }
 
-                txtLink.setOnClickListener(v -> {
-                    Intent intent = new Intent(Intent.ACTION_VIEW, Uri.parse(fileUrl));
-                    startActivity(intent);
-                });
+    // O servidor gravou o envio (clientId) com este id. Se o sincronismo já trouxe
+    // a mensagem com esse id, a bolha dele fica e a do envio sai; senão a bolha do
+    // envio é confirmada e a cópia do sincronismo, quando vier, é ignorada.
+    // A ligação é só pelo clientId: textos repetidos ("ok") não se confundem.
+    private void confirmarEnvio(String clientId, int idServidor) {
+        if (idsExibidos.adicionar(ClassificadorChat.chaveTexto(idServidor))) {
+            atualizarEntrega(clientId, ItemChat.ENTREGA_CONFIRMADA);
+            return;
+        }
+
+        Long chave = chavesDosEnvios.remove(clientId);
+        if (chave != null) removerItem(chave);
+    }
+
+    // Insere a página seguinte logo depois da mensagem mais nova exibida (antes
+    // das bolhas da caixa de saída, que ficam no fim), sem rolar a lista
+    private void renderizarPosteriores(List<PreparadorMensagens.Pronta> mensagens) {
+        if (mensagens.isEmpty()) return;
 
-                bubbleLayout.addView(txtLink);
+        int posicao = itensChat.size();
+        for (int i = 0; i < itensChat.size(); i++) {
+            if (itensChat.get(i).getChave() == chaveMaisNova) {
+                posicao = i + 1;
+                break;
             }
+        }
 
-        } else {
-            // Mensagem de texto
-            TextView txtMensagem = new TextView(this);
-            txtMensagem.setText(Html.fromHtml(mensagem, Html.FROM_HTML_MODE_LEGACY));
-            txtMensagem.setMovementMethod(LinkMovementMethod.getInstance());
-            txtMensagem.setTextColor(isUsuario ? 0xFFFFFFFF : 0xFF000000);
-            bubbleLayout.addView(txtMensagem);
+        boolean mudou = false;
+        for (PreparadorMensagens.Pronta p : mensagens) {
+            maisNovaExibida = p.mensagem;
+            if (idsExibidos.adicionar(p.id)) {
+                itensChat.add(posicao++, p.item);
+                chaveMaisNova = p.item.getChave();
+                mudou = true;
+            }
         }
 
-        // HORÁRIO
-        TextView txtHora = new TextView(this);
-        txtHora.setTextColor(0xFF888888);
-        txtHora.setTextSize(11f);
-        txtHora.setPadding(6, 2, 6, 0);
-        txtHora.setTextAlignment(isUsuario ? View.TEXT_ALIGNMENT_TEXT_END : View.TEXT_ALIGNMENT_TEXT_START);
+        if (mudou) publicarItens(false);
+    }
 
-        java.text.SimpleDateFormat sdf = new java.text.SimpleDateFormat("HH:mm");
-        txtHora.setText(sdf.format(new java.util.Date()));
+    // Insere no topo uma página de mensagens mais antigas, mantendo na tela
+    // a mesma mensagem que o usuário estava vendo (a lista não "pula").
+    // Não passa pela janela de ids: a página é toda anterior ao que já está
+    // na tela, e os ids antigos só tirariam da janela os recentes.
+    private void renderizarAnteriores(List<PreparadorMensagens.Pronta> mensagens) {
+        if (mensagens.isEmpty()) return;
+        maisAntigaExibida = mensagens.get(0).mensagem;
+
+        List<ItemChat> novos = new ArrayList<>(mensagens.size());
+        for (PreparadorMensagens.Pronta p : mensagens) novos.add(p.item);
+
+        // Posição e deslocamento do primeiro item visível antes da inserção
+        int primeira = layoutManager.findFirstVisibleItemPosition();
+        View vista = layoutManager.findViewByPosition(primeira);
+        int deslocamento = vista != null ? vista.getTop() - recyclerChat.getPaddingTop() : 0;
+
+        itensChat.addAll(0, novos);
+        chatAdapter.submitList(new ArrayList<>(itensChat), () -> {
+            if (primeira != RecyclerView.NO_POSITION) {
+                layoutManager.scrollToPositionWithOffset(primeira + novos.size(), deslocamento);
+            }
+        });
+    }
 
-        // Adiciona tudo ao layout
-        messageLayout.addView(bubbleLayout);
-        messageLayout.addView(txtHora);
+    // Envia uma cópia da lista ao adapter (DiffUtil calcula as inserções)
+    // e rola até a última mensagem (ou até a mensagem vinda da busca).
+    private void publicarItens() {
+        publicarItens(true);
+    }
 
-        chatLogContainer.addView(messageLayout);
+    private void publicarItens(boolean rolarParaFim) {
+        chatAdapter.submitList(new ArrayList<>(itensChat), () -> {
+            if (chaveDestino != 0) {
+                irParaDestino();
+            } else if (rolarParaFim && seguirFim) {
+                recyclerChat.scrollToPosition(chatAdapter.getItemCount() - 1);
+            }
+        });
+    }
 
-        // Scroll automático
-        scrollView.post(() -> scrollView.fullScroll(ScrollView.FOCUS_DOWN));
+    // Põe a mensagem encontrada pela busca no alto da tela e a destaca
+    private void irParaDestino() {
+        for (int i = 0; i < itensChat.size(); i++) {
+            if (itensChat.get(i).getChave() != chaveDestino) continue;
+
+            int posicao = i;
+            chaveDestino = 0;
+            layoutManager.scrollToPositionWithOffset(posicao, recyclerChat.getHeight() / 4);
+            recyclerChat.post(() -> {
+                View bolha = layoutManager.findViewByPosition(posicao);
+                if (bolha == null) return;
+                bolha.setAlpha(0.3f);
+                bolha.animate().alpha(1f).setDuration(900);
+            });
+            return;
+        }
     }
 
     // ============================================================
     // ENVIA ARQUIVO PARA O SERVIDOR
     // ============================================================
+    // O arquivo é lido direto do ContentResolver durante o envio (sem cópia
+    // temporária), fora da thread principal, com progresso na bolha.
     private void enviarArquivoParaServidor(Uri uriArquivo, int ticketId) {
-        try {
-            // Copia arquivo para cache temporário
-            File tempFile = new File(getCacheDir(), "upload_temp");
+        long chave = preparador.novaChave();
 
-            try (InputStream inputStream = getContentResolver().openInputStream(uriArquivo);
-                 OutputStream outputStream = new FileOutputStream(tempFile)) {
+        tarefas.io(Tarefas.Prioridade.FUNDO, () -> {
+            try {
+                // Pega nome original, tamanho e tipo do arquivo
+                String nomeOriginal = getFileNameWithExtension(uriArquivo);
+                long tamanho = getFileSize(uriArquivo);
+                String mime = getContentResolver().getType(uriArquivo);
+
+                tarefas.naUi(() -> atualizarEnvio(chave, nomeOriginal,
+                        tamanho > 0 ? 0 : ItemChat.PROGRESSO_INDETERMINADO));
+
+                // Arquivos grandes: envio em partes, retomável após queda de rede,
+                // na thread de uploads (não segura o pool de IO durante a transferência)
+                if (tamanho > LIMITE_UPLOAD_SIMPLES) {
+                    tarefas.upload(() -> enviarEmPartes(chave, uriArquivo, nomeOriginal, tamanho, ticketId));
+                    return;
+                }
 
-                byte[] buffer = new byte[4096];
-                int bytesRead;
+                // Só atualiza a tela quando o percentual muda
+                int[] ultimoPercentual = {0};
+                RequestBody fileBody = new UriRequestBody(getContentResolver(), uriArquivo,
+                        MediaType.parse(mime != null ? mime : "application/octet-stream"), tamanho,
+                        (enviados, total) -> {
+                            if (total <= 0) return;
+                            int percentual = (int) (enviados * 100 / total);
+                            if (percentual != ultimoPercentual[0]) {
+                                ultimoPercentual[0] = percentual;
+                                tarefas.naUi(() -> atualizarEnvio(chave, nomeOriginal, percentual));
+                            }
+                        });
+
+                // Corpo da requisição com multipart
+                MultipartBody requestBody = new MultipartBody.Builder()
+                        .setType(MultipartBody.FORM)
+                        .addFormDataPart("file", nomeOriginal, fileBody)
+                        .addFormDataPart("ticketId", String.valueOf(ticketId))
+                        .addFormDataPart("usuario", usuario)
+                        .build();
+
+                Request request = new Request.Builder()
+                        .url(RetrofitClient.getBaseUrl() + "Upload/Create")
+                        .post(requestBody)
+                        .build();
+
+                Call chamada = RetrofitClient.getClienteUpload().newCall(request);
+                enviosAtivos.put(chave, chamada);
+
+                // Faz upload
+                chamada.enqueue(new Callback() {
+                    @Override
+                    public void onFailure(@NonNull Call call, @NonNull IOException e) {
+                        enviosAtivos.remove(chave);
+                        tarefas.naUi(() -> {
+                            removerItem(chave);
+                            Toast.makeText(ChatActivity.this,
+                                    call.isCanceled() ? "Envio cancelado."
+                                            : "Falha ao enviar arquivo: " + e.getMessage(),
+                                    Toast.LENGTH_LONG).show();
+                        });
+                    }
 
-                while ((bytesRead = inputStream.read(buffer)) != -1) {
-                    outputStream.write(buffer, 0, bytesRead);
-                }
-            }
+                    @Override
+                    public void onResponse(@NonNull Call call, @NonNull Response response)
+                            throws IOException {
 
-            // Pega nome original do arquivo
-            String nomeOriginal = getFileNameWithExtension(uriArquivo);
-
-            RequestBody fileBody =
-                    RequestBody.create(MediaType.parse("application/octet-stream"), tempFile);
-
-            // Corpo da requisição com multipart
-            MultipartBody requestBody = new MultipartBody.Builder()
-                    .setType(MultipartBody.FORM)
-                    .addFormDataPart("file", nomeOriginal, fileBody)
-                    .addFormDataPart("ticketId", String.valueOf(ticketId))
-                    .addFormDataPart("usuario", usuario)
-                    .build();
-
-            Request request = new Request.Builder()
-                    .url("http://192.168.1.9:5290/Upload/Create")
-                    .post(requestBody)
-                    .build();
-
-            OkHttpClient client = new OkHttpClient();
-
-            // Faz upload
-            client.newCall(request).enqueue(new Callback() {
-                @Override
-                public void onFailure(@NonNull Call call, @NonNull IOException e) {
-                    runOnUiThread(() -> Toast.makeText(ChatActivity.this,
-                            "Falha ao enviar arquivo: " + e.getMessage(),
-                            Toast.LENGTH_LONG).show());
-                }
+                        enviosAtivos.remove(chave);
+
+                        String resposta = response.body().string();
+                        response.close();
 
-                @Override
-                public void onResponse(@NonNull Call call, @NonNull Response response)
-                        throws IOException {
+                        // Extrai URL do arquivo do JSON
+                        String fileUrl = parseFileUrlFromJson(resposta);
+
+                        if (fileUrl != null) {
+                            publicarArquivoEnviado(chave, fileUrl, nomeOriginal);
+                        } else {
+                            tarefas.naUi(() -> {
+                                removerItem(chave);
+                                Toast.makeText(ChatActivity.this,
+                                        "Falha ao enviar arquivo.", Toast.LENGTH_LONG).show();
+                            });
+                        }
+                    }
+                });
 
-                    String resposta = response.body().string();
-                    response.close();
+            } catch (Exception ex) {
+                tarefas.naUi(() -> {
+                    removerItem(chave);
+                    Toast.makeText(this,
+                            "Erro ao preparar arquivo: " + ex.getMessage(),
+                            Toast.LENGTH_LONG).show();
+                });
+            }
+        });
+    }
 
-                    // Extrai URL do arquivo do JSON
-                    String fileUrl = parseFileUrlFromJson(resposta);
+    // Envio em partes (roda na thread de uploads e bloqueia até terminar).
+    // O andamento fica no RegistroUploads: se a rede cair, o próximo envio
+    // do mesmo arquivo continua da última parte confirmada pelo servidor.
+    private void enviarEmPartes(long chave, Uri uriArquivo, String nomeOriginal,
+                                long tamanho, int ticketId) {
+
+        UploadEmPartes upload = new UploadEmPartes(RetrofitClient.getClienteUpload(),
+                RetrofitClient.getBaseUrl(), registroUploads);
+        enviosEmPartes.put(chave, upload);
+
+        UploadEmPartes.Estado dados = new UploadEmPartes.Estado();
+        dados.chave = ticketId + "|" + uriArquivo;
+        dados.origem = uriArquivo.toString();
+        dados.nomeArquivo = nomeOriginal;
+        dados.tamanho = tamanho;
+        dados.ticketId = ticketId;
+        dados.usuario = usuario;
+
+        int[] ultimoPercentual = {0};
+        try {
+            String fileUrl = upload.enviar(dados, offset -> abrirNoOffset(uriArquivo, offset),
+                    (confirmados, total) -> {
+                        int percentual = (int) (confirmados * 100 / total);
+                        if (percentual != ultimoPercentual[0]) {
+                            ultimoPercentual[0] = percentual;
+                            tarefas.naUi(() -> atualizarEnvio(chave, nomeOriginal, percentual));
+                        }
+                    });
 
-                    if (fileUrl != null) {
-                        String mensagem = "file:" + fileUrl;
+            publicarArquivoEnviado(chave, fileUrl, nomeOriginal);
 
-                        // Mostra no chat
-                        runOnUiThread(() -> adicionarBolha(mensagem, true));
+        } catch (IOException e) {
+            boolean cancelado = canceladosPeloUsuario.remove(chave);
+            if (cancelado) registroUploads.remover(dados.chave);
+            if (tarefas.isEncerrado()) return; // tela fechada: o envio continua na próxima abertura
 
-                        // Envia pelo SignalR
-                        hubConnection.invoke("EnviarMensagem",
-                                ticketId, usuario, mensagem, "cliente");
-                    }
-                }
+            tarefas.naUi(() -> {
+                removerItem(chave);
+                Toast.makeText(ChatActivity.this,
+                        cancelado ? "Envio cancelado."
+                                : "Envio interrompido. Ele continuará ao reabrir o chat.",
+                        Toast.LENGTH_LONG).show();
+            });
+        } catch (RuntimeException e) {
+            // Ex: sem permissão de leitura do arquivo: não há como continuar depois
+            registroUploads.remover(dados.chave);
+            tarefas.naUi(() -> {
+                removerItem(chave);
+                Toast.makeText(ChatActivity.this,
+                        "Erro ao enviar arquivo: " + e.getMessage(), Toast.LENGTH_LONG).show();
             });
+        } finally {
+            enviosEmPartes.remove(chave);
+        }
+    }
+
+    // Reenvia (a partir do ponto salvo) os uploads em partes deste chamado
+    private void retomarUploadsPendentes() {
+        Set<Uri> permitidos = new HashSet<>();
+        for (android.content.UriPermission p : getContentResolver().getPersistedUriPermissions()) {
+            if (p.isReadPermission()) permitidos.add(p.getUri());
+        }
+
+        for (UploadEmPartes.Estado estado : registroUploads.pendentes()) {
+            if (estado.ticketId != ticketId || estado.origem == null) continue;
+
+            Uri uri = Uri.parse(estado.origem);
+            if (permitidos.contains(uri)) {
+                enviarArquivoParaServidor(uri, ticketId);
+            } else {
+                registroUploads.remover(estado.chave); // sem acesso ao arquivo, não há como continuar
+            }
+        }
+    }
+
+    // Abre o arquivo já posicionado no offset (para continuar de uma parte)
+    private InputStream abrirNoOffset(Uri uri, long offset) throws IOException {
+        InputStream in = getContentResolver().openInputStream(uri);
+        if (in == null) throw new FileNotFoundException("Não foi possível abrir " + uri);
+
+        long faltam = offset;
+        while (faltam > 0) {
+            long pulados = in.skip(faltam);
+            if (pulados <= 0) {
+                in.close();
+                throw new IOException("Arquivo menor que o esperado");
+            }
+            faltam -= pulados;
+        }
+        return in;
+    }
+
+    // Troca a bolha de progresso pela bolha do arquivo. O técnico já foi avisado
+    // pelo próprio servidor ao registrar o upload (ReceberMensagem com "file:").
+    private void publicarArquivoEnviado(long chave, String fileUrl, String nomeOriginal) {
+        String mensagem = "file:" + fileUrl;
+        ItemChat item = preparador.prepararPropria(mensagem, nomeOriginal, System.currentTimeMillis());
+
+        tarefas.naUi(() -> {
+            removerItem(chave);
+            adicionarBolha(item, ClassificadorChat.chaveDe(0, mensagem));
+        });
+    }
 
-        } catch (Exception ex) {
-            Toast.makeText(this,
-                    "Erro ao preparar arquivo: " + ex.getMessage(),
-                    Toast.LENGTH_LONG).show();
+    // Cria ou atualiza a bolha de um arquivo em envio
+    private void atualizarEnvio(long chave, String nomeArquivo, int progresso) {
+        for (int i = 0; i < itensChat.size(); i++) {
+            if (itensChat.get(i).getChave() == chave) {
+                itensChat.set(i, itensChat.get(i).comProgresso(progresso));
+                publicarItens(false);
+                return;
+            }
+        }
+
+        itensChat.add(preparador.prepararEnvio(chave, nomeArquivo, progresso));
+        publicarItens(true);
+    }
+
+    // Remove uma bolha da linha do tempo (ex: envio concluído ou cancelado)
+    private void removerItem(long chave) {
+        for (int i = 0; i < itensChat.size(); i++) {
+            if (itensChat.get(i).getChave() == chave) {
+                itensChat.remove(i);
+                publicarItens(false);
+                return;
+            }
         }
     }
 
-    // Extrai URL do arquivo enviado
+    // Extrai URL do arquivo enviado (mesma resposta do upload em partes)
     private String parseFileUrlFromJson(String json) {
         try {
-            Gson gson = new Gson();
-            LinkedTreeMap map = gson.fromJson(json, LinkedTreeMap.class);
+            UploadEmPartes.RespostaUpload resposta = AdaptadoresJson.gson().fromJson(json, UploadEmPartes.RespostaUpload.class);
 
-            if (map.get("fileUrl") != null)
-                return map.get("fileUrl").toString();
+            if (resposta != null && resposta.fileUrl != null)
+                return resposta.fileUrl;
 
         } catch (Exception e) {
             Log.e(TAG, "Erro parse JSON do arquivo: " + e.getMessage(), e);
@@ -585,14 +1091,40 @@ public class ChatActivity extends AppCompatActivity {
         return result != null ? result : "arquivo.dat";
     }
 
-    // Encerra conexão ao fechar Activity
+    // Obtém tamanho do arquivo em bytes (-1 se o provedor não informar)
+    private long getFileSize(Uri uri) {
+        if ("content".equals(uri.getScheme())) {
+            try (Cursor cursor = getContentResolver().query(uri,
+                    new String[]{android.provider.OpenableColumns.SIZE}, null, null, null)) {
+
+                if (cursor != null && cursor.moveToFirst() && !cursor.isNull(0)) {
+                    return cursor.getLong(0);
+                }
+            }
+        }
+
+        return -1;
+    }
+
+    // Libera recursos ao fechar Activity
     @Override
     protected void onDestroy() {
         super.onDestroy();
 
-        if (hubConnection != null &&
-                hubConnection.getConnectionState() == HubConnectionState.CONNECTED) {
-            hubConnection.stop();
+        // Cancela downloads de imagens ainda pendentes desta tela
+        ImagemLoader.cancelarTudo(this);
+
+        // Cancela uploads em andamento (os em partes continuam na próxima abertura)
+        for (Call envio : enviosAtivos.values()) envio.cancel();
+        for (UploadEmPartes envio : enviosEmPartes.values()) envio.cancelar();
+
+        // Descarta mensagens ao vivo ainda não exibidas (já estão no servidor)
+        filaAoVivo.encerrar();
+
+        // Deixa de acompanhar o ticket (a conexão continua com a SessaoChat)
+        if (ticketId != 0) {
+            sessao.cancelarInscricao(ticketId, ouvinteChat);
+            caixaDeSaida.deixarDeObservar(ticketId, observadorEnvios);
         }
     }
 }
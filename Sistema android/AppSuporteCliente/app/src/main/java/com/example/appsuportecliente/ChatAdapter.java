@@ -0,0 +1,253 @@
+package com.example.appsuportecliente;
+
+import android.content.Intent;
+import android.graphics.Paint;
+import android.net.Uri;
+import android.text.method.LinkMovementMethod;
+import android.view.Gravity;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.ImageView;
+import android.widget.LinearLayout;
+import android.widget.ProgressBar;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.core.text.PrecomputedTextCompat;
+import androidx.core.widget.TextViewCompat;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.example.appsuportecliente.model.ItemChat;
+
+/**
+ * Adapter da linha do tempo do chat.
+ *
+ * Cada tipo de bolha (texto, imagem, arquivo) tem seu próprio layout e ViewHolder,
+ * e as views são recicladas: o custo de memória e layout não cresce com o
+ * tamanho da conversa. As inserções são calculadas pelo DiffUtil.
+ *
+ * O bind só atribui valores já preparados no ItemChat (ver PreparadorMensagens):
+ * nada de conversão de HTML, datas ou strings na thread principal.
+ */
+public class ChatAdapter extends ListAdapter<ItemChat, ChatAdapter.BolhaViewHolder> {
+
+    // Compara itens pela chave estável e pelo conteúdo
+    private static final DiffUtil.ItemCallback<ItemChat> DIFF = new DiffUtil.ItemCallback<ItemChat>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull ItemChat antigo, @NonNull ItemChat novo) {
+            return antigo.getChave() == novo.getChave();
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull ItemChat antigo, @NonNull ItemChat novo) {
+            return antigo.equals(novo);
+        }
+    };
+
+    // Chamado quando o usuário cancela um envio de arquivo em andamento
+    public interface AoCancelarEnvio {
+        void cancelar(long chave);
+    }
+
+    private final AoCancelarEnvio aoCancelarEnvio;
+
+    public ChatAdapter(AoCancelarEnvio aoCancelarEnvio) {
+        super(DIFF);
+        this.aoCancelarEnvio = aoCancelarEnvio;
+        setHasStableIds(true);
+    }
+
+    @Override
+    public long getItemId(int position) {
+        return getItem(position).getChave();
+    }
+
+    @Override
+    public int getItemViewType(int position) {
+        return getItem(position).getTipo();
+    }
+
+    @NonNull
+    @Override
+    public BolhaViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        LayoutInflater inflater = LayoutInflater.from(parent.getContext());
+
+        switch (viewType) {
+            case ItemChat.TIPO_IMAGEM:
+                return new ImagemViewHolder(
+                        inflater.inflate(R.layout.item_mensagem_imagem, parent, false));
+            case ItemChat.TIPO_ARQUIVO:
+                return new ArquivoViewHolder(
+                        inflater.inflate(R.layout.item_mensagem_arquivo, parent, false));
+            case ItemChat.TIPO_ENVIO:
+                return new EnvioViewHolder(
+                        inflater.inflate(R.layout.item_mensagem_envio, parent, false), aoCancelarEnvio);
+            default:
+                return new TextoViewHolder(
+                        inflater.inflate(R.layout.item_mensagem_texto, parent, false));
+        }
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull BolhaViewHolder holder, int position) {
+        holder.bind(getItem(position));
+    }
+
+    @Override
+    public void onViewRecycled(@NonNull BolhaViewHolder holder) {
+        super.onViewRecycled(holder);
+        if (holder instanceof ImagemViewHolder) ((ImagemViewHolder) holder).reciclar();
+    }
+
+    // ============================================================
+    // VIEW HOLDERS
+    // ============================================================
+
+    // Parte comum a todas as bolhas: alinhamento, fundo e horário
+    abstract static class BolhaViewHolder extends RecyclerView.ViewHolder {
+
+        final LinearLayout raiz;
+        final LinearLayout bolha;
+        final TextView txtHora;
+
+        BolhaViewHolder(@NonNull View itemView) {
+            super(itemView);
+            raiz = (LinearLayout) itemView;
+            bolha = itemView.findViewById(R.id.bolha);
+            txtHora = itemView.findViewById(R.id.txtHora);
+        }
+
+        void bind(ItemChat item) {
+            boolean isUsuario = item.isUsuario();
+
+            raiz.setGravity(isUsuario ? Gravity.END : Gravity.START);
+            bolha.setBackgroundResource(isUsuario ? R.drawable.bg_bolha_usuario : R.drawable.bg_bolha_tecnico);
+
+            txtHora.setText(item.getRodape());
+            txtHora.setTextAlignment(isUsuario ? View.TEXT_ALIGNMENT_TEXT_END : View.TEXT_ALIGNMENT_TEXT_START);
+        }
+    }
+
+    // Mensagem de texto (aceita HTML simples e links)
+    static class TextoViewHolder extends BolhaViewHolder {
+
+        private final TextView txtMensagem;
+
+        TextoViewHolder(@NonNull View itemView) {
+            super(itemView);
+            txtMensagem = itemView.findViewById(R.id.txtMensagem);
+            txtMensagem.setMovementMethod(LinkMovementMethod.getInstance());
+        }
+
+        @Override
+        void bind(ItemChat item) {
+            super.bind(item);
+            txtMensagem.setTextColor(item.isUsuario() ? 0xFFFFFFFF : 0xFF000000);
+
+            CharSequence texto = item.getTexto();
+            if (texto instanceof PrecomputedTextCompat) {
+                try {
+                    // Layout do texto já medido em segundo plano
+                    TextViewCompat.setPrecomputedText(txtMensagem, (PrecomputedTextCompat) texto);
+                    return;
+                } catch (IllegalArgumentException e) {
+                    // Medido com parâmetros diferentes deste TextView: mede de novo aqui
+                }
+            }
+            txtMensagem.setText(texto);
+        }
+    }
+
+    // Imagem anexada
+    static class ImagemViewHolder extends BolhaViewHolder {
+
+        private final ImageView imgMensagem;
+        private final int tamanhoPx; // lado máximo da miniatura, em pixels
+
+        ImagemViewHolder(@NonNull View itemView) {
+            super(itemView);
+            imgMensagem = itemView.findViewById(R.id.imgMensagem);
+            tamanhoPx = itemView.getResources().getDimensionPixelSize(R.dimen.chat_imagem_max);
+        }
+
+        @Override
+        void bind(ItemChat item) {
+            super.bind(item);
+
+            // Baixa (ou pega do cache) já reduzida ao tamanho máximo da bolha
+            ImagemLoader.carregarMiniatura(item.getConteudo(), imgMensagem, tamanhoPx,
+                    imgMensagem.getContext());
+
+            // Toque na imagem abre em tela cheia
+            imgMensagem.setOnClickListener(v -> {
+                Intent intent = new Intent(v.getContext(), ImageViewActivity.class);
+                intent.putExtra("imageUrl", item.getConteudo());
+                v.getContext().startActivity(intent);
+            });
+        }
+
+        // Bolha saiu da tela: cancela o download pendente
+        void reciclar() {
+            ImagemLoader.cancelar(imgMensagem);
+            imgMensagem.setImageDrawable(null);
+        }
+    }
+
+    // Outro arquivo (PDF, ZIP...): link que abre no app padrão
+    static class ArquivoViewHolder extends BolhaViewHolder {
+
+        private final TextView txtArquivo;
+
+        ArquivoViewHolder(@NonNull View itemView) {
+            super(itemView);
+            txtArquivo = itemView.findViewById(R.id.txtArquivo);
+            txtArquivo.setPaintFlags(txtArquivo.getPaintFlags() | Paint.UNDERLINE_TEXT_FLAG);
+        }
+
+        @Override
+        void bind(ItemChat item) {
+            super.bind(item);
+
+            String fileUrl = item.getConteudo();
+            txtArquivo.setText(item.getTexto());
+
+            txtArquivo.setOnClickListener(v -> {
+                Intent intent = new Intent(Intent.ACTION_VIEW, Uri.parse(fileUrl));
+                v.getContext().startActivity(intent);
+            });
+        }
+    }
+
+    // Arquivo do cliente em envio: nome, barra de progresso e cancelar
+    static class EnvioViewHolder extends BolhaViewHolder {
+
+        private final TextView txtNomeArquivo;
+        private final ProgressBar progressoEnvio;
+        private final TextView btnCancelarEnvio;
+        private final AoCancelarEnvio aoCancelarEnvio;
+
+        EnvioViewHolder(@NonNull View itemView, AoCancelarEnvio aoCancelarEnvio) {
+            super(itemView);
+            txtNomeArquivo = itemView.findViewById(R.id.txtNomeArquivo);
+            progressoEnvio = itemView.findViewById(R.id.progressoEnvio);
+            btnCancelarEnvio = itemView.findViewById(R.id.btnCancelarEnvio);
+            this.aoCancelarEnvio = aoCancelarEnvio;
+        }
+
+        @Override
+        void bind(ItemChat item) {
+            super.bind(item);
+
+            txtNomeArquivo.setText(item.getTexto());
+
+            boolean indeterminado = item.getProgresso() == ItemChat.PROGRESSO_INDETERMINADO;
+            progressoEnvio.setIndeterminate(indeterminado);
+            if (!indeterminado) progressoEnvio.setProgress(item.getProgresso());
+
+            btnCancelarEnvio.setOnClickListener(v -> aoCancelarEnvio.cancelar(item.getChave()));
+        }
+    }
+}
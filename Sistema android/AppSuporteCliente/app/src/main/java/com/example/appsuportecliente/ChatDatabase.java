@@ -0,0 +1,559 @@
+package com.example.appsuportecliente;
+
+import android.content.ContentValues;
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteOpenHelper;
+
+import androidx.annotation.Nullable;
+
+import com.example.appsuportecliente.model.EnvioPendente;
+import com.example.appsuportecliente.model.Mensagem;
+import com.example.appsuportecliente.model.ResultadoBusca;
+import com.example.appsuportecliente.model.Ticket;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Armazenamento local (SQLite) das mensagens do chat.
+ *
+ * As mensagens vindas do histórico do servidor são gravadas com o seu id
+ * (chave: ticket + id + tipo, pois textos e arquivos vêm de tabelas diferentes).
+ * As mensagens recebidas ao vivo pelo SignalR ficam marcadas com ao_vivo = 1
+ * (com o id do servidor, quando o evento traz um) até o próximo sincronismo
+ * trazer a versão oficial delas; elas não contam como "já sincronizado".
+ *
+ * A tela lê o histórico em páginas (listarRecentes / listarAnteriores, e
+ * listarPosteriores quando abre pela busca no meio da conversa);
+ * o cursor do servidor de cada mensagem fica salvo para buscar as
+ * anteriores que ainda não estão no aparelho.
+ *
+ * A tabela caixa_saida guarda as mensagens do cliente ainda não confirmadas
+ * pelo servidor (CaixaDeSaida). Ela não é cache: sobrevive às atualizações do banco.
+ *
+ * Busca local: os chamados exibidos na lista ficam na tabela chamados e o
+ * texto deles e das mensagens é indexado em tabelas FTS4 (busca_chamados,
+ * busca_mensagens). Os índices são mantidos por triggers, então qualquer
+ * gravação acima já atualiza a busca, inclusive sem rede.
+ *
+ * A tabela sincronismo guarda, por usuário, a marca do servidor até onde os
+ * chamados já foram sincronizados em segundo plano (SincronizacaoWorker).
+ * Ela é recriada junto com os chamados: sem marca, a próxima sincronização
+ * traz tudo de novo.
+ */
+public class ChatDatabase extends SQLiteOpenHelper {
+
+    private static final String NOME_BANCO = "chat.db";
+    private static final int VERSAO = 6; // 2: coluna cursor, 3: caixa_saida, 4: coluna ao_vivo, 5: busca, 6: sincronismo
+
+    private static final String TABELA = "mensagens";
+    private static final String TABELA_SAIDA = "caixa_saida";
+    private static final String TABELA_CHAMADOS = "chamados";
+    private static final String BUSCA_MENSAGENS = "busca_mensagens";
+    private static final String BUSCA_CHAMADOS = "busca_chamados";
+    private static final String TABELA_SINCRONISMO = "sincronismo";
+
+    // Candidatos lidos de cada índice antes de ordenar por relevância
+    private static final int CANDIDATOS_BUSCA = 500;
+
+    // Peso de cada coluna na relevância (título vale mais que a descrição)
+    private static final double[] PESOS_CHAMADOS = {2.0, 1.0};
+    private static final double[] PESOS_MENSAGENS = {1.0};
+
+    private static ChatDatabase instancia;
+
+    // Instância única por processo (SQLiteOpenHelper já é thread-safe)
+    public static synchronized ChatDatabase getInstance(Context context) {
+        if (instancia == null) {
+            instancia = new ChatDatabase(context.getApplicationContext());
+        }
+        return instancia;
+    }
+
+    private ChatDatabase(Context context) {
+        super(context, NOME_BANCO, null, VERSAO);
+    }
+
+    // O UNIQUE ... ON CONFLICT REPLACE apaga a linha antiga; sem recursive_triggers
+    // essa remoção não dispararia o trigger que a tira do índice de busca
+    @Override
+    public void onConfigure(SQLiteDatabase db) {
+        db.execSQL("PRAGMA recursive_triggers = ON");
+    }
+
+    @Override
+    public void onCreate(SQLiteDatabase db) {
+        criarMensagens(db);
+        criarChamados(db);
+        criarCaixaSaida(db);
+    }
+
+    @Override
+    public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
+        // Cache local: pode ser recriado a partir do servidor
+        // (os triggers de busca somem junto com as tabelas)
+        db.execSQL("DROP TABLE IF EXISTS " + TABELA);
+        db.execSQL("DROP TABLE IF EXISTS " + BUSCA_MENSAGENS);
+        db.execSQL("DROP TABLE IF EXISTS " + TABELA_CHAMADOS);
+        db.execSQL("DROP TABLE IF EXISTS " + BUSCA_CHAMADOS);
+        db.execSQL("DROP TABLE IF EXISTS " + TABELA_SINCRONISMO);
+        criarMensagens(db);
+        criarChamados(db);
+
+        // Mensagens não entregues não podem ser perdidas: só cria se faltar
+        criarCaixaSaida(db);
+    }
+
+    private static void criarMensagens(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE " + TABELA + " ("
+                + "_id INTEGER PRIMARY KEY AUTOINCREMENT, "
+                + "ticket_id INTEGER NOT NULL, "
+                + "server_id INTEGER, "
+                + "tipo TEXT, "
+                + "remetente TEXT, "
+                + "destinatario TEXT, "
+                + "conteudo TEXT, "
+                + "nome_original TEXT, "
+                + "data_envio TEXT, "
+                + "cursor TEXT, "
+                + "ao_vivo INTEGER NOT NULL DEFAULT 0, "
+                + "UNIQUE (ticket_id, server_id, tipo) ON CONFLICT REPLACE)");
+
+        db.execSQL("CREATE INDEX idx_mensagens_ticket_data ON "
+                + TABELA + " (ticket_id, data_envio)");
+
+        // Índice de busca: o texto, ou o nome original para arquivos
+        // (o caminho "file:/uploads/..." só traria resultados sem sentido)
+        db.execSQL("CREATE VIRTUAL TABLE " + BUSCA_MENSAGENS
+                + " USING fts4(texto, tokenize=unicode61)");
+
+        db.execSQL("CREATE TRIGGER mensagens_busca_ai AFTER INSERT ON " + TABELA + " BEGIN "
+                + "INSERT INTO " + BUSCA_MENSAGENS + " (docid, texto) VALUES (new._id, "
+                + "CASE WHEN new.conteudo LIKE 'file:%' THEN COALESCE(new.nome_original, '') "
+                + "ELSE new.conteudo END); END");
+
+        db.execSQL("CREATE TRIGGER mensagens_busca_ad AFTER DELETE ON " + TABELA + " BEGIN "
+                + "DELETE FROM " + BUSCA_MENSAGENS + " WHERE docid = old._id; END");
+    }
+
+    // Chamados de cada usuário, como vieram na lista (id do servidor como chave)
+    private static void criarChamados(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE " + TABELA_CHAMADOS + " ("
+                + "id INTEGER PRIMARY KEY ON CONFLICT REPLACE, "
+                + "usuario TEXT NOT NULL, "
+                + "titulo TEXT, "
+                + "descricao TEXT, "
+                + "status TEXT, "
+                + "tecnico TEXT, "
+                + "data_criacao TEXT)");
+
+        db.execSQL("CREATE VIRTUAL TABLE " + BUSCA_CHAMADOS
+                + " USING fts4(titulo, descricao, tokenize=unicode61)");
+
+        db.execSQL("CREATE TRIGGER chamados_busca_ai AFTER INSERT ON " + TABELA_CHAMADOS + " BEGIN "
+                + "INSERT INTO " + BUSCA_CHAMADOS + " (docid, titulo, descricao) "
+                + "VALUES (new.id, new.titulo, new.descricao); END");
+
+        db.execSQL("CREATE TRIGGER chamados_busca_ad AFTER DELETE ON " + TABELA_CHAMADOS + " BEGIN "
+                + "DELETE FROM " + BUSCA_CHAMADOS + " WHERE docid = old.id; END");
+
+        // marca: horário do servidor da última sincronização ("desde" da próxima);
+        // sincronizado_em: horário do aparelho em que ela terminou
+        db.execSQL("CREATE TABLE " + TABELA_SINCRONISMO + " ("
+                + "usuario TEXT PRIMARY KEY ON CONFLICT REPLACE, "
+                + "marca TEXT NOT NULL, "
+                + "sincronizado_em INTEGER NOT NULL)");
+    }
+
+    // _id crescente = ordem em que o usuário enviou
+    private static void criarCaixaSaida(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE IF NOT EXISTS " + TABELA_SAIDA + " ("
+                + "_id INTEGER PRIMARY KEY AUTOINCREMENT, "
+                + "client_id TEXT NOT NULL UNIQUE, "
+                + "ticket_id INTEGER NOT NULL, "
+                + "autor TEXT, "
+                + "conteudo TEXT NOT NULL, "
+                + "criada_em INTEGER NOT NULL)");
+    }
+
+    // ============================================================
+    // LEITURA
+    // ============================================================
+
+    private static final String[] COLUNAS = {"_id", "server_id", "tipo", "remetente",
+            "destinatario", "conteudo", "nome_original", "data_envio", "cursor"};
+
+    // Retorna as "limite" mensagens mais recentes do ticket, em ordem de envio
+    public List<Mensagem> listarRecentes(int ticketId, int limite) {
+        return listarDecrescente("ticket_id = ?",
+                new String[]{String.valueOf(ticketId)}, ticketId, limite);
+    }
+
+    // Retorna até "limite" mensagens anteriores a "referencia" (a mais antiga já exibida),
+    // em ordem de envio. A ordem é a mesma da tela: (data_envio, _id).
+    public List<Mensagem> listarAnteriores(int ticketId, Mensagem referencia, int limite) {
+        String data = valorOuVazio(DatasApi.texto(referencia.getDataEnvio()));
+        return listarDecrescente(
+                "ticket_id = ? AND (data_envio < ? OR (data_envio = ? AND _id < ?))",
+                new String[]{String.valueOf(ticketId), data, data,
+                        String.valueOf(referencia.getIdLocal())},
+                ticketId, limite);
+    }
+
+    // Até "limite" mensagens depois de "referencia" (a mais recente já exibida),
+    // em ordem de envio. Usada quando a tela não está no fim da conversa.
+    public List<Mensagem> listarPosteriores(int ticketId, Mensagem referencia, int limite) {
+        String data = valorOuVazio(DatasApi.texto(referencia.getDataEnvio()));
+        return listarCrescente(
+                "ticket_id = ? AND (data_envio > ? OR (data_envio = ? AND _id > ?))",
+                new String[]{String.valueOf(ticketId), data, data,
+                        String.valueOf(referencia.getIdLocal())},
+                ticketId, limite);
+    }
+
+    // A mensagem de id local "idLocal" e até "limite" - 1 seguintes, precedidas de
+    // até "contexto" anteriores, em ordem de envio (abertura a partir da busca;
+    // as mais novas vêm com listarPosteriores). Vazia se a mensagem não estiver
+    // mais no aparelho.
+    public List<Mensagem> listarAPartirDe(int ticketId, long idLocal, int contexto, int limite) {
+        String data;
+        try (Cursor c = getReadableDatabase().query(TABELA, new String[]{"data_envio"},
+                "_id = ? AND ticket_id = ?", new String[]{String.valueOf(idLocal), String.valueOf(ticketId)},
+                null, null, null)) {
+
+            if (!c.moveToFirst()) return new ArrayList<>();
+            data = valorOuVazio(c.getString(0));
+        }
+
+        String[] args = {String.valueOf(ticketId), data, data, String.valueOf(idLocal)};
+        List<Mensagem> lista = listarDecrescente(
+                "ticket_id = ? AND (data_envio < ? OR (data_envio = ? AND _id < ?))", args, ticketId, contexto);
+
+        lista.addAll(listarCrescente(
+                "ticket_id = ? AND (data_envio > ? OR (data_envio = ? AND _id >= ?))", args, ticketId, limite));
+        return lista;
+    }
+
+    // Cursor do servidor da mensagem mais antiga guardada no aparelho (ou null)
+    @Nullable
+    public String cursorMaisAntigo(int ticketId) {
+        try (Cursor c = getReadableDatabase().query(TABELA, new String[]{"cursor"},
+                "ticket_id = ? AND cursor IS NOT NULL", new String[]{String.valueOf(ticketId)},
+                null, null, "data_envio, _id", "1")) {
+
+            return c.moveToFirst() ? c.getString(0) : null;
+        }
+    }
+
+    // Busca do mais novo para o mais antigo (com LIMIT) e devolve em ordem de envio
+    private List<Mensagem> listarDecrescente(String where, String[] args, int ticketId, int limite) {
+        List<Mensagem> lista = new ArrayList<>();
+
+        try (Cursor c = getReadableDatabase().query(TABELA, COLUNAS, where, args,
+                null, null, "data_envio DESC, _id DESC", String.valueOf(limite))) {
+
+            while (c.moveToNext()) lista.add(lerMensagem(c, ticketId));
+        }
+
+        Collections.reverse(lista);
+        return lista;
+    }
+
+    // Busca do mais antigo para o mais novo (com LIMIT)
+    private List<Mensagem> listarCrescente(String where, String[] args, int ticketId, int limite) {
+        List<Mensagem> lista = new ArrayList<>();
+
+        try (Cursor c = getReadableDatabase().query(TABELA, COLUNAS, where, args,
+                null, null, "data_envio, _id", String.valueOf(limite))) {
+
+            while (c.moveToNext()) lista.add(lerMensagem(c, ticketId));
+        }
+        return lista;
+    }
+
+    // Linha lida com COLUNAS
+    private static Mensagem lerMensagem(Cursor c, int ticketId) {
+        Mensagem m = new Mensagem();
+        m.setIdLocal(c.getLong(0));
+        m.setId(c.isNull(1) ? 0 : c.getInt(1));
+        m.setTipo(Nomes.internar(c.getString(2)));
+        m.setRemetente(Nomes.internar(c.getString(3)));
+        m.setDestinatario(Nomes.internar(c.getString(4)));
+        m.setConteudo(c.getString(5));
+        m.setNomeOriginal(c.getString(6));
+        m.setDataEnvio(DatasApi.epochDe(c.getString(7)));
+        m.setCursor(c.getString(8));
+        m.setTicketId(ticketId);
+        return m;
+    }
+
+    // Data da mensagem mais recente já sincronizada com o servidor (ou null)
+    @Nullable
+    public String ultimaDataSincronizada(int ticketId) {
+        try (Cursor c = getReadableDatabase().rawQuery(
+                "SELECT MAX(data_envio) FROM " + TABELA
+                        + " WHERE ticket_id = ? AND ao_vivo = 0",
+                new String[]{String.valueOf(ticketId)})) {
+
+            return c.moveToFirst() && !c.isNull(0) ? c.getString(0) : null;
+        }
+    }
+
+    // ============================================================
+    // ESCRITA
+    // ============================================================
+
+    // Grava mensagens vindas do histórico do servidor (id já conhecido).
+    // A cópia "ao vivo" com o mesmo id é substituída pelo UNIQUE; a sem id
+    // (ex: aviso de arquivo do upload) é removida pelo conteúdo.
+    public void salvarMensagens(int ticketId, List<Mensagem> mensagens) {
+        if (mensagens == null || mensagens.isEmpty()) return;
+
+        SQLiteDatabase db = getWritableDatabase();
+        db.beginTransaction();
+        try {
+            for (Mensagem m : mensagens) {
+                db.delete(TABELA,
+                        "ticket_id = ? AND server_id IS NULL AND remetente = ? AND conteudo = ?",
+                        new String[]{String.valueOf(ticketId),
+                                valorOuVazio(m.getRemetente()), valorOuVazio(m.getConteudo())});
+
+                ContentValues v = paraValores(ticketId, m);
+                v.put("server_id", m.getId());
+                db.insert(TABELA, null, v);
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    // Grava as mensagens recebidas ao vivo (id do servidor, se o evento trouxe)
+    public void salvarMensagensAoVivo(int ticketId, List<Mensagem> mensagens) {
+        SQLiteDatabase db = getWritableDatabase();
+        db.beginTransaction();
+        try {
+            for (Mensagem m : mensagens) {
+                ContentValues v = paraValores(ticketId, m);
+                if (m.getId() > 0) {
+                    v.put("server_id", m.getId());
+                } else {
+                    v.putNull("server_id");
+                }
+                v.put("ao_vivo", 1);
+                db.insert(TABELA, null, v);
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    private static ContentValues paraValores(int ticketId, Mensagem m) {
+        ContentValues v = new ContentValues();
+        v.put("ticket_id", ticketId);
+        v.put("tipo", m.getTipo());
+        v.put("remetente", valorOuVazio(m.getRemetente()));
+        v.put("destinatario", m.getDestinatario());
+        v.put("conteudo", valorOuVazio(m.getConteudo()));
+        v.put("nome_original", m.getNomeOriginal());
+        v.put("data_envio", DatasApi.texto(m.getDataEnvio())); // texto: ordena e compara como no servidor
+        v.put("cursor", m.getCursor());
+        return v;
+    }
+
+    private static String valorOuVazio(String s) {
+        return s != null ? s : "";
+    }
+
+    // ============================================================
+    // CHAMADOS
+    // ============================================================
+
+    // Grava (ou atualiza) os chamados de uma página da lista do usuário
+    public void salvarChamados(String usuario, List<Ticket> tickets) {
+        if (tickets == null || tickets.isEmpty()) return;
+
+        SQLiteDatabase db = getWritableDatabase();
+        db.beginTransaction();
+        try {
+            for (Ticket t : tickets) {
+                ContentValues v = new ContentValues();
+                v.put("id", t.getId());
+                v.put("usuario", usuario);
+                v.put("titulo", t.getTitle());
+                v.put("descricao", t.getDescription());
+                v.put("status", t.getStatus());
+                v.put("tecnico", t.getTecnico());
+                v.put("data_criacao", DatasApi.texto(t.getDataCriacao()));
+                db.insert(TABELA_CHAMADOS, null, v);
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    // Chamados do usuário guardados no aparelho, do mais novo para o mais antigo
+    // (mesma ordem da lista paginada do servidor)
+    public List<Ticket> listarChamados(String usuario, int limite) {
+        List<Ticket> tickets = new ArrayList<>();
+
+        try (Cursor c = getReadableDatabase().query(TABELA_CHAMADOS,
+                new String[]{"id", "titulo", "descricao", "status", "tecnico", "data_criacao"},
+                "usuario = ?", new String[]{usuario}, null, null, "id DESC", String.valueOf(limite))) {
+
+            while (c.moveToNext()) {
+                Ticket t = new Ticket();
+                t.setId(c.getInt(0));
+                t.setTitle(c.getString(1));
+                t.setDescription(c.getString(2));
+                t.setStatus(c.getString(3));
+                t.setTecnico(Nomes.internar(c.getString(4)));
+                t.setCriador(usuario);
+                t.setDataCriacao(DatasApi.epochDe(c.getString(5)));
+                tickets.add(t);
+            }
+        }
+        return tickets;
+    }
+
+    // ============================================================
+    // SINCRONISMO
+    // ============================================================
+
+    // Marca do servidor da última sincronização do usuário (null = nunca sincronizou)
+    @Nullable
+    public String marcaSincronismo(String usuario) {
+        try (Cursor c = getReadableDatabase().rawQuery(
+                "SELECT marca FROM " + TABELA_SINCRONISMO + " WHERE usuario = ?",
+                new String[]{usuario})) {
+
+            return c.moveToFirst() ? c.getString(0) : null;
+        }
+    }
+
+    // Quando (relógio do aparelho) a última sincronização do usuário terminou (0 = nunca)
+    public long sincronizadoEm(String usuario) {
+        try (Cursor c = getReadableDatabase().rawQuery(
+                "SELECT sincronizado_em FROM " + TABELA_SINCRONISMO + " WHERE usuario = ?",
+                new String[]{usuario})) {
+
+            return c.moveToFirst() ? c.getLong(0) : 0;
+        }
+    }
+
+    // Sincronização concluída até a marca. Duas execuções podem terminar fora
+    // de ordem: a marca nunca volta para trás (mesmo formato, compara como texto).
+    public void salvarSincronismo(String usuario, String marca, long sincronizadoEm) {
+        SQLiteDatabase db = getWritableDatabase();
+        db.beginTransaction();
+        try {
+            String atual = marcaSincronismo(usuario);
+            ContentValues v = new ContentValues();
+            v.put("usuario", usuario);
+            v.put("marca", atual != null && atual.compareTo(marca) > 0 ? atual : marca);
+            v.put("sincronizado_em", sincronizadoEm);
+            db.insert(TABELA_SINCRONISMO, null, v);
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    // ============================================================
+    // BUSCA
+    // ============================================================
+
+    // Chamados e mensagens do usuário com todas as palavras do texto (como
+    // prefixo), do mais para o menos relevante. Só lê o aparelho.
+    public List<ResultadoBusca> buscar(String usuario, String texto, int limite) {
+        List<ResultadoBusca> resultados = new ArrayList<>();
+        String consulta = RelevanciaBusca.consultaFts(texto);
+        if (consulta == null) return resultados;
+
+        String[] args = {consulta, usuario};
+        String inicio = String.valueOf(ResultadoBusca.INICIO_DESTAQUE);
+        String fim = String.valueOf(ResultadoBusca.FIM_DESTAQUE);
+        SQLiteDatabase db = getReadableDatabase();
+
+        try (Cursor c = db.rawQuery("SELECT c.id, c.titulo, c.status, c.tecnico, "
+                + "snippet(" + BUSCA_CHAMADOS + ", ?, ?, '…', -1, 12), "
+                + "matchinfo(" + BUSCA_CHAMADOS + ", 'pcnalx') "
+                + "FROM " + BUSCA_CHAMADOS + " JOIN " + TABELA_CHAMADOS + " c ON c.id = " + BUSCA_CHAMADOS + ".docid "
+                + "WHERE " + BUSCA_CHAMADOS + " MATCH ? AND c.usuario = ? LIMIT " + CANDIDATOS_BUSCA,
+                comMarcas(inicio, fim, args))) {
+
+            while (c.moveToNext()) {
+                double nota = RelevanciaBusca.bm25(RelevanciaBusca.inteiros(c.getBlob(5)), PESOS_CHAMADOS);
+                resultados.add(new ResultadoBusca(ResultadoBusca.TIPO_CHAMADO, c.getInt(0), c.getString(1),
+                        c.getString(2), c.getString(3), c.getString(4), 0, null, DatasApi.SEM_DATA, nota));
+            }
+        }
+
+        try (Cursor c = db.rawQuery("SELECT m.ticket_id, c.titulo, c.status, c.tecnico, "
+                + "snippet(" + BUSCA_MENSAGENS + ", ?, ?, '…', -1, 12), "
+                + "matchinfo(" + BUSCA_MENSAGENS + ", 'pcnalx'), m._id, m.remetente, m.data_envio "
+                + "FROM " + BUSCA_MENSAGENS + " JOIN " + TABELA + " m ON m._id = " + BUSCA_MENSAGENS + ".docid "
+                + "JOIN " + TABELA_CHAMADOS + " c ON c.id = m.ticket_id "
+                + "WHERE " + BUSCA_MENSAGENS + " MATCH ? AND c.usuario = ? LIMIT " + CANDIDATOS_BUSCA,
+                comMarcas(inicio, fim, args))) {
+
+            while (c.moveToNext()) {
+                double nota = RelevanciaBusca.bm25(RelevanciaBusca.inteiros(c.getBlob(5)), PESOS_MENSAGENS);
+                resultados.add(new ResultadoBusca(ResultadoBusca.TIPO_MENSAGEM, c.getInt(0), c.getString(1),
+                        c.getString(2), c.getString(3), c.getString(4), c.getLong(6),
+                        Nomes.internar(c.getString(7)), DatasApi.epochDe(c.getString(8)), nota));
+            }
+        }
+
+        resultados.sort(Comparator.comparingDouble(ResultadoBusca::getRelevancia).reversed());
+        return resultados.size() > limite ? new ArrayList<>(resultados.subList(0, limite)) : resultados;
+    }
+
+    private static String[] comMarcas(String inicio, String fim, String[] args) {
+        String[] todos = new String[args.length + 2];
+        todos[0] = inicio;
+        todos[1] = fim;
+        System.arraycopy(args, 0, todos, 2, args.length);
+        return todos;
+    }
+
+    // ============================================================
+    // CAIXA DE SAÍDA
+    // ============================================================
+
+    public void adicionarPendente(EnvioPendente envio) {
+        ContentValues v = new ContentValues();
+        v.put("client_id", envio.getClientId());
+        v.put("ticket_id", envio.getTicketId());
+        v.put("autor", envio.getAutor());
+        v.put("conteudo", envio.getConteudo());
+        v.put("criada_em", envio.getCriadaEm());
+        getWritableDatabase().insert(TABELA_SAIDA, null, v);
+    }
+
+    // Todas as mensagens ainda não entregues, na ordem de envio
+    public List<EnvioPendente> listarPendentes() {
+        List<EnvioPendente> lista = new ArrayList<>();
+
+        try (Cursor c = getReadableDatabase().query(TABELA_SAIDA,
+                new String[]{"client_id", "ticket_id", "autor", "conteudo", "criada_em"},
+                null, null, null, null, "_id")) {
+
+            while (c.moveToNext()) {
+                lista.add(new EnvioPendente(c.getString(0), c.getInt(1),
+                        c.getString(2), c.getString(3), c.getLong(4)));
+            }
+        }
+        return lista;
+    }
+
+    public void removerPendente(String clientId) {
+        getWritableDatabase().delete(TABELA_SAIDA, "client_id = ?", new String[]{clientId});
+    }
+}
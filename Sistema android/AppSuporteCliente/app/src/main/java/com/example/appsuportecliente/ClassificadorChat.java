@@ -0,0 +1,86 @@
+package com.example.appsuportecliente;
+
+import com.example.appsuportecliente.model.ItemChat;
+
+/**
+ * Regras do chat que não dependem da tela: tipo de cada mensagem
+ * (texto, imagem ou arquivo) e o id usado na deduplicação ({@link JanelaIds}).
+ */
+public final class ClassificadorChat {
+
+    // Mensagens de arquivo chegam como "file:<url>"
+    public static final String PREFIXO_ARQUIVO = "file:";
+
+    // Cada origem de id ocupa uma faixa própria (byte mais alto), para não
+    // colidirem: id da tabela Mensagens, URL do arquivo e clientId da caixa de saída.
+    private static final long FAIXA_TEXTO = 1L << 56;
+    private static final long FAIXA_ARQUIVO = 2L << 56;
+    private static final long FAIXA_ENVIO = 3L << 56;
+    private static final long VALOR = (1L << 56) - 1;
+
+    // Anexos com estas extensões aparecem como imagem na bolha
+    private static final String[] EXTENSOES_IMAGEM = {"jpg", "jpeg", "png", "gif", "bmp", "webp"};
+
+    private ClassificadorChat() {
+    }
+
+    // ============================================================
+    // TIPO DA MENSAGEM
+    // ============================================================
+
+    public static boolean isArquivo(String mensagem) {
+        return mensagem != null && mensagem.startsWith(PREFIXO_ARQUIVO);
+    }
+
+    // Texto exibido na bolha (para arquivos, a URL sem o prefixo)
+    public static String conteudoDe(String mensagem) {
+        return isArquivo(mensagem) ? mensagem.substring(PREFIXO_ARQUIVO.length()).trim() : mensagem;
+    }
+
+    // ItemChat.TIPO_TEXTO, TIPO_IMAGEM ou TIPO_ARQUIVO (PDF, ZIP...)
+    public static int tipoDe(String mensagem) {
+        if (!isArquivo(mensagem)) return ItemChat.TIPO_TEXTO;
+
+        // Compara a extensão no lugar, sem criar strings nem usar regex
+        String url = conteudoDe(mensagem);
+        int inicio = url.lastIndexOf('.') + 1;
+        int tamanho = url.length() - inicio;
+        for (String ext : EXTENSOES_IMAGEM) {
+            if (ext.length() == tamanho && url.regionMatches(true, inicio, ext, 0, tamanho)) {
+                return ItemChat.TIPO_IMAGEM;
+            }
+        }
+        return ItemChat.TIPO_ARQUIVO;
+    }
+
+    // ============================================================
+    // IDS PARA DEDUPLICAÇÃO
+    // ============================================================
+
+    // Arquivos são identificados pela URL: o aviso do upload (ao vivo) não tem id,
+    // e no histórico o mesmo arquivo pode vir das tabelas ChatFiles e Mensagens.
+    public static long chaveDe(int idServidor, String conteudo) {
+        if (isArquivo(conteudo)) {
+            return FAIXA_ARQUIVO | (hash64(conteudoDe(conteudo)) & VALOR);
+        }
+        return idServidor > 0 ? chaveTexto(idServidor) : JanelaIds.SEM_ID;
+    }
+
+    public static long chaveTexto(int idServidor) {
+        return FAIXA_TEXTO | idServidor;
+    }
+
+    public static long chaveEnvio(String clientId) {
+        return FAIXA_ENVIO | (hash64(clientId) & VALOR);
+    }
+
+    // FNV-1a de 64 bits
+    static long hash64(String texto) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < texto.length(); i++) {
+            h ^= texto.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return h;
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.appsuportecliente;
+
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+
+/**
+ * Datas e durações no formato da API, convertidas uma vez na leitura do JSON
+ * (ou do banco local) para números: os modelos guardam milissegundos desde
+ * 1970 e segundos, não as strings.
+ *
+ * A API envia datas como "yyyy-MM-dd HH:mm:ss" no horário local do servidor
+ * e durações como "hh:mm:ss".
+ */
+public final class DatasApi {
+
+    // Valor guardado quando a data não veio (ou veio em outro formato)
+    public static final long SEM_DATA = 0;
+
+    // Valor guardado quando a duração não veio
+    public static final int SEM_DURACAO = -1;
+
+    private static final DateTimeFormatter TEXTO = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss", Locale.ROOT);
+    private static final DateTimeFormatter HORA = DateTimeFormatter.ofPattern("HH:mm", Locale.ROOT);
+
+    private DatasApi() {
+    }
+
+    // ============================================================
+    // DATAS
+    // ============================================================
+
+    // "yyyy-MM-dd HH:mm:ss" em milissegundos desde 1970. Aceita também "T" no
+    // lugar do espaço e frações de segundo (ignoradas). SEM_DATA se não estiver nesse formato.
+    public static long epochDe(String data) {
+        if (data == null || data.length() < 16) return SEM_DATA;
+
+        try {
+            int segundo = data.length() >= 19 ? digitos(data, 17, 2) : 0;
+            return LocalDateTime.of(digitos(data, 0, 4), digitos(data, 5, 2), digitos(data, 8, 2),
+                            digitos(data, 11, 2), digitos(data, 14, 2), segundo)
+                    .atZone(ZoneId.systemDefault())
+                    .toInstant()
+                    .toEpochMilli();
+        } catch (DateTimeException e) {
+            return SEM_DATA;
+        }
+    }
+
+    // Volta ao formato da API (banco local, parâmetros de consulta). null para SEM_DATA.
+    public static String texto(long epoch) {
+        return epoch == SEM_DATA ? null : TEXTO.format(Instant.ofEpochMilli(epoch).atZone(ZoneId.systemDefault()));
+    }
+
+    // Horário exibido na bolha do chat (ex: "14:32")
+    public static String horaDe(long epoch) {
+        return HORA.format(Instant.ofEpochMilli(epoch).atZone(ZoneId.systemDefault()));
+    }
+
+    // ============================================================
+    // DURAÇÕES
+    // ============================================================
+
+    // "hh:mm:ss" em segundos (SEM_DURACAO se não estiver nesse formato)
+    public static int segundosDe(String duracao) {
+        if (duracao == null) return SEM_DURACAO;
+
+        int fimHoras = duracao.indexOf(':');
+        if (fimHoras < 1 || duracao.length() != fimHoras + 6) return SEM_DURACAO;
+
+        try {
+            return digitos(duracao, 0, fimHoras) * 3600
+                    + digitos(duracao, fimHoras + 1, 2) * 60
+                    + digitos(duracao, fimHoras + 4, 2);
+        } catch (DateTimeException e) {
+            return SEM_DURACAO;
+        }
+    }
+
+    public static String textoDuracao(int segundos) {
+        if (segundos < 0) return null;
+        return String.format(Locale.ROOT, "%02d:%02d:%02d", segundos / 3600, segundos / 60 % 60, segundos % 60);
+    }
+
+    private static int digitos(String texto, int inicio, int quantidade) {
+        int valor = 0;
+        for (int i = inicio; i < inicio + quantidade; i++) {
+            char c = texto.charAt(i);
+            if (c < '0' || c > '9') throw new DateTimeException("Valor inválido: " + texto);
+            valor = valor * 10 + (c - '0');
+        }
+        return valor;
+    }
+}
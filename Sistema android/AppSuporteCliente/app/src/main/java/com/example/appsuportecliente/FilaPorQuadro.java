@@ -0,0 +1,86 @@
+package com.example.appsuportecliente;
+
+import android.view.Choreographer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Fila limitada que entrega os itens à thread principal uma vez por quadro.
+ *
+ * Os produtores (ex: eventos do SignalR) enfileiram de qualquer thread; no
+ * próximo quadro do Choreographer a fila é esvaziada (até maxPorQuadro itens)
+ * e o consumidor recebe tudo de uma vez, para uma única atualização da tela.
+ *
+ * Contrapressão: com a fila cheia, o produtor espera até esperaMaximaMs.
+ * Se mesmo assim não houver espaço, enfileirar() devolve false e o item
+ * fica com o produtor (ex: buscar depois pelo sincronismo).
+ */
+public final class FilaPorQuadro<T> {
+
+    public interface Consumidor<T> {
+        void consumir(List<T> lote);
+    }
+
+    private final ArrayBlockingQueue<T> fila;
+    private final int maxPorQuadro;
+    private final long esperaMaximaMs;
+    private final Consumidor<T> consumidor;
+
+    private final Choreographer choreographer;
+    private final Choreographer.FrameCallback aoQuadro = tempo -> drenar();
+    private final AtomicBoolean agendado = new AtomicBoolean();
+    private volatile boolean encerrada;
+
+    // Deve ser criada na thread principal (o Choreographer é o da thread que cria)
+    public FilaPorQuadro(int capacidade, int maxPorQuadro, long esperaMaximaMs, Consumidor<T> consumidor) {
+        this.fila = new ArrayBlockingQueue<>(capacidade);
+        this.maxPorQuadro = maxPorQuadro;
+        this.esperaMaximaMs = esperaMaximaMs;
+        this.consumidor = consumidor;
+        this.choreographer = Choreographer.getInstance();
+    }
+
+    // Pode bloquear (até esperaMaximaMs) enquanto a fila estiver cheia
+    public boolean enfileirar(T item) {
+        if (encerrada) return false;
+
+        try {
+            if (!fila.offer(item, esperaMaximaMs, TimeUnit.MILLISECONDS)) return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+
+        agendar();
+        return true;
+    }
+
+    // Descarta o que estiver na fila e para de entregar (ex: tela destruída)
+    public void encerrar() {
+        encerrada = true;
+        fila.clear();
+        choreographer.removeFrameCallback(aoQuadro);
+    }
+
+    // Um único callback pendente por vez, não importa quantos itens cheguem
+    private void agendar() {
+        if (agendado.compareAndSet(false, true)) choreographer.postFrameCallback(aoQuadro);
+    }
+
+    private void drenar() {
+        agendado.set(false);
+        if (encerrada) return;
+
+        List<T> lote = new ArrayList<>(Math.min(fila.size(), maxPorQuadro));
+        fila.drainTo(lote, maxPorQuadro);
+
+        // O que passou do limite fica para o próximo quadro
+        if (!fila.isEmpty()) agendar();
+
+        if (!lote.isEmpty()) consumidor.consumir(lote);
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.appsuportecliente;
+
+/**
+ * Histograma de valores inteiros positivos com precisão relativa fixa
+ * (no estilo do HdrHistogram), para calcular percentis sem guardar as amostras.
+ *
+ * Valores menores que 32 têm uma faixa cada. Acima disso, cada potência de 2
+ * é dividida em 16 faixas, então o valor devolvido por {@link #percentil}
+ * erra no máximo 1/16 (~6%) para cima. A memória é fixa (~4 KB),
+ * não importa quantos valores sejam registrados.
+ *
+ * Thread-safe.
+ */
+public final class Histograma {
+
+    // Faixas por potência de 2 = 2^(BITS-1)
+    private static final int BITS = 5;
+    private static final int SUB = 1 << BITS;      // 32
+    private static final int METADE = SUB >> 1;    // 16
+
+    // Maior potência de 2 coberta (valores acima contam na última faixa)
+    private static final int MAIOR_EXPOENTE = 32;
+
+    private final long[] contagens = new long[indice(Long.MAX_VALUE) + 1];
+    private long total;
+    private long minimo = Long.MAX_VALUE;
+    private long maximo;
+    private long soma;
+
+    public synchronized void registrar(long valor) {
+        if (valor < 0) valor = 0;
+
+        contagens[indice(valor)]++;
+        total++;
+        soma += valor;
+        if (valor < minimo) minimo = valor;
+        if (valor > maximo) maximo = valor;
+    }
+
+    public synchronized long getTotal() {
+        return total;
+    }
+
+    public synchronized long getMaximo() {
+        return maximo;
+    }
+
+    public synchronized long getMinimo() {
+        return total > 0 ? minimo : 0;
+    }
+
+    public synchronized double getMedia() {
+        return total > 0 ? (double) soma / total : 0;
+    }
+
+    // Menor valor v tal que pelo menos p% das amostras são <= v (0 se vazio).
+    // Devolve o limite superior da faixa, nunca mais que o máximo registrado.
+    public synchronized long percentil(double p) {
+        if (total == 0) return 0;
+
+        long alvo = Math.max(1, (long) Math.ceil(total * p / 100.0));
+        long acumulado = 0;
+        for (int i = 0; i < contagens.length; i++) {
+            acumulado += contagens[i];
+            if (acumulado >= alvo) return Math.min(limiteSuperior(i), maximo);
+        }
+        return maximo;
+    }
+
+    // ============================================================
+    // FAIXAS
+    // ============================================================
+
+    static int indice(long valor) {
+        if (valor < SUB) return (int) valor;
+
+        int expoente = Math.min(63 - Long.numberOfLeadingZeros(valor), MAIOR_EXPOENTE);
+        if (expoente == MAIOR_EXPOENTE) return SUB + (MAIOR_EXPOENTE - BITS) * METADE;
+
+        // valor >> deslocamento fica entre 16 e 31: a faixa dentro da potência de 2
+        int deslocamento = expoente - (BITS - 1);
+        return SUB + (expoente - BITS) * METADE + (int) ((valor >> deslocamento) - METADE);
+    }
+
+    static long limiteSuperior(int indice) {
+        if (indice < SUB) return indice;
+
+        int faixa = indice - SUB;
+        int expoente = BITS + faixa / METADE;
+        if (expoente >= MAIOR_EXPOENTE) return Long.MAX_VALUE;
+
+        int deslocamento = expoente - (BITS - 1);
+        long inicio = (long) (METADE + faixa % METADE) << deslocamento;
+        return inicio + (1L << deslocamento) - 1;
+    }
+}
@@ -3,17 +3,9 @@ package com.example.appsuportecliente;
 import androidx.appcompat.app.AppCompatActivity;
 import android.os.Bundle;
 import android.widget.ImageView;
-import android.graphics.BitmapFactory;
-import android.graphics.Bitmap;
-import android.util.Log;
-
-import java.net.URL;
 
 public class ImageViewActivity extends AppCompatActivity {
 
-    // TAG utilizada para logs de debug e erros
-    private static final String TAG = "IMAGE_VIEW";
-
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
@@ -28,29 +20,19 @@ public class ImageViewActivity extends AppCompatActivity {
         // Verifica se a URL é válida
         if (imageUrl != null && !imageUrl.isEmpty()) {
 
-            // Cria uma nova thread para carregar a imagem
-            // Isso evita travar a UI (thread principal)
-            new Thread(() -> {
-                try {
-                    // Converte o texto da URL em um objeto URL
-                    URL url = new URL(imageUrl);
-
-                    // Faz o download da imagem e transforma em Bitmap
-                    Bitmap bitmap = BitmapFactory.decodeStream(
-                            url.openConnection().getInputStream()
-                    );
-
-                    // Atualiza o ImageView na UI Thread
-                    runOnUiThread(() -> imageView.setImageBitmap(bitmap));
-
-                } catch (Exception e) {
-                    // Erro ao carregar a imagem
-                    Log.e(TAG, "❌ Erro ao carregar imagem: " + e.getMessage(), e);
-                }
-            }).start();
+            // Carrega em segundo plano (com cache), reduzida ao tamanho da tela
+            ImagemLoader.carregarAjustada(imageUrl, imageView, this);
         }
 
         // Fecha a Activity quando o usuário clicar na imagem
         imageView.setOnClickListener(v -> finish());
     }
+
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+
+        // Cancela o download se a tela fechar antes de terminar
+        ImagemLoader.cancelarTudo(this);
+    }
 }
@@ -0,0 +1,97 @@
+package com.example.appsuportecliente;
+
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+import android.widget.ImageView;
+
+import androidx.annotation.NonNull;
+
+import com.squareup.picasso.LruCache;
+import com.squareup.picasso.OkHttp3Downloader;
+import com.squareup.picasso.Picasso;
+
+import java.io.File;
+
+import okhttp3.Cache;
+import okhttp3.OkHttpClient;
+
+/**
+ * Carregamento de imagens do chat (anexos), usando o Picasso.
+ *
+ * - cache em memória (LRU) limitado a uma fração do heap;
+ * - cache em disco (OkHttp) limitado em bytes;
+ * - a imagem é decodificada já reduzida ao tamanho da view;
+ * - as requisições são canceladas quando a view é reciclada ou a Activity fecha.
+ */
+public class ImagemLoader {
+
+    private static final long CACHE_DISCO_BYTES = 50L * 1024 * 1024; // 50 MB
+
+    private static LruCache memoria;
+
+    // Configura a instância global do Picasso (chamado pelo SuporteApplication)
+    public static synchronized void init(@NonNull Context context) {
+        if (memoria != null) return;
+
+        Context app = context.getApplicationContext();
+
+        // 1/8 do heap disponível para bitmaps em memória
+        int bytesMemoria = (int) (Runtime.getRuntime().maxMemory() / 8);
+        memoria = new LruCache(bytesMemoria);
+
+        // Reaproveita o pool e o dispatcher do cliente compartilhado, só com cache em disco
+        OkHttpClient clienteImagens = RetrofitClient.getHttpClient().newBuilder()
+                .cache(new Cache(new File(app.getCacheDir(), "imagens"), CACHE_DISCO_BYTES))
+                .build();
+
+        Picasso picasso = new Picasso.Builder(app)
+                .memoryCache(memoria)
+                .downloader(new OkHttp3Downloader(clienteImagens))
+                .build();
+
+        Picasso.setSingletonInstance(picasso);
+    }
+
+    // Carrega a miniatura de um anexo, reduzida para caber em tamanhoPx x tamanhoPx.
+    // "tag" agrupa as requisições (ex: a Activity) para cancelar todas de uma vez.
+    public static void carregarMiniatura(String url, ImageView destino, int tamanhoPx, Object tag) {
+        Picasso.get()
+                .load(url)
+                .resize(tamanhoPx, tamanhoPx)
+                .centerInside()
+                .onlyScaleDown()
+                .tag(tag)
+                .into(destino);
+    }
+
+    // Carrega a imagem ajustada ao tamanho da própria view (ex: tela cheia)
+    public static void carregarAjustada(String url, ImageView destino, Object tag) {
+        Picasso.get()
+                .load(url)
+                .fit()
+                .centerInside()
+                .onlyScaleDown()
+                .tag(tag)
+                .into(destino);
+    }
+
+    // Cancela a requisição pendente de uma view (ex: bolha que saiu da tela)
+    public static void cancelar(ImageView destino) {
+        Picasso.get().cancelRequest(destino);
+    }
+
+    // Cancela todas as requisições de uma tag (ex: Activity destruída)
+    public static void cancelarTudo(Object tag) {
+        Picasso.get().cancelTag(tag);
+    }
+
+    // Libera o cache em memória quando o sistema pede (onTrimMemory)
+    public static void aoReduzirMemoria(int nivel) {
+        if (memoria == null) return;
+
+        // RUNNING_LOW e acima: memória apertada ou app em segundo plano
+        if (nivel >= ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW) {
+            memoria.clear();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.appsuportecliente;
+
+/**
+ * Conjunto limitado com os últimos ids vistos (janela deslizante).
+ *
+ * Guarda só long primitivos: um anel com a ordem de chegada e uma tabela
+ * de espalhamento com endereçamento aberto para a consulta. Quando a janela
+ * enche, o id mais antigo sai. Memória fixa (~24 bytes por posição),
+ * sem objetos por id. Não é thread-safe.
+ */
+public final class JanelaIds {
+
+    // 0 marca posição livre na tabela: não é um id válido
+    public static final long SEM_ID = 0;
+
+    private final long[] anel;
+    private int inicio;
+    private int tamanho;
+
+    private final long[] tabela;
+    private final int mascara;
+
+    public JanelaIds(int capacidade) {
+        if (capacidade < 1) throw new IllegalArgumentException("capacidade < 1");
+        anel = new long[capacidade];
+
+        // Potência de 2 com pelo menos o dobro da capacidade (ocupação máxima de 50%)
+        int posicoes = Integer.highestOneBit(capacidade * 2 - 1) << 1;
+        tabela = new long[Math.max(2, posicoes)];
+        mascara = tabela.length - 1;
+    }
+
+    public boolean contem(long id) {
+        if (id == SEM_ID) return false;
+        for (int i = posicao(id); tabela[i] != SEM_ID; i = (i + 1) & mascara) {
+            if (tabela[i] == id) return true;
+        }
+        return false;
+    }
+
+    // Registra o id. Retorna false se ele já estava na janela.
+    // SEM_ID nunca é considerado repetido (mensagem sem id é sempre aceita).
+    public boolean adicionar(long id) {
+        if (id == SEM_ID) return true;
+        if (contem(id)) return false;
+
+        if (tamanho == anel.length) {
+            // Cheia: o mais antigo dá lugar ao novo
+            remover(anel[inicio]);
+            anel[inicio] = id;
+            inicio = (inicio + 1) % anel.length;
+        } else {
+            anel[(inicio + tamanho) % anel.length] = id;
+            tamanho++;
+        }
+
+        int i = posicao(id);
+        while (tabela[i] != SEM_ID) i = (i + 1) & mascara;
+        tabela[i] = id;
+        return true;
+    }
+
+    public int tamanho() {
+        return tamanho;
+    }
+
+    // Tira o id da tabela e puxa para trás os que estavam depois dele na
+    // mesma sequência, para as buscas continuarem achando todos
+    private void remover(long id) {
+        int i = posicao(id);
+        while (tabela[i] != id) {
+            if (tabela[i] == SEM_ID) return;
+            i = (i + 1) & mascara;
+        }
+
+        int j = i;
+        while (true) {
+            j = (j + 1) & mascara;
+            if (tabela[j] == SEM_ID) break;
+
+            // Posição ideal do item em j: se estiver no trecho (i, j] ele continua alcançável
+            int k = posicao(tabela[j]);
+            boolean alcancavel = i <= j ? (i < k && k <= j) : (i < k || k <= j);
+            if (alcancavel) continue;
+
+            tabela[i] = tabela[j];
+            i = j;
+        }
+        tabela[i] = SEM_ID;
+    }
+
+    private int posicao(long id) {
+        long h = id * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mascara;
+    }
+}
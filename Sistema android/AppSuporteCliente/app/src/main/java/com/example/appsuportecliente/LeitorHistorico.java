@@ -0,0 +1,163 @@
+package com.example.appsuportecliente;
+
+import com.example.appsuportecliente.model.Mensagem;
+import com.google.gson.stream.JsonReader;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.function.BooleanSupplier;
+
+import okhttp3.HttpUrl;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.ForwardingSource;
+import okio.Okio;
+import okio.Source;
+
+/**
+ * Leitura em streaming da resposta de Tickets/VisualizarChatMobile.
+ *
+ * As mensagens são entregues uma a uma ao {@link Receptor} enquanto o JSON
+ * ainda está chegando da rede: não existe String com a resposta inteira
+ * nem árvore JSON em memória.
+ */
+public final class LeitorHistorico {
+
+    // Recebe cada mensagem assim que ela termina de ser lida
+    public interface Receptor {
+        void receber(Mensagem mensagem);
+    }
+
+    // Campos da resposta fora da lista de mensagens
+    public static final class Resultado {
+        public boolean success;
+        public String cursorAnterior;   // null = início da conversa (ou resposta não paginada)
+        public int total;               // mensagens entregues ao receptor
+        public long bytes;              // bytes do corpo lidos (só em buscar())
+        public boolean interrompido;    // parou no limite de bytes: faltam mensagens depois da última
+    }
+
+    private LeitorHistorico() {
+    }
+
+    // URL base do histórico do ticket (Tickets/VisualizarChatMobile/{id})
+    public static HttpUrl.Builder url(String baseUrl, int ticketId) {
+        return HttpUrl.get(baseUrl).newBuilder()
+                .addPathSegments("Tickets/VisualizarChatMobile")
+                .addPathSegment(String.valueOf(ticketId));
+    }
+
+    // Faz a requisição e entrega as mensagens ao receptor conforme chegam
+    // (o Reader decodifica no charset da resposta, então caracteres UTF-8
+    // de vários bytes nunca são cortados ao meio). Bloqueia: chamar fora da thread principal.
+    public static Resultado buscar(OkHttpClient client, HttpUrl url, int ticketId, Receptor receptor)
+            throws IOException {
+        return buscar(client, url, ticketId, Long.MAX_VALUE, receptor);
+    }
+
+    // Igual, mas para de ler quando o corpo passa de maxBytes (ex: orçamento do
+    // pré-carregamento). As mensagens já entregues valem: como vêm em ordem de
+    // envio, o próximo "desde" continua a partir da última delas.
+    public static Resultado buscar(OkHttpClient client, HttpUrl url, int ticketId, long maxBytes,
+                                   Receptor receptor) throws IOException {
+
+        Request request = new Request.Builder().url(url).get().build();
+
+        try (Response resposta = client.newCall(request).execute()) {
+            if (!resposta.isSuccessful() || resposta.body() == null) {
+                throw new IOException("HTTP " + resposta.code() + " ao buscar histórico");
+            }
+
+            ResponseBody corpo = resposta.body();
+            MediaType tipo = corpo.contentType();
+            Charset charset = tipo != null ? tipo.charset(StandardCharsets.UTF_8) : StandardCharsets.UTF_8;
+
+            // Conta o que passa pelo leitor (usado no orçamento do pré-carregamento)
+            FonteContada fonte = new FonteContada(corpo.source());
+            Resultado resultado = ler(new InputStreamReader(Okio.buffer(fonte).inputStream(), charset),
+                    ticketId, receptor, () -> fonte.bytes >= maxBytes);
+            resultado.bytes = fonte.bytes;
+            return resultado;
+        }
+    }
+
+    public static Resultado ler(Reader entrada, int ticketId, Receptor receptor) throws IOException {
+        return ler(entrada, ticketId, receptor, () -> false);
+    }
+
+    // "parar" é consultado depois de cada mensagem entregue
+    private static Resultado ler(Reader entrada, int ticketId, Receptor receptor, BooleanSupplier parar)
+            throws IOException {
+        Resultado resultado = new Resultado();
+
+        try (JsonReader reader = new JsonReader(entrada)) {
+            reader.setLenient(true);
+            reader.beginObject();
+
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "success":
+                        resultado.success = reader.nextBoolean();
+                        break;
+
+                    case "mensagens":
+                        reader.beginArray();
+                        while (reader.hasNext()) {
+                            receptor.receber(lerMensagem(reader, ticketId));
+                            resultado.total++;
+                            if (parar.getAsBoolean()) {
+                                resultado.interrompido = true;
+                                return resultado; // fecha o leitor sem baixar o resto
+                            }
+                        }
+                        reader.endArray();
+                        break;
+
+                    case "cursorAnterior":
+                        resultado.cursorAnterior = AdaptadoresJson.lerTexto(reader);
+                        break;
+
+                    default:
+                        reader.skipValue(); // ticket, error...
+                        break;
+                }
+            }
+
+            reader.endObject();
+        }
+
+        return resultado;
+    }
+
+    private static final class FonteContada extends ForwardingSource {
+        long bytes;
+
+        FonteContada(Source fonte) {
+            super(fonte);
+        }
+
+        @Override
+        public long read(Buffer destino, long quantidade) throws IOException {
+            long lidos = super.read(destino, quantidade);
+            if (lidos > 0) bytes += lidos;
+            return lidos;
+        }
+    }
+
+    // Lê um item do array "mensagens" (mesmo adaptador do Retrofit)
+    private static Mensagem lerMensagem(JsonReader reader, int ticketId) throws IOException {
+        Mensagem m = AdaptadoresJson.MENSAGEM.read(reader);
+        m.setTicketId(ticketId);
+
+        // O chat trata conteúdo ausente como texto vazio
+        if (m.getConteudo() == null) m.setConteudo("");
+        return m;
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.appsuportecliente;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+
+/**
+ * Log das requisições HTTP para depuração (só é adicionado em builds debug).
+ *
+ * Diferente do HttpLoggingInterceptor em Level.BODY, não lê o corpo inteiro:
+ * mostra no máximo {@code limite} bytes de cada corpo de texto, e corpos
+ * binários, grandes ou de envio único (uploads) aparecem só com o tamanho.
+ * A resposta é lida com peekBody(), então quem chamou continua recebendo
+ * o corpo completo.
+ */
+public final class LogRede implements Interceptor {
+
+    private static final String TAG = "REDE";
+
+    private final long limite;
+
+    public LogRede(long limite) {
+        this.limite = limite;
+    }
+
+    @NonNull
+    @Override
+    public Response intercept(@NonNull Chain chain) throws IOException {
+        Request request = chain.request();
+        Log.d(TAG, "--> " + request.method() + " " + request.url());
+        if (request.body() != null) Log.d(TAG, descrever(request.body()));
+
+        long inicio = System.nanoTime();
+        Response response;
+        try {
+            response = chain.proceed(request);
+        } catch (IOException e) {
+            Log.d(TAG, "<-- FALHOU " + request.url() + ": " + e);
+            throw e;
+        }
+        long ms = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio);
+
+        Log.d(TAG, "<-- " + response.code() + " " + request.url() + " (" + ms + " ms)");
+        ResponseBody corpo = response.body();
+        if (corpo != null && response.code() != 101) Log.d(TAG, descrever(response, corpo));
+
+        return response;
+    }
+
+    private String descrever(RequestBody corpo) throws IOException {
+        long tamanho = corpo.contentLength();
+
+        if (corpo.isOneShot() || corpo.isDuplex() || tamanho < 0 || tamanho > limite || !isTexto(corpo.contentType())) {
+            return "(corpo de " + (tamanho >= 0 ? tamanho + " bytes" : "tamanho desconhecido") + " omitido)";
+        }
+
+        Buffer buffer = new Buffer();
+        corpo.writeTo(buffer);
+        return buffer.readString(StandardCharsets.UTF_8);
+    }
+
+    private String descrever(Response response, ResponseBody corpo) throws IOException {
+        if (!isTexto(corpo.contentType())) {
+            long tamanho = corpo.contentLength();
+            return "(corpo binário, " + (tamanho >= 0 ? tamanho + " bytes" : "tamanho desconhecido") + ")";
+        }
+
+        // Lê até limite + 1 bytes para saber se o corpo foi cortado
+        ResponseBody inicio = response.peekBody(limite + 1);
+        String texto = inicio.string();
+        if (inicio.contentLength() <= limite) return texto;
+
+        return texto.substring(0, (int) Math.min(texto.length(), limite))
+                + "... (cortado em " + limite + " bytes)";
+    }
+
+    private static boolean isTexto(MediaType tipo) {
+        if (tipo == null) return false;
+        String subtipo = tipo.subtype();
+        return tipo.type().equals("text") || subtipo.contains("json") || subtipo.contains("xml")
+                || subtipo.equals("x-www-form-urlencoded");
+    }
+}
@@ -26,6 +26,25 @@ public class LoginActivity extends AppCompatActivity {
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
+
+        // 🔹 Já abre a conexão com o backend (para o login ou para os chamados)
+        RetrofitClient.aquecerConexao();
+
+        // 🔹 Sessão salva ainda válida: vai direto para os chamados, sem login.
+        // A sessão é lida em segundo plano; até lá a tela fica só com o fundo do tema.
+        SessaoUsuario.get().quandoCarregada(usuario -> {
+            if (isFinishing() || isDestroyed()) return;
+
+            if (usuario != null) {
+                abrirChamados(null);
+            } else {
+                montarTela();
+            }
+        });
+    }
+
+    // Monta o formulário de login (só quando não há sessão salva)
+    private void montarTela() {
         setContentView(R.layout.activity_login);
         // Define qual layout XML será usado por esta tela
 
@@ -86,18 +105,17 @@ public class LoginActivity extends AppCompatActivity {
                         // Mostra a mensagem de sucesso do servidor
                         Toast.makeText(LoginActivity.this, res.getMessage(), Toast.LENGTH_SHORT).show();
 
-                        // 🔹 Salva informações do usuário localmente usando SharedPreferences
-                        getSharedPreferences("UserPrefs", MODE_PRIVATE)
-                                .edit()
-                                .putString("username", res.getUsername() != null ? res.getUsername() : email)
-                                .putString("email", email)
-                                .apply(); // Salva os dados
+                        // 🔹 Salva a sessão (as próximas aberturas do app pulam o login)
+                        String usuario = res.getUsername() != null ? res.getUsername() : email;
+                        SessaoUsuario.get().iniciar(usuario, email);
+
+                        // 🔹 Os chamados já começam a carregar enquanto a próxima tela abre
+                        PreCarregamento.get().iniciar(usuario);
+
+                        // 🔹 A partir daqui os chamados também sincronizam em segundo plano
+                        SincronizacaoWorker.agendar(LoginActivity.this);
 
-                        // 🔹 Abre a próxima Activity (ChamadoActivity)
-                        Intent intent = new Intent(LoginActivity.this, ChamadoActivity.class);
-                        intent.putExtra("redirectUrl", res.getRedirectUrl()); // Envia URL caso exista
-                        startActivity(intent);
-                        finish(); // Finaliza LoginActivity para o usuário não voltar nela pelo botão "Voltar"
+                        abrirChamados(res.getRedirectUrl());
 
                     } else {
                         // Se o login falhou (senha errada, email não existe etc.)
@@ -119,4 +137,12 @@ public class LoginActivity extends AppCompatActivity {
             }
         });
     }
+
+    // 🔹 Abre a próxima Activity (ChamadoActivity)
+    private void abrirChamados(String redirectUrl) {
+        Intent intent = new Intent(LoginActivity.this, ChamadoActivity.class);
+        intent.putExtra("redirectUrl", redirectUrl); // Envia URL caso exista
+        startActivity(intent);
+        finish(); // Finaliza LoginActivity para o usuário não voltar nela pelo botão "Voltar"
+    }
 }
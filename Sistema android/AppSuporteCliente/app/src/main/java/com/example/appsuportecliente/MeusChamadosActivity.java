@@ -1,24 +1,28 @@
 package com.example.appsuportecliente;
 
-import android.annotation.SuppressLint;
 import android.content.Intent;
 import android.os.Bundle;
 import android.util.Log;
 import android.view.View;
-import android.widget.Button;
-import android.widget.LinearLayout;
 import android.widget.ProgressBar;
 import android.widget.TextView;
 import android.widget.Toast;
 
 import androidx.annotation.NonNull;
 import androidx.appcompat.app.AppCompatActivity;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
 
+import com.example.appsuportecliente.model.ChamadoAtualizado;
 import com.example.appsuportecliente.model.ReabrirResponse;
 import com.example.appsuportecliente.model.Ticket;
 import com.example.appsuportecliente.model.TicketWrapper;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import retrofit2.Call;
 import retrofit2.Callback;
@@ -27,30 +31,73 @@ import retrofit2.Response;
 /**
  * Activity responsável por listar os chamados de um usuário
  * e permitir visualizar ou reabrir um ticket.
+ *
+ * Os chamados chegam em páginas: a próxima é pedida quando o usuário
+ * rola perto do fim da lista. Cada página também é gravada no aparelho,
+ * para a busca local (BuscaActivity) encontrá-la mesmo sem rede.
+ * Ao abrir, a lista já mostra os chamados guardados no aparelho (pela
+ * sincronização em segundo plano ou por uma visita anterior) enquanto a
+ * primeira página do servidor não chega.
+ *
+ * Enquanto a lista está visível, o hub avisa (SessaoChat.acompanharChamados)
+ * quando um chamado muda de status ou de técnico ou recebe mensagem nova: só o
+ * card daquele chamado é trocado, sem recarregar a lista. Depois de uma queda
+ * da conexão, a primeira página é buscada de novo para cobrir o que se perdeu.
  */
 public class MeusChamadosActivity extends AppCompatActivity {
 
-    private LinearLayout containerChamados; // Container onde os cards dos chamados serão inseridos
+    static final int TAMANHO_PAGINA = 20;          // Chamados por página (também usado no pré-carregamento)
+    private static final int LIMIAR_PROXIMA = 5;   // Itens do fim em que a próxima página já é pedida
+
+    private RecyclerView recyclerChamados;  // Lista (reciclada) dos cards de chamados
+    private ChamadosAdapter adapter;        // Adapter dos cards
     private ProgressBar progressBar;        // Barra de progresso exibida durante o carregamento
     private TextView txtSemChamados;        // Texto exibido quando não há chamados
     private String usuario;                 // Nome do usuário logado
     private static final String TAG = "DEBUG_CHAMADOS"; // Tag usada nos logs
 
+    // Estado da paginação
+    private final List<Ticket> chamados = new ArrayList<>(); // Chamados já carregados
+    private Integer proximoCursor;          // Cursor da próxima página (null = primeira)
+    private boolean temMais = true;         // false depois da última página
+    private boolean carregando = false;     // Evita pedir a mesma página duas vezes
+    private boolean recebeuDoServidor = false; // false = lista vazia ou só com a cópia do aparelho
+    private Call<TicketWrapper> chamadaAtual;
+    private Call<TicketWrapper> chamadaReconciliacao;
+
+    // Avisos do hub sobre os chamados do usuário (chegam na thread do SignalR)
+    private final Tarefas.Escopo tarefas = Tarefas.escopo(this);
+    private final SessaoChat.OuvinteChamados ouvinteChamados = new SessaoChat.OuvinteChamados() {
+        @Override
+        public void aoAtualizar(ChamadoAtualizado aviso) {
+            tarefas.naUi(() -> aplicarAviso(aviso));
+        }
+
+        @Override
+        public void aoReconectar() {
+            tarefas.naUi(() -> reconciliar());
+        }
+    };
+
+    // Primeira página vinda do PreCarregamento (buscada antes desta tela abrir)
+    private final PreCarregamento.Receptor primeiraPaginaPronta = this::aoReceberPreCarregada;
+
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_meus_chamados);
 
         // Ligação com os elementos do layout
-        containerChamados = findViewById(R.id.containerChamados);
+        recyclerChamados = findViewById(R.id.recyclerChamados);
         progressBar = findViewById(R.id.progressBar);
         txtSemChamados = findViewById(R.id.txtSemChamados);
+        findViewById(R.id.btnBuscar).setOnClickListener(v ->
+                startActivity(new Intent(this, BuscaActivity.class)));
 
-        // Recupera o nome do usuário salvo no login
-        usuario = getSharedPreferences("UserPrefs", MODE_PRIVATE)
-                .getString("username", null);
+        // Recupera o nome do usuário da sessão (já lida em segundo plano)
+        usuario = SessaoUsuario.get().getUsuario();
 
-        Log.d(TAG, "👤 Usuário logado (SharedPreferences): " + usuario);
+        Log.d(TAG, "👤 Usuário logado (sessão): " + usuario);
         Toast.makeText(this, "Usuário logado: " + usuario, Toast.LENGTH_SHORT).show();
 
         // Valida usuário
@@ -61,57 +108,72 @@ public class MeusChamadosActivity extends AppCompatActivity {
             return;
         }
 
-        // Carrega os chamados do usuário
+        // Lista com paginação: ao chegar perto do fim, pede a próxima página
+        LinearLayoutManager layoutManager = new LinearLayoutManager(this);
+        recyclerChamados.setLayoutManager(layoutManager);
+        adapter = new ChamadosAdapter(new ChamadosAdapter.AcoesChamado() {
+            @Override
+            public void reabrir(Ticket ticket) {
+                reabrirChamado(ticket);
+            }
+
+            @Override
+            public void visualizar(Ticket ticket) {
+                visualizarChamado(ticket);
+            }
+        });
+        recyclerChamados.setAdapter(adapter);
+        recyclerChamados.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(@NonNull RecyclerView rv, int dx, int dy) {
+                if (dy <= 0) return;
+                int ultimo = layoutManager.findLastVisibleItemPosition();
+                if (ultimo >= adapter.getItemCount() - LIMIAR_PROXIMA) {
+                    carregarChamados();
+                }
+            }
+        });
+
+        // Mostra o que já está no aparelho e carrega a primeira página do servidor
+        mostrarCopiaLocal();
         carregarChamados();
     }
 
     /**
-     * Realiza a chamada à API para buscar os chamados do usuário.
+     * Realiza a chamada à API para buscar a próxima página de chamados do usuário.
      */
     private void carregarChamados() {
-        progressBar.setVisibility(View.VISIBLE);  // Mostra carregamento
-        containerChamados.removeAllViews();       // Limpa lista antiga
+        if (carregando || !temMais) return;
+        carregando = true;
+
+        boolean primeiraPagina = !recebeuDoServidor;
+        if (chamados.isEmpty()) progressBar.setVisibility(View.VISIBLE); // Mostra carregamento
         txtSemChamados.setVisibility(View.GONE);  // Esconde texto de vazio
 
-        ApiService api = RetrofitClient.getInstance().create(ApiService.class);
-        Call<TicketWrapper> call = api.listarChamados(usuario);
+        // Primeira página já buscada (ou sendo buscada) desde a abertura do app
+        if (primeiraPagina && proximoCursor == null
+                && PreCarregamento.get().usarPrimeiraPagina(usuario, primeiraPaginaPronta)) {
+            Log.d(TAG, "🔹 Usando a primeira página pré-carregada");
+            return;
+        }
+
+        ApiService api = RetrofitClient.getApiService();
+        chamadaAtual = api.listarChamadosPaginado(usuario, proximoCursor, TAMANHO_PAGINA);
 
-        Log.d(TAG, "🔹 Chamando API: listarChamados(" + usuario + ")");
+        Log.d(TAG, "🔹 Chamando API: listarChamadosPaginado(" + usuario + ", cursor=" + proximoCursor + ")");
 
         // Faz a requisição assíncrona
-        call.enqueue(new Callback<TicketWrapper>() {
+        chamadaAtual.enqueue(new Callback<TicketWrapper>() {
             @Override
             public void onResponse(@NonNull Call<TicketWrapper> call,
                                    @NonNull Response<TicketWrapper> response) {
 
+                carregando = false;
                 progressBar.setVisibility(View.GONE); // Oculta loading
 
-                if (response.isSuccessful() && response.body() != null) {
-
-                    TicketWrapper wrapper = response.body();
+                if (response.isSuccessful() && response.body() != null && response.body().isSuccess()) {
 
-                    // Verifica se encontrou chamados
-                    if (wrapper.isSuccess() && wrapper.getTickets() != null &&
-                            !wrapper.getTickets().isEmpty()) {
-
-                        List<Ticket> chamados = wrapper.getTickets();
-                        Log.d(TAG, "✅ " + chamados.size() + " chamados recebidos do servidor.");
-
-                        // Adiciona cada chamado no layout
-                        for (Ticket ticket : chamados) {
-                            Log.d(TAG, "📦 Ticket -> ID=" + ticket.getId()
-                                    + ", Título=" + ticket.getTitle()
-                                    + ", Técnico=" + ticket.getTecnico()
-                                    + ", Status=" + ticket.getStatus());
-
-                            adicionarChamado(ticket);
-                        }
-
-                    } else {
-                        // Nenhum chamado encontrado
-                        txtSemChamados.setVisibility(View.VISIBLE);
-                        Log.w(TAG, "⚠️ Nenhum chamado encontrado ou wrapper inválido.");
-                    }
+                    exibirPagina(response.body());
 
                 } else {
                     // Erro HTTP
@@ -125,7 +187,10 @@ public class MeusChamadosActivity extends AppCompatActivity {
             public void onFailure(@NonNull Call<TicketWrapper> call,
                                   @NonNull Throwable t) {
 
+                carregando = false;
                 progressBar.setVisibility(View.GONE);
+                if (call.isCanceled()) return;
+
                 Toast.makeText(MeusChamadosActivity.this,
                         "Falha: " + t.getMessage(), Toast.LENGTH_LONG).show();
                 Log.e(TAG, "❌ Falha na chamada da API", t);
@@ -133,129 +198,272 @@ public class MeusChamadosActivity extends AppCompatActivity {
         });
     }
 
+    // Chamados guardados no aparelho, exibidos até a primeira página do servidor chegar
+    private void mostrarCopiaLocal() {
+        ChatDatabase banco = ChatDatabase.getInstance(this);
+        String dono = usuario;
+
+        tarefas.io(Tarefas.Prioridade.VISIVEL, () -> {
+            List<Ticket> locais = banco.listarChamados(dono, TAMANHO_PAGINA);
+
+            tarefas.naUi(() -> {
+                if (recebeuDoServidor || locais.isEmpty()) return;
+
+                Log.d(TAG, "📦 " + locais.size() + " chamados do aparelho exibidos");
+                chamados.addAll(locais);
+                progressBar.setVisibility(View.GONE);
+                adapter.submitList(new ArrayList<>(chamados));
+            });
+        });
+    }
+
+    // Página pré-carregada chegou (null = o pré-carregamento falhou: busca normal)
+    private void aoReceberPreCarregada(TicketWrapper wrapper) {
+        carregando = false;
+        progressBar.setVisibility(View.GONE);
+
+        if (wrapper == null) {
+            carregarChamados();
+        } else {
+            exibirPagina(wrapper);
+        }
+    }
+
+    // Adiciona uma página recebida no fim da lista
+    private void exibirPagina(TicketWrapper wrapper) {
+        List<Ticket> pagina = wrapper.getTickets() != null
+                ? wrapper.getTickets() : new ArrayList<>();
+
+        Log.d(TAG, "✅ " + pagina.size() + " chamados recebidos do servidor.");
+
+        proximoCursor = wrapper.getProximoCursor();
+        temMais = proximoCursor != null;
+
+        if (!recebeuDoServidor) {
+            recebeuDoServidor = true;
+
+            // Primeira página: adianta o histórico dos chats mais prováveis
+            PreCarregamento.get().preCarregarConversas(pagina);
+
+            // Substitui a cópia do aparelho, mantendo os avisos de mensagem nova
+            for (Ticket t : pagina) {
+                int posicao = posicaoDe(t.getId());
+                if (posicao >= 0) t.setMensagemNova(chamados.get(posicao).getMensagemNova());
+            }
+            chamados.clear();
+        }
+
+        // Guarda no aparelho (e no índice de busca)
+        ChatDatabase banco = ChatDatabase.getInstance(this);
+        String dono = usuario;
+        Tarefas.io(Tarefas.Prioridade.FUNDO, () -> banco.salvarChamados(dono, pagina));
+
+        chamados.addAll(pagina);
+        adapter.submitList(new ArrayList<>(chamados), () -> {
+            // Página curta que não enche a tela: sem rolagem não haveria gatilho
+            if (temMais && !recyclerChamados.canScrollVertically(1)) carregarChamados();
+        });
+
+        if (chamados.isEmpty()) {
+            // Nenhum chamado encontrado
+            txtSemChamados.setVisibility(View.VISIBLE);
+            Log.w(TAG, "⚠️ Nenhum chamado encontrado.");
+        }
+    }
+
     /**
-     * Cria dinamicamente um card para um ticket e adiciona ao layout.
+     * 🔄 Reabre o chat de um ticket e abre a ChatActivity.
      */
-    @SuppressLint("SetTextI18n")
-    private void adicionarChamado(Ticket ticket) {
-
-        // Infla o layout do card de chamado
-        View card = getLayoutInflater().inflate(
-                R.layout.item_chamado, containerChamados, false);
-
-        // Referências aos elementos da view
-        TextView txtId = card.findViewById(R.id.txtId);
-        TextView txtStatus = card.findViewById(R.id.txtStatus);
-        TextView txtTitulo = card.findViewById(R.id.txtTitulo);
-        TextView txtDescricao = card.findViewById(R.id.txtDescricao);
-        TextView txtTecnico = card.findViewById(R.id.txtTecnico);
-        TextView txtData = card.findViewById(R.id.txtData);
-        Button btnReabrir = card.findViewById(R.id.btnReabrir);
-        Button btnVisualizar = card.findViewById(R.id.btnVisualizar);
-
-        // Preenche os textos
-        txtId.setText("#" + ticket.getId());
-        txtStatus.setText(ticket.getStatus());
-        txtTitulo.setText(ticket.getTitle());
-        txtDescricao.setText(ticket.getDescription());
-        txtTecnico.setText("👷 Técnico: " +
-                (ticket.getTecnico() != null ? ticket.getTecnico() : "Não atribuído"));
-        txtData.setText("📅 " + ticket.getDataCriacao());
-
-        // Normaliza status
-        String status = ticket.getStatus() != null ?
-                ticket.getStatus().trim().toLowerCase() : "";
-
-        // Configura cor e botões baseado no status
-        switch (status) {
-            case "aberto":
-                txtStatus.setBackgroundResource(R.drawable.bg_status_aberto);
-                btnReabrir.setVisibility(View.GONE);
-                btnVisualizar.setVisibility(View.GONE);
-                break;
-
-            case "em andamento":
-                txtStatus.setBackgroundResource(R.drawable.bg_status_andamento);
-                btnReabrir.setVisibility(View.VISIBLE);
-                btnVisualizar.setVisibility(View.GONE);
-                break;
-
-            case "fechado":
-            case "finalizado":
-            case "encerrado":
-                txtStatus.setBackgroundResource(R.drawable.bg_status_fechado);
-                btnReabrir.setVisibility(View.GONE);
-                btnVisualizar.setVisibility(View.VISIBLE);
-                break;
-
-            default:
-                txtStatus.setBackgroundResource(R.drawable.bg_status_desconhecido);
-                btnReabrir.setVisibility(View.GONE);
-                btnVisualizar.setVisibility(View.GONE);
-                Log.w(TAG, "⚠️ Status desconhecido: " + ticket.getStatus());
-                break;
-        }
+    private void reabrirChamado(Ticket ticket) {
+        Log.d(TAG, "🟢 Reabrindo ticket ID=" + ticket.getId());
 
-        // 🔄 Botão de reabrir ticket
-        btnReabrir.setOnClickListener(v -> {
-            Log.d(TAG, "🟢 Reabrindo ticket ID=" + ticket.getId());
-
-            ApiService api = RetrofitClient.getInstance().create(ApiService.class);
-            Call<ReabrirResponse> call =
-                    api.reabrirChatMobile(ticket.getId(), ticket.getTecnico());
-
-            call.enqueue(new Callback<ReabrirResponse>() {
-                @Override
-                public void onResponse(@NonNull Call<ReabrirResponse> call,
-                                       @NonNull Response<ReabrirResponse> response) {
-
-                    if (response.isSuccessful() && response.body() != null &&
-                            response.body().isSuccess()) {
-
-                        Log.d(TAG, "✅ Ticket reaberto com sucesso. Abrindo ChatActivity...");
-
-                        // Abre a activity de chat
-                        Intent intent = new Intent(
-                                MeusChamadosActivity.this, ChatActivity.class);
-                        intent.putExtra("ticketId", ticket.getId());
-                        intent.putExtra("titulo", ticket.getTitle());
-                        intent.putExtra("usuario", usuario);
-                        intent.putExtra("tecnico", ticket.getTecnico());
-                        intent.putExtra("modoVisualizacao", false);
-                        startActivity(intent);
-
-                    } else {
-                        Toast.makeText(MeusChamadosActivity.this,
-                                "Erro ao reabrir ticket", Toast.LENGTH_SHORT).show();
-                        Log.e(TAG, "❌ Falha ao reabrir ticket: " + response.code());
-                    }
-                }
+        ApiService api = RetrofitClient.getApiService();
+        Call<ReabrirResponse> call =
+                api.reabrirChatMobile(ticket.getId(), ticket.getTecnico());
+
+        call.enqueue(new Callback<ReabrirResponse>() {
+            @Override
+            public void onResponse(@NonNull Call<ReabrirResponse> call,
+                                   @NonNull Response<ReabrirResponse> response) {
 
-                @Override
-                public void onFailure(@NonNull Call<ReabrirResponse> call,
-                                      @NonNull Throwable t) {
+                if (response.isSuccessful() && response.body() != null &&
+                        response.body().isSuccess()) {
+
+                    Log.d(TAG, "✅ Ticket reaberto com sucesso. Abrindo ChatActivity...");
+
+                    // Abre a activity de chat
+                    abrirChat(ticket, false);
+
+                } else {
                     Toast.makeText(MeusChamadosActivity.this,
-                            "Falha: " + t.getMessage(), Toast.LENGTH_LONG).show();
-                    Log.e(TAG, "❌ Erro na chamada reabrirChatMobile", t);
+                            "Erro ao reabrir ticket", Toast.LENGTH_SHORT).show();
+                    Log.e(TAG, "❌ Falha ao reabrir ticket: " + response.code());
                 }
-            });
+            }
+
+            @Override
+            public void onFailure(@NonNull Call<ReabrirResponse> call,
+                                  @NonNull Throwable t) {
+                Toast.makeText(MeusChamadosActivity.this,
+                        "Falha: " + t.getMessage(), Toast.LENGTH_LONG).show();
+                Log.e(TAG, "❌ Erro na chamada reabrirChatMobile", t);
+            }
         });
+    }
+
+    /**
+     * 👁️ Abre a conversa do ticket em modo somente leitura.
+     */
+    private void visualizarChamado(Ticket ticket) {
+        Log.d(TAG, "👁️ Visualizando conversa do ticket ID=" + ticket.getId());
+        abrirChat(ticket, true);
+    }
+
+    private void abrirChat(Ticket ticket, boolean modoVisualizacao) {
+        // A mensagem nova vai ser vista no chat: tira o aviso do card
+        if (ticket.getMensagemNova() > 0) {
+            Ticket visto = ticket.copia();
+            visto.setMensagemNova(0);
+            substituir(Collections.singletonList(visto));
+        }
+
+        Intent intent = new Intent(MeusChamadosActivity.this, ChatActivity.class);
+        intent.putExtra("ticketId", ticket.getId());
+        intent.putExtra("titulo", ticket.getTitle());
+        intent.putExtra("usuario", usuario);
+        intent.putExtra("tecnico", ticket.getTecnico());
+        intent.putExtra("modoVisualizacao", modoVisualizacao);
+        startActivity(intent);
+    }
 
-        // 👁️ Botão de visualizar ticket (modo somente leitura)
-        btnVisualizar.setOnClickListener(v -> {
+    // ============================================================
+    // AVISOS DO HUB
+    // ============================================================
+
+    // Troca só o card do chamado avisado (chamados fora da lista são ignorados:
+    // entram quando a página deles for carregada)
+    private void aplicarAviso(ChamadoAtualizado aviso) {
+        int posicao = posicaoDe(aviso.getTicketId());
+        if (posicao < 0) return;
+
+        Ticket atual = chamados.get(posicao);
+        Ticket novo = atual.copia();
+        novo.setStatus(aviso.getStatus());
+        novo.setTecnico(aviso.getTecnico());
+
+        // Mensagem do próprio usuário (enviada de outro aparelho) não é "nova"
+        if (aviso.isMensagemNova() && (aviso.getAutorMensagem() == null
+                || !aviso.getAutorMensagem().equalsIgnoreCase(usuario))) {
+            long data = DatasApi.epochDe(aviso.getDataMensagem());
+            novo.setMensagemNova(data != DatasApi.SEM_DATA ? data : System.currentTimeMillis());
+        }
+
+        Log.d(TAG, "🔔 Chamado #" + aviso.getTicketId() + " atualizado pelo hub: " + aviso.getStatus());
+        substituir(Collections.singletonList(novo));
+
+        // Status novo também na cópia local (busca)
+        ChatDatabase banco = ChatDatabase.getInstance(this);
+        String dono = usuario;
+        Tarefas.io(Tarefas.Prioridade.FUNDO, () -> banco.salvarChamados(dono, Collections.singletonList(novo)));
+    }
+
+    // Conexão voltou: os avisos da queda se perderam, então a primeira página
+    // (os chamados mais recentes) é buscada de novo e mesclada por id
+    private void reconciliar() {
+        if (chamados.isEmpty() || chamadaReconciliacao != null) return;
+
+        chamadaReconciliacao = RetrofitClient.getApiService()
+                .listarChamadosPaginado(usuario, null, TAMANHO_PAGINA);
+        chamadaReconciliacao.enqueue(new Callback<TicketWrapper>() {
+            @Override
+            public void onResponse(@NonNull Call<TicketWrapper> call,
+                                   @NonNull Response<TicketWrapper> response) {
+                chamadaReconciliacao = null;
+                TicketWrapper corpo = response.body();
+                if (!response.isSuccessful() || corpo == null || !corpo.isSuccess()
+                        || corpo.getTickets() == null) return;
 
-            Log.d(TAG, "👁️ Visualizando conversa do ticket ID=" + ticket.getId());
+                mesclar(corpo.getTickets());
+            }
 
-            Intent intent = new Intent(MeusChamadosActivity.this, ChatActivity.class);
-            intent.putExtra("ticketId", ticket.getId());
-            intent.putExtra("titulo", ticket.getTitle());
-            intent.putExtra("usuario", usuario);
-            intent.putExtra("tecnico", ticket.getTecnico());
-            intent.putExtra("modoVisualizacao", true); // Somente leitura
-            startActivity(intent);
+            @Override
+            public void onFailure(@NonNull Call<TicketWrapper> call, @NonNull Throwable t) {
+                chamadaReconciliacao = null;
+                if (!call.isCanceled()) Log.w(TAG, "⚠️ Reconciliação falhou: " + t.getMessage());
+            }
         });
+    }
+
+    // Chamados novos (abertos enquanto a conexão caiu) vão para o topo; os já
+    // exibidos são trocados, mantendo o aviso de mensagem nova
+    private void mesclar(List<Ticket> primeiraPagina) {
+        List<Ticket> existentes = new ArrayList<>();
+        List<Ticket> novos = new ArrayList<>();
+
+        for (Ticket t : primeiraPagina) {
+            int posicao = posicaoDe(t.getId());
+            if (posicao < 0) {
+                novos.add(t);
+            } else {
+                t.setMensagemNova(chamados.get(posicao).getMensagemNova());
+                existentes.add(t);
+            }
+        }
+
+        chamados.addAll(0, novos);
+        substituir(existentes);
+        if (novos.isEmpty() && existentes.isEmpty()) return;
+
+        txtSemChamados.setVisibility(chamados.isEmpty() ? View.VISIBLE : View.GONE);
+        ChatDatabase banco = ChatDatabase.getInstance(this);
+        String dono = usuario;
+        Tarefas.io(Tarefas.Prioridade.FUNDO, () -> banco.salvarChamados(dono, primeiraPagina));
+    }
+
+    // Troca os chamados pelas versões novas e entrega a lista ao adapter,
+    // que redesenha só os cards que mudaram
+    private void substituir(List<Ticket> atualizados) {
+        Map<Integer, Ticket> porId = new HashMap<>();
+        for (Ticket t : atualizados) porId.put(t.getId(), t);
+
+        for (int i = 0; i < chamados.size(); i++) {
+            Ticket novo = porId.get(chamados.get(i).getId());
+            if (novo != null) chamados.set(i, novo);
+        }
+        adapter.submitList(new ArrayList<>(chamados));
+    }
+
+    private int posicaoDe(int ticketId) {
+        for (int i = 0; i < chamados.size(); i++) {
+            if (chamados.get(i).getId() == ticketId) return i;
+        }
+        return -1;
+    }
+
+    @Override
+    protected void onStart() {
+        super.onStart();
+        if (usuario == null || usuario.isEmpty()) return; // onCreate saiu antes: a tela já está fechando
+
+        // Mantém o hub conectado enquanto a lista está na tela: os cards se
+        // atualizam sozinhos e o chat abre sem esperar o handshake
+        SessaoChat.get().acompanharChamados(usuario, ouvinteChamados);
+    }
+
+    @Override
+    protected void onStop() {
+        super.onStop();
+        if (usuario == null || usuario.isEmpty()) return;
+        SessaoChat.get().deixarDeAcompanharChamados(usuario, ouvinteChamados);
+    }
+
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
 
-        // Adiciona o card ao layout
-        containerChamados.addView(card);
+        // Não entrega página para uma tela que já fechou
+        if (chamadaAtual != null) chamadaAtual.cancel();
+        if (chamadaReconciliacao != null) chamadaReconciliacao.cancel();
+        PreCarregamento.get().desistir(primeiraPaginaPronta);
     }
 }
@@ -0,0 +1,37 @@
+package com.example.appsuportecliente;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Uma única instância de cada nome repetido nos modelos (autor e destinatário
+ * das mensagens, técnico e criador dos chamados, tipo).
+ *
+ * Um chat tem centenas de mensagens com os mesmos dois ou três nomes; sem
+ * isso cada mensagem lida do JSON ou do banco guardava a sua cópia.
+ * Diferente de String.intern(), a tabela é do app e tem tamanho limitado.
+ */
+public final class Nomes {
+
+    // Acima disso, nomes novos não entram (e são devolvidos como vieram)
+    private static final int MAX_NOMES = 4096;
+
+    // Textos mais longos que isso não são nomes (ex: conteúdo de mensagem)
+    private static final int MAX_TAMANHO = 64;
+
+    private static final Map<String, String> TABELA = new ConcurrentHashMap<>();
+
+    private Nomes() {
+    }
+
+    public static String internar(String nome) {
+        if (nome == null || nome.length() > MAX_TAMANHO) return nome;
+
+        String existente = TABELA.get(nome);
+        if (existente != null) return existente;
+
+        if (TABELA.size() >= MAX_NOMES) return nome;
+        existente = TABELA.putIfAbsent(nome, nome);
+        return existente != null ? existente : nome;
+    }
+}
@@ -0,0 +1,262 @@
+package com.example.appsuportecliente;
+
+import android.content.Context;
+import android.net.ConnectivityManager;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.example.appsuportecliente.model.Ticket;
+import com.example.appsuportecliente.model.TicketWrapper;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * Busca em segundo plano, logo que a sessão é conhecida, o que as primeiras
+ * telas vão mostrar:
+ *  - a primeira página de chamados do usuário (entregue ao MeusChamadosActivity
+ *    sem uma nova ida ao servidor, se ainda estiver recente);
+ *  - o início da conversa dos chamados com mais chance de serem abertos, gravado
+ *    no ChatDatabase, para o chat abrir já com as mensagens e só buscar a diferença.
+ *
+ * As conversas são especulativas: só em rede não tarifada e dentro de um
+ * orçamento de bytes por janela de tempo ({@link #ORCAMENTO_BYTES}).
+ */
+public final class PreCarregamento {
+
+    private static final String TAG = "PRE_CARREGAMENTO";
+
+    // Por quanto tempo a primeira página pré-carregada ainda pode ser exibida
+    private static final long VALIDADE_MS = 60_000;
+
+    // Conversas pré-carregadas a cada lista exibida (as de maior prioridade)
+    private static final int CONVERSAS = 3;
+
+    // Bytes de histórico que o pré-carregamento pode baixar por janela
+    private static final long ORCAMENTO_BYTES = 512 * 1024;
+    private static final long JANELA_ORCAMENTO_MS = 15 * 60_000;
+
+    // Conversa sincronizada há menos que isso não é buscada de novo
+    private static final long SINCRONIZADA_MS = 2 * 60_000;
+
+    // Recebe a primeira página de chamados (null = o pré-carregamento falhou). Thread principal.
+    public interface Receptor {
+        void aoReceber(@Nullable TicketWrapper pagina);
+    }
+
+    private static PreCarregamento instancia;
+
+    private final ChatDatabase banco;
+    private final ConnectivityManager rede;
+
+    // Protegidos por "this"
+    private String usuario;
+    private Call<TicketWrapper> chamada;
+    private TicketWrapper pagina;
+    private long recebidaEm;
+    private final List<Receptor> aguardando = new ArrayList<>();
+    private final Map<Integer, Long> sincronizadas = new HashMap<>(); // ticketId -> quando
+    private long bytesGastos;
+    private long inicioJanela;
+
+    private PreCarregamento(ChatDatabase banco, ConnectivityManager rede) {
+        this.banco = banco;
+        this.rede = rede;
+    }
+
+    // Chamado uma vez pelo SuporteApplication
+    public static synchronized void init(Context context) {
+        if (instancia != null) return;
+
+        Context app = context.getApplicationContext();
+        instancia = new PreCarregamento(ChatDatabase.getInstance(app),
+                app.getSystemService(ConnectivityManager.class));
+    }
+
+    public static PreCarregamento get() {
+        if (instancia == null) throw new IllegalStateException("PreCarregamento.init() não foi chamado");
+        return instancia;
+    }
+
+    // ============================================================
+    // API
+    // ============================================================
+
+    // Começa a buscar os dados do usuário (ignora se já está buscando para ele)
+    public synchronized void iniciar(String nomeUsuario) {
+        if (nomeUsuario.equals(usuario) && (chamada != null || recente())) return;
+
+        if (chamada != null) chamada.cancel();
+        usuario = nomeUsuario;
+        pagina = null;
+
+        chamada = RetrofitClient.getApiService()
+                .listarChamadosPaginado(nomeUsuario, null, MeusChamadosActivity.TAMANHO_PAGINA);
+        chamada.enqueue(new Callback<TicketWrapper>() {
+            @Override
+            public void onResponse(@NonNull Call<TicketWrapper> call, @NonNull Response<TicketWrapper> response) {
+                TicketWrapper corpo = response.isSuccessful() && response.body() != null
+                        && response.body().isSuccess() ? response.body() : null;
+                concluir(call, corpo);
+            }
+
+            @Override
+            public void onFailure(@NonNull Call<TicketWrapper> call, @NonNull Throwable t) {
+                if (!call.isCanceled()) Log.w(TAG, "Chamados não pré-carregados: " + t.getMessage());
+                concluir(call, null);
+            }
+        });
+    }
+
+    // Entrega ao receptor a primeira página pré-carregada do usuário: na hora,
+    // se já chegou, ou quando chegar. Retorna false se não houver nenhuma
+    // (ou estiver velha): a tela busca do servidor normalmente.
+    // A página é entregue uma única vez.
+    public boolean usarPrimeiraPagina(String nomeUsuario, Receptor receptor) {
+        TicketWrapper pronta;
+
+        synchronized (this) {
+            if (!nomeUsuario.equals(usuario)) return false;
+
+            if (chamada != null) {
+                aguardando.add(receptor);
+                return true;
+            }
+            if (!recente()) return false;
+
+            pronta = pagina;
+            pagina = null;
+        }
+
+        receptor.aoReceber(pronta);
+        return true;
+    }
+
+    // A tela que estava esperando fechou
+    public synchronized void desistir(Receptor receptor) {
+        aguardando.remove(receptor);
+    }
+
+    // Baixa para o banco local a conversa dos chamados da lista com mais chance
+    // de serem abertos: em andamento, depois abertos, depois os demais, na ordem
+    // da lista. Ignorado em rede tarifada ou com o orçamento de bytes esgotado.
+    public void preCarregarConversas(List<Ticket> tickets) {
+        if (!redeLivre()) return;
+
+        List<Ticket> porPrioridade = new ArrayList<>(tickets);
+        porPrioridade.sort(Comparator.comparingInt(PreCarregamento::prioridade)); // estável
+
+        List<Integer> ids = new ArrayList<>();
+        long agora = SystemClock.elapsedRealtime();
+        synchronized (this) {
+            for (Ticket t : porPrioridade.subList(0, Math.min(CONVERSAS, porPrioridade.size()))) {
+                Long em = sincronizadas.get(t.getId());
+                if (em != null && agora - em < SINCRONIZADA_MS) continue;
+
+                sincronizadas.put(t.getId(), agora);
+                ids.add(t.getId());
+            }
+        }
+        if (ids.isEmpty()) return;
+
+        // Uma tarefa só, em ordem: a conversa mais provável usa o orçamento primeiro
+        Tarefas.io(Tarefas.Prioridade.FUNDO, () -> {
+            for (int ticketId : ids) {
+                if (orcamentoRestante() <= 0) {
+                    Log.d(TAG, "Orçamento de pré-carregamento esgotado");
+                    synchronized (this) {
+                        sincronizadas.remove(ticketId);
+                    }
+                    continue;
+                }
+                sincronizarConversa(ticketId);
+            }
+        });
+    }
+
+    // ============================================================
+    // RESULTADO
+    // ============================================================
+
+    // Chamado na thread principal (callback do Retrofit)
+    private void concluir(Call<TicketWrapper> call, @Nullable TicketWrapper corpo) {
+        List<Receptor> avisar;
+
+        synchronized (this) {
+            if (call != chamada) return; // substituída por outro iniciar()
+            chamada = null;
+
+            avisar = new ArrayList<>(aguardando);
+            aguardando.clear();
+
+            // Quem já estava esperando recebe esta página; senão ela fica guardada
+            pagina = avisar.isEmpty() ? corpo : null;
+            recebidaEm = SystemClock.elapsedRealtime();
+        }
+
+        for (Receptor r : avisar) r.aoReceber(corpo);
+        if (corpo != null && corpo.getTickets() != null) preCarregarConversas(corpo.getTickets());
+    }
+
+    private boolean recente() {
+        return pagina != null && SystemClock.elapsedRealtime() - recebidaEm < VALIDADE_MS;
+    }
+
+    // ============================================================
+    // CONVERSAS
+    // ============================================================
+
+    // Mesma busca da sincronização em segundo plano (só a diferença da conversa),
+    // interrompida quando o orçamento acaba no meio dela
+    private void sincronizarConversa(int ticketId) {
+        try {
+            gastar(SincronizacaoWorker.baixarConversa(banco, ticketId, orcamentoRestante()));
+        } catch (Exception e) {
+            Log.w(TAG, "Conversa " + ticketId + " não pré-carregada: " + e.getMessage());
+            synchronized (this) {
+                sincronizadas.remove(ticketId); // pode tentar de novo na próxima lista
+            }
+        }
+    }
+
+    // Wi-Fi ou outra rede sem cobrança por volume (sem rede também conta como tarifada)
+    private boolean redeLivre() {
+        return rede != null && rede.getActiveNetwork() != null && !rede.isActiveNetworkMetered();
+    }
+
+    // Bytes que ainda podem ser baixados na janela atual
+    private synchronized long orcamentoRestante() {
+        long agora = SystemClock.elapsedRealtime();
+        if (agora - inicioJanela >= JANELA_ORCAMENTO_MS) {
+            inicioJanela = agora;
+            bytesGastos = 0;
+        }
+        return ORCAMENTO_BYTES - bytesGastos;
+    }
+
+    private synchronized void gastar(long bytes) {
+        bytesGastos += bytes;
+    }
+
+    // Menor = mais provável de o usuário abrir o chat
+    private static int prioridade(Ticket ticket) {
+        switch (ticket.getSituacao()) {
+            case EM_ANDAMENTO:
+                return 0;
+            case ABERTO:
+                return 1;
+            default:
+                return 2;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.appsuportecliente;
+
+import android.text.Html;
+import android.text.Spanned;
+
+import androidx.annotation.Nullable;
+import androidx.core.text.PrecomputedTextCompat;
+
+import com.example.appsuportecliente.model.ItemChat;
+import com.example.appsuportecliente.model.Mensagem;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Transforma as mensagens de um chat em itens prontos para a linha do tempo.
+ *
+ * Chamado fora da thread principal (threads de IO do histórico e a thread do
+ * SignalR). Para cada mensagem calcula uma vez:
+ *  - o texto: HTML convertido em Spanned e, com os parâmetros do TextView da
+ *    bolha, já medido (PrecomputedText);
+ *  - o tipo do anexo (texto, imagem ou arquivo) e o nome exibido do arquivo;
+ *  - a data de envio da própria mensagem (não a hora em que ela apareceu na tela);
+ *  - o nome do autor e o id de deduplicação.
+ */
+final class PreparadorMensagens {
+
+    // Mensagem com a bolha já montada e o id usado na deduplicação (ClassificadorChat.chaveDe)
+    static final class Pronta {
+        final Mensagem mensagem;
+        final ItemChat item;
+        final long id;
+
+        Pronta(Mensagem mensagem, ItemChat item, long id) {
+            this.mensagem = mensagem;
+            this.item = item;
+            this.id = id;
+        }
+    }
+
+    private final String usuario;
+    @Nullable
+    private final PrecomputedTextCompat.Params parametros; // null = só converte o HTML
+    private final AtomicLong proximaChave = new AtomicLong(1);
+
+    PreparadorMensagens(String usuario, @Nullable PrecomputedTextCompat.Params parametros) {
+        this.usuario = usuario;
+        this.parametros = parametros;
+    }
+
+    // Próxima chave estável de bolha (qualquer thread)
+    long novaChave() {
+        return proximaChave.getAndIncrement();
+    }
+
+    // Mensagem do histórico, do banco local ou do hub
+    Pronta preparar(Mensagem m) {
+        boolean isUsuario = m.getRemetente() != null && m.getRemetente().equalsIgnoreCase(usuario);
+        String autor = isUsuario ? null : nomeExibido(m.getRemetente());
+
+        ItemChat item = montar(m.getConteudo(), m.getNomeOriginal(), isUsuario, autor, m.getDataEnvio());
+        return new Pronta(m, item, ClassificadorChat.chaveDe(m.getId(), m.getConteudo()));
+    }
+
+    List<Pronta> preparar(List<Mensagem> mensagens) {
+        List<Pronta> prontas = new ArrayList<>(mensagens.size());
+        for (Mensagem m : mensagens) prontas.add(preparar(m));
+        return prontas;
+    }
+
+    // Mensagem do próprio cliente (caixa de saída ou arquivo enviado)
+    ItemChat prepararPropria(String conteudo, long dataEnvio) {
+        return prepararPropria(conteudo, null, dataEnvio);
+    }
+
+    ItemChat prepararPropria(String conteudo, @Nullable String nomeOriginal, long dataEnvio) {
+        return montar(conteudo, nomeOriginal, true, null, dataEnvio);
+    }
+
+    // Bolha de arquivo em envio, com o horário de agora
+    ItemChat prepararEnvio(long chave, String nomeArquivo, int progresso) {
+        long agora = System.currentTimeMillis();
+        return new ItemChat(chave, nomeArquivo, agora, DatasApi.horaDe(agora), progresso);
+    }
+
+    // Arquivo: rótulo com o nome original; sem ele (mensagem antiga), o fim da URL
+    private ItemChat montar(String mensagem, @Nullable String nomeOriginal, boolean isUsuario,
+                            String autor, long dataEnvio) {
+        int tipo = ClassificadorChat.tipoDe(mensagem);
+        String conteudo = ClassificadorChat.conteudoDe(mensagem);
+
+        CharSequence texto = null; // imagem: a bolha só usa a URL
+        if (tipo == ItemChat.TIPO_TEXTO) {
+            texto = formatar(conteudo);
+        } else if (tipo == ItemChat.TIPO_ARQUIVO) {
+            String nome = nomeOriginal != null && !nomeOriginal.trim().isEmpty()
+                    ? nomeOriginal.trim()
+                    : conteudo.substring(conteudo.lastIndexOf('/') + 1);
+            texto = "📎 " + nome;
+        }
+
+        // Sem data (ex: aviso de upload de servidor antigo): hora de chegada
+        if (dataEnvio <= 0) dataEnvio = System.currentTimeMillis();
+
+        return new ItemChat(novaChave(), tipo, conteudo, texto, isUsuario, autor,
+                dataEnvio, DatasApi.horaDe(dataEnvio));
+    }
+
+    // Aceita HTML simples, como antes era feito no bind da bolha
+    private CharSequence formatar(String conteudo) {
+        Spanned html = Html.fromHtml(conteudo, Html.FROM_HTML_MODE_LEGACY);
+        return parametros != null ? PrecomputedTextCompat.create(html, parametros) : html;
+    }
+
+    @Nullable
+    private static String nomeExibido(String remetente) {
+        if (remetente == null) return null;
+        String nome = remetente.trim();
+        return nome.isEmpty() ? null : nome;
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.appsuportecliente;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+
+import com.google.gson.Gson;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Guarda em SharedPreferences o andamento dos uploads em partes,
+ * para continuar o envio depois de uma queda de rede ou de o app ser fechado.
+ */
+public class RegistroUploads implements UploadEmPartes.Registro {
+
+    private static final String PREFS = "uploads_pendentes";
+
+    private static final Gson GSON = AdaptadoresJson.gson();
+
+    private final SharedPreferences prefs;
+
+    public RegistroUploads(Context context) {
+        prefs = context.getApplicationContext().getSharedPreferences(PREFS, Context.MODE_PRIVATE);
+    }
+
+    @Override
+    public UploadEmPartes.Estado carregar(String chave) {
+        String json = prefs.getString(chave, null);
+        return json != null ? GSON.fromJson(json, UploadEmPartes.Estado.class) : null;
+    }
+
+    @Override
+    public void salvar(UploadEmPartes.Estado estado) {
+        // apply(): grava em disco em segundo plano (chamado a cada parte enviada)
+        prefs.edit().putString(estado.chave, GSON.toJson(estado)).apply();
+    }
+
+    @Override
+    public void remover(String chave) {
+        prefs.edit().remove(chave).apply();
+    }
+
+    @Override
+    public List<UploadEmPartes.Estado> pendentes() {
+        List<UploadEmPartes.Estado> lista = new ArrayList<>();
+        for (Map.Entry<String, ?> entrada : prefs.getAll().entrySet()) {
+            if (entrada.getValue() instanceof String) {
+                lista.add(GSON.fromJson((String) entrada.getValue(), UploadEmPartes.Estado.class));
+            }
+        }
+        return lista;
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.appsuportecliente;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Locale;
+
+/**
+ * Consulta e relevância da busca local (ChatDatabase.buscar).
+ *
+ * O texto digitado vira uma consulta FTS4 em que todas as palavras precisam
+ * aparecer, cada uma como prefixo ("impres" acha "impressora"). O FTS4 do
+ * Android não ordena por relevância, então a nota de cada resultado é o
+ * BM25 calculado aqui a partir do matchinfo(tabela, 'pcnalx') da linha.
+ */
+final class RelevanciaBusca {
+
+    // Palavras mais curtas que isso são ignoradas (o prefixo acharia quase tudo)
+    static final int MIN_LETRAS = 2;
+
+    // Palavras usadas da consulta (o resto do texto digitado é ignorado)
+    static final int MAX_PALAVRAS = 8;
+
+    // Parâmetros usuais do BM25
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private RelevanciaBusca() {
+    }
+
+    // Texto digitado em consulta FTS4 ("erro 0x80" -> "erro* 0x80*").
+    // Só letras e dígitos passam, então nada do texto é lido como operador.
+    // null se não sobrar nenhuma palavra.
+    static String consultaFts(String texto) {
+        if (texto == null) return null;
+
+        StringBuilder consulta = new StringBuilder();
+        int palavras = 0;
+        int i = 0;
+
+        while (i < texto.length() && palavras < MAX_PALAVRAS) {
+            while (i < texto.length() && !Character.isLetterOrDigit(texto.charAt(i))) i++;
+            int inicio = i;
+            while (i < texto.length() && Character.isLetterOrDigit(texto.charAt(i))) i++;
+
+            if (i - inicio < MIN_LETRAS) continue;
+            if (palavras++ > 0) consulta.append(' ');
+            consulta.append(texto.substring(inicio, i).toLowerCase(Locale.ROOT)).append('*');
+        }
+        return palavras > 0 ? consulta.toString() : null;
+    }
+
+    // Blob do matchinfo: inteiros de 32 bits sem sinal, na ordem de bytes do aparelho
+    static int[] inteiros(byte[] matchinfo) {
+        ByteBuffer buffer = ByteBuffer.wrap(matchinfo).order(ByteOrder.nativeOrder());
+        int[] valores = new int[matchinfo.length / 4];
+        for (int i = 0; i < valores.length; i++) valores[i] = buffer.getInt();
+        return valores;
+    }
+
+    // BM25 da linha a partir do matchinfo 'pcnalx', somado por coluna com o
+    // peso de cada uma (ex: título vale mais que a descrição). Maior = mais relevante.
+    static double bm25(int[] matchinfo, double[] pesos) {
+        int frases = matchinfo[0];
+        int colunas = matchinfo[1];
+        long linhas = matchinfo[2] & 0xFFFFFFFFL;
+        int media = 3;                   // a[coluna]: média de palavras na coluna
+        int tamanho = media + colunas;   // l[coluna]: palavras da coluna nesta linha
+        int acertos = tamanho + colunas; // x[frase][coluna]: 3 valores cada
+
+        double nota = 0;
+        for (int f = 0; f < frases; f++) {
+            for (int c = 0; c < colunas; c++) {
+                int x = acertos + 3 * (f * colunas + c);
+                int naLinha = matchinfo[x];
+                if (naLinha == 0) continue;
+
+                int comAcerto = matchinfo[x + 2];
+                double idf = Math.log((linhas - comAcerto + 0.5) / (comAcerto + 0.5) + 1);
+                double proporcao = matchinfo[media + c] > 0
+                        ? (double) matchinfo[tamanho + c] / matchinfo[media + c] : 1;
+
+                double peso = c < pesos.length ? pesos[c] : 1;
+                nota += peso * idf * naLinha * (K1 + 1) / (naLinha + K1 * (1 - B + B * proporcao));
+            }
+        }
+        return nota;
+    }
+}
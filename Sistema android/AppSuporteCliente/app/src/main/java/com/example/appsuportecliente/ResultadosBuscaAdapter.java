@@ -0,0 +1,127 @@
+package com.example.appsuportecliente;
+
+import android.annotation.SuppressLint;
+import android.graphics.Typeface;
+import android.text.SpannableStringBuilder;
+import android.text.Spanned;
+import android.text.style.BackgroundColorSpan;
+import android.text.style.StyleSpan;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.example.appsuportecliente.model.ResultadoBusca;
+
+import java.util.Objects;
+
+/**
+ * Adapter dos resultados da busca local (BuscaActivity).
+ *
+ * O trecho de cada resultado vem com as palavras encontradas entre as marcas
+ * do ResultadoBusca; aqui elas viram negrito com fundo amarelo.
+ */
+public class ResultadosBuscaAdapter extends ListAdapter<ResultadoBusca, ResultadosBuscaAdapter.ResultadoViewHolder> {
+
+    private static final int COR_DESTAQUE = 0xFFFFF59D;
+
+    // Mesmo resultado = mesmo chamado e mesma mensagem (0 = o próprio chamado)
+    private static final DiffUtil.ItemCallback<ResultadoBusca> DIFF = new DiffUtil.ItemCallback<ResultadoBusca>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull ResultadoBusca antigo, @NonNull ResultadoBusca novo) {
+            return antigo.getTicketId() == novo.getTicketId()
+                    && antigo.getIdMensagem() == novo.getIdMensagem();
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull ResultadoBusca antigo, @NonNull ResultadoBusca novo) {
+            return Objects.equals(antigo.getTrecho(), novo.getTrecho())
+                    && Objects.equals(antigo.getTitulo(), novo.getTitulo());
+        }
+    };
+
+    // Toque em um resultado
+    public interface AoEscolher {
+        void abrir(ResultadoBusca resultado);
+    }
+
+    private final AoEscolher aoEscolher;
+
+    public ResultadosBuscaAdapter(AoEscolher aoEscolher) {
+        super(DIFF);
+        this.aoEscolher = aoEscolher;
+    }
+
+    @NonNull
+    @Override
+    public ResultadoViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        View card = LayoutInflater.from(parent.getContext())
+                .inflate(R.layout.item_resultado_busca, parent, false);
+        return new ResultadoViewHolder(card);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull ResultadoViewHolder holder, int position) {
+        holder.bind(getItem(position), aoEscolher);
+    }
+
+    // Troca as marcas do snippet() por destaque
+    static CharSequence destacar(String trecho) {
+        SpannableStringBuilder texto = new SpannableStringBuilder();
+        if (trecho == null) return texto;
+
+        int inicio = -1;
+        for (int i = 0; i < trecho.length(); i++) {
+            char c = trecho.charAt(i);
+            if (c == ResultadoBusca.INICIO_DESTAQUE) {
+                inicio = texto.length();
+            } else if (c == ResultadoBusca.FIM_DESTAQUE && inicio >= 0) {
+                texto.setSpan(new StyleSpan(Typeface.BOLD), inicio, texto.length(), Spanned.SPAN_EXCLUSIVE_EXCLUSIVE);
+                texto.setSpan(new BackgroundColorSpan(COR_DESTAQUE), inicio, texto.length(),
+                        Spanned.SPAN_EXCLUSIVE_EXCLUSIVE);
+                inicio = -1;
+            } else {
+                texto.append(c);
+            }
+        }
+        return texto;
+    }
+
+    // ============================================================
+    // VIEWHOLDER
+    // ============================================================
+
+    static class ResultadoViewHolder extends RecyclerView.ViewHolder {
+        final TextView txtChamado;
+        final TextView txtTrecho;
+        final TextView txtOrigem;
+
+        ResultadoViewHolder(@NonNull View card) {
+            super(card);
+            txtChamado = card.findViewById(R.id.txtChamado);
+            txtTrecho = card.findViewById(R.id.txtTrecho);
+            txtOrigem = card.findViewById(R.id.txtOrigem);
+        }
+
+        @SuppressLint("SetTextI18n")
+        void bind(ResultadoBusca resultado, AoEscolher aoEscolher) {
+            txtChamado.setText("#" + resultado.getTicketId() + " · " + resultado.getTitulo());
+            txtTrecho.setText(destacar(resultado.getTrecho()));
+
+            if (resultado.getTipo() == ResultadoBusca.TIPO_MENSAGEM) {
+                String autor = resultado.getAutor() != null ? resultado.getAutor() : "";
+                String data = DatasApi.texto(resultado.getDataEnvio());
+                txtOrigem.setText("💬 " + autor + (data != null ? " · " + data : ""));
+            } else {
+                txtOrigem.setText("📋 Chamado" + (resultado.getStatus() != null ? " · " + resultado.getStatus() : ""));
+            }
+
+            itemView.setOnClickListener(v -> aoEscolher.abrir(resultado));
+        }
+    }
+}
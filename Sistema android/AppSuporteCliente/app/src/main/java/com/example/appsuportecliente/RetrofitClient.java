@@ -1,62 +1,145 @@
 package com.example.appsuportecliente;
 // Pacote onde esta classe está localizada no projeto.
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
+import android.content.Context;
+import android.content.pm.ApplicationInfo;
+import android.util.Log;
 
+import androidx.annotation.NonNull;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
 import okhttp3.OkHttpClient;
-import okhttp3.logging.HttpLoggingInterceptor;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
 import retrofit2.Retrofit;
 import retrofit2.converter.gson.GsonConverterFactory;
 
-// Classe responsável por criar e retornar a instância do Retrofit.
-// O Retrofit é usado para fazer requisições HTTP ao servidor ASP.NET.
+// Classe responsável por criar e retornar a pilha de rede do aplicativo.
+// O Retrofit é usado para fazer requisições HTTP ao servidor ASP.NET, e o mesmo
+// OkHttpClient é compartilhado com uploads, histórico do chat e imagens.
 public class RetrofitClient {
 
+    private static final String TAG = "REDE";
+
     private static Retrofit retrofit;
     // Instância única (Singleton) do Retrofit.
     // Assim o app inteiro usa a mesma instância, economizando memória.
 
-    private static final String BASE_URL = "http://192.168.1.9:5290/";
-    // URL base da API do backend.
+    private static OkHttpClient httpClient;
+    // Cliente HTTP único: um só pool de conexões e um só dispatcher para o app todo.
+
+    private static OkHttpClient clienteUpload;
+    // Variante do cliente acima usada nos uploads de arquivos.
+
+    private static String baseUrl = "http://192.168.1.9:5290/";
+    // URL base da API do backend (sobrescrita por R.string.chamado_api_url em init()).
     // Todas as rotas do Retrofit serão adicionadas depois desse endereço.
 
-    // Método principal que retorna a instância Singleton do Retrofit.
-    public static Retrofit getInstance() {
+    // Timeouts em segundos (sobrescritos pelos valores de res/values/integers.xml)
+    private static int timeoutConexao = 10;
+    private static int timeoutLeitura = 30;
+    private static int timeoutEscrita = 60;
 
-        // Se ainda não foi criado, cria agora.
-        if (retrofit == null) {
+    // Log das requisições só em builds debug, com no máximo LIMITE_LOG bytes de cada corpo
+    private static boolean logarRequisicoes = false;
+    private static final long LIMITE_LOG = 16 * 1024;
+
+    // ================================
+    // 🔹 Configuração (chamada pelo SuporteApplication)
+    // ================================
+    public static synchronized void init(@NonNull Context context) {
+        if (httpClient != null) return; // já construído, a configuração não muda mais
+
+        Context app = context.getApplicationContext();
+        baseUrl = app.getString(R.string.chamado_api_url);
+        timeoutConexao = app.getResources().getInteger(R.integer.rede_timeout_conexao_s);
+        timeoutLeitura = app.getResources().getInteger(R.integer.rede_timeout_leitura_s);
+        timeoutEscrita = app.getResources().getInteger(R.integer.rede_timeout_escrita_s);
+        logarRequisicoes = (app.getApplicationInfo().flags & ApplicationInfo.FLAG_DEBUGGABLE) != 0;
+    }
+
+    // Retorna a URL base (sempre terminada em "/")
+    public static String getBaseUrl() {
+        return baseUrl;
+    }
+
+    // Retorna o cliente HTTP compartilhado.
+    public static synchronized OkHttpClient getHttpClient() {
+
+        if (httpClient == null) {
 
             // ================================
-            // 🔹 Interceptor para LOGS HTTP
+            // 🔹 Dispatcher e pool compartilhados
             // ================================
-            HttpLoggingInterceptor logging = new HttpLoggingInterceptor();
-            logging.setLevel(HttpLoggingInterceptor.Level.BODY);
-            // LEVEL.BODY → exibe o corpo completo da requisição e resposta.
-            // Isso ajuda demais a debugar erros da API.
+            Dispatcher dispatcher = new Dispatcher();
+            dispatcher.setMaxRequests(32);
+            dispatcher.setMaxRequestsPerHost(8); // o backend é um único host
+
+            ConnectionPool pool = new ConnectionPool(5, 5, TimeUnit.MINUTES);
+            // Mantém até 5 conexões ociosas por 5 minutos: cada tela reaproveita
+            // o handshake TCP já feito em vez de abrir uma conexão nova.
 
             // ================================
-            // 🔹 Cliente HTTP com interceptor
+            // 🔹 Cliente HTTP
             // ================================
-            OkHttpClient client = new OkHttpClient.Builder()
-                    .addInterceptor(logging) // adiciona o log em todas as requisições
-                    .build();
+            OkHttpClient.Builder builder = new OkHttpClient.Builder()
+                    .dispatcher(dispatcher)
+                    .connectionPool(pool)
+                    .protocols(Arrays.asList(Protocol.HTTP_2, Protocol.HTTP_1_1))
+                    // HTTP/2 é negociado via ALPN quando o backend usa TLS;
+                    // em http:// o OkHttp continua em HTTP/1.1.
+                    .connectTimeout(timeoutConexao, TimeUnit.SECONDS)
+                    .readTimeout(timeoutLeitura, TimeUnit.SECONDS)
+                    .writeTimeout(timeoutEscrita, TimeUnit.SECONDS)
+                    .retryOnConnectionFailure(true)
+                    .eventListenerFactory(TelemetriaRede.get()); // tempos e bytes por endpoint
 
             // ================================
-            // 🔹 Configuração do Gson
+            // 🔹 Log das requisições (só debug)
             // ================================
-            Gson gson = new GsonBuilder()
-                    .setLenient()  // deixa o parser mais flexível com JSON mal formatado
-                    .create();
+            if (logarRequisicoes) builder.addInterceptor(new LogRede(LIMITE_LOG));
+
+            httpClient = builder.build();
+        }
+
+        return httpClient;
+    }
+
+    // Cliente para uploads: mesmo pool, dispatcher e telemetria, mas sem o log
+    // (o corpo dos uploads é de envio único e não pode ser lido duas vezes).
+    public static synchronized OkHttpClient getClienteUpload() {
+
+        if (clienteUpload == null) {
+            OkHttpClient.Builder builder = getHttpClient().newBuilder();
+            builder.interceptors().clear();
+            clienteUpload = builder.build();
+        }
+
+        return clienteUpload;
+    }
+
+    // Método principal que retorna a instância Singleton do Retrofit.
+    public static synchronized Retrofit getInstance() {
+
+        // Se ainda não foi criado, cria agora.
+        if (retrofit == null) {
 
             // ================================
             // 🔹 Criação do Retrofit
             // ================================
             retrofit = new Retrofit.Builder()
-                    .baseUrl(BASE_URL) // define a URL base
-                    .client(client)    // adiciona o cliente com logs
-                    .addConverterFactory(GsonConverterFactory.create(gson))
-                    // Converte automaticamente JSON para objetos Java e vice-versa
+                    .baseUrl(baseUrl)          // define a URL base
+                    .client(getHttpClient())   // usa o cliente compartilhado
+                    .addConverterFactory(GsonConverterFactory.create(AdaptadoresJson.gson()))
+                    // Converte JSON para objetos Java e vice-versa (adaptadores sem reflexão)
                     .build();
         }
 
@@ -68,4 +151,28 @@ public class RetrofitClient {
     public static ApiService getApiService() {
         return getInstance().create(ApiService.class);
     }
+
+    // ================================
+    // 🔹 Pré-aquecimento da conexão
+    // ================================
+    // Abre a conexão com o backend em segundo plano (DNS + TCP, e TLS quando houver),
+    // para que a primeira chamada real (ex: login) já encontre a conexão no pool.
+    public static void aquecerConexao() {
+        Request request = new Request.Builder()
+                .url(baseUrl)
+                .head()
+                .build();
+
+        getHttpClient().newCall(request).enqueue(new Callback() {
+            @Override
+            public void onFailure(@NonNull Call call, @NonNull IOException e) {
+                Log.d(TAG, "Pré-aquecimento falhou: " + e.getMessage());
+            }
+
+            @Override
+            public void onResponse(@NonNull Call call, @NonNull Response response) {
+                response.close(); // só interessa a conexão, não a resposta
+            }
+        });
+    }
 }
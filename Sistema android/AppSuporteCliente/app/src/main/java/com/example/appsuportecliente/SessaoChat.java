@@ -0,0 +1,402 @@
+package com.example.appsuportecliente;
+
+import android.content.Context;
+import android.net.ConnectivityManager;
+import android.net.Network;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import com.example.appsuportecliente.model.ChamadoAtualizado;
+import com.example.appsuportecliente.model.MensagemAoVivo;
+import com.microsoft.signalr.HubConnection;
+import com.microsoft.signalr.HubConnectionBuilder;
+import com.microsoft.signalr.HubConnectionState;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.core.Single;
+
+/**
+ * Conexão única com o ChatHub (SignalR), compartilhada pelo app inteiro.
+ *
+ * As telas não abrem socket próprio: elas se inscrevem no ticket que exibem
+ * e recebem só os eventos dele. A sessão:
+ * - entra no grupo do ticket na primeira inscrição e sai na última;
+ * - reconecta sozinha quando a conexão cai, com espera exponencial
+ *   aleatória (para os aparelhos não voltarem todos no mesmo instante);
+ * - depois de reconectar, entra de novo nos grupos e avisa as telas
+ *   ({@link Ouvinte#aoReconectar()}) para buscarem o que chegou durante a queda;
+ * - fecha o socket quando ninguém mais acompanha nenhum chat por um tempo.
+ *
+ * A lista de chamados também usa a conexão: ela acompanha os chamados do
+ * usuário ({@link #acompanharChamados}) e recebe um aviso por chamado
+ * alterado, no lugar de recarregar a lista inteira.
+ */
+public final class SessaoChat {
+
+    private static final String TAG = "SESSAO_CHAT";
+
+    // Espera antes da 1ª reconexão; dobra a cada falha até o teto
+    private static final long ESPERA_INICIAL_MS = 1_000;
+    private static final long ESPERA_MAXIMA_MS = 30_000;
+
+    // Sem nenhuma inscrição por este tempo, a conexão é encerrada
+    private static final long FECHAR_OCIOSA_MS = 60_000;
+
+    // Eventos de um ticket. Chamados fora da thread principal.
+    public interface Ouvinte {
+        void aoReceberMensagem(MensagemAoVivo mensagem);
+
+        default void aoSolicitarEncerramento() {
+        }
+
+        // A conexão voltou: mensagens enviadas durante a queda não chegaram pelo hub
+        default void aoReconectar() {
+        }
+
+        // Conexão pronta para invocar métodos (na inscrição, se já conectado, e a cada conexão)
+        default void aoConectar() {
+        }
+    }
+
+    // Eventos dos chamados de um usuário. Chamados fora da thread principal.
+    public interface OuvinteChamados {
+        void aoAtualizar(ChamadoAtualizado chamado);
+
+        // A conexão voltou: avisos enviados durante a queda não chegaram
+        default void aoReconectar() {
+        }
+    }
+
+    private static SessaoChat instancia;
+
+    private final String url;
+    private final Map<Integer, List<Ouvinte>> ouvintes = new ConcurrentHashMap<>();
+    private final Map<String, List<OuvinteChamados>> ouvintesChamados = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService agendador = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "sessao-chat");
+        t.setDaemon(true);
+        return t;
+    });
+    private final Random aleatorio = new Random();
+
+    // Estado da conexão (protegido por "this")
+    private HubConnection hub;
+    private boolean conectando;
+    private boolean jaConectou;     // distingue a primeira conexão de uma reconexão
+    private int falhas;
+    private ScheduledFuture<?> reconexao;
+    private ScheduledFuture<?> fechamento;
+
+    private SessaoChat(String url) {
+        this.url = url;
+    }
+
+    // Chamado uma vez pelo SuporteApplication
+    public static synchronized void init(Context context) {
+        if (instancia != null) return;
+
+        Context app = context.getApplicationContext();
+        instancia = new SessaoChat(app.getString(R.string.chat_hub_url));
+        instancia.observarRede(app);
+    }
+
+    public static SessaoChat get() {
+        if (instancia == null) throw new IllegalStateException("SessaoChat.init() não foi chamado");
+        return instancia;
+    }
+
+    // ============================================================
+    // INSCRIÇÕES
+    // ============================================================
+
+    // Passa a receber os eventos do ticket (conecta se preciso)
+    public void inscrever(int ticketId, @NonNull Ouvinte ouvinte) {
+        boolean conectado;
+
+        synchronized (this) {
+            cancelar(fechamento);
+            fechamento = null;
+
+            List<Ouvinte> doTicket = ouvintes.computeIfAbsent(ticketId, k -> new CopyOnWriteArrayList<>());
+            boolean primeiro = doTicket.isEmpty();
+            doTicket.add(ouvinte);
+
+            conectado = isConectado();
+            if (conectado) {
+                if (primeiro) entrarNoTicket(ticketId);
+            } else {
+                conectar();
+            }
+        }
+
+        // Fora do lock: o ouvinte pode chamar invocar() de outra thread
+        if (conectado) ouvinte.aoConectar();
+    }
+
+    public synchronized void cancelarInscricao(int ticketId, @NonNull Ouvinte ouvinte) {
+        List<Ouvinte> doTicket = ouvintes.get(ticketId);
+        if (doTicket == null || !doTicket.remove(ouvinte)) return;
+
+        if (doTicket.isEmpty()) {
+            ouvintes.remove(ticketId);
+            if (isConectado()) {
+                hub.invoke("SairDoTicket", ticketId)
+                        .subscribe(() -> { }, erro -> Log.w(TAG, "SairDoTicket " + ticketId + ": " + erro.getMessage()));
+            }
+        }
+
+        agendarFechamentoSeOciosa();
+    }
+
+    // Passa a receber os avisos dos chamados do usuário (conecta se preciso).
+    // Com a lista aberta, a conexão já está pronta quando o usuário abre um chat.
+    public synchronized void acompanharChamados(String usuario, @NonNull OuvinteChamados ouvinte) {
+        cancelar(fechamento);
+        fechamento = null;
+
+        List<OuvinteChamados> doUsuario = ouvintesChamados.computeIfAbsent(usuario, k -> new CopyOnWriteArrayList<>());
+        boolean primeiro = doUsuario.isEmpty();
+        doUsuario.add(ouvinte);
+
+        if (!isConectado()) {
+            conectar();
+        } else if (primeiro) {
+            entrarNosChamados(usuario);
+        }
+    }
+
+    public synchronized void deixarDeAcompanharChamados(String usuario, @NonNull OuvinteChamados ouvinte) {
+        List<OuvinteChamados> doUsuario = ouvintesChamados.get(usuario);
+        if (doUsuario == null || !doUsuario.remove(ouvinte)) return;
+
+        if (doUsuario.isEmpty()) {
+            ouvintesChamados.remove(usuario);
+            if (isConectado()) {
+                hub.invoke("DeixarDeAcompanharChamados", usuario)
+                        .subscribe(() -> { }, erro -> Log.w(TAG, "DeixarDeAcompanharChamados: " + erro.getMessage()));
+            }
+        }
+
+        agendarFechamentoSeOciosa();
+    }
+
+    // Ninguém acompanhando: fecha depois de um tempo (trocar de tela não derruba o socket)
+    private void agendarFechamentoSeOciosa() {
+        if (emUso()) return;
+        cancelar(fechamento);
+        fechamento = agendador.schedule(this::fecharSeOciosa, FECHAR_OCIOSA_MS, TimeUnit.MILLISECONDS);
+    }
+
+    // Alguma tela acompanha um chat ou a lista de chamados
+    private boolean emUso() {
+        return !ouvintes.isEmpty() || !ouvintesChamados.isEmpty();
+    }
+
+    // ============================================================
+    // ENVIO
+    // ============================================================
+
+    // Invoca um método do hub. Falha na hora se a conexão não estiver ativa.
+    public Completable invocar(String metodo, Object... argumentos) {
+        HubConnection atual;
+        synchronized (this) {
+            atual = isConectado() ? hub : null;
+        }
+        if (atual == null) return Completable.error(new IllegalStateException("Sem conexão com o chat"));
+        return atual.invoke(metodo, argumentos);
+    }
+
+    // Igual ao anterior, para métodos do hub que devolvem um valor
+    public <T> Single<T> invocar(Class<T> retorno, String metodo, Object... argumentos) {
+        HubConnection atual;
+        synchronized (this) {
+            atual = isConectado() ? hub : null;
+        }
+        if (atual == null) return Single.error(new IllegalStateException("Sem conexão com o chat"));
+        return atual.invoke(retorno, metodo, argumentos);
+    }
+
+    public synchronized boolean isConectado() {
+        return hub != null && hub.getConnectionState() == HubConnectionState.CONNECTED;
+    }
+
+    // ============================================================
+    // CONEXÃO E RECONEXÃO
+    // ============================================================
+
+    // Deve ser chamado com o lock
+    private void conectar() {
+        if (conectando || reconexao != null) return;
+
+        if (hub == null) {
+            hub = HubConnectionBuilder.create(url).build();
+            registrarHandlers(hub);
+            hub.onClosed(erro -> aoPerderConexao(erro));
+        }
+        if (hub.getConnectionState() != HubConnectionState.DISCONNECTED) return;
+
+        conectando = true;
+        hub.start().subscribe(this::aoConectar, this::aoFalharConexao);
+    }
+
+    private void aoConectar() {
+        boolean reconectou;
+        List<Ouvinte> avisar = new ArrayList<>();
+        List<OuvinteChamados> avisarChamados = new ArrayList<>();
+
+        synchronized (this) {
+            conectando = false;
+            falhas = 0;
+
+            reconectou = jaConectou;
+            jaConectou = true;
+
+            // Grupos do SignalR são por conexão: entra de novo em todos os tickets acompanhados
+            for (Integer ticketId : ouvintes.keySet()) entrarNoTicket(ticketId);
+            for (List<Ouvinte> doTicket : ouvintes.values()) avisar.addAll(doTicket);
+            for (String usuario : ouvintesChamados.keySet()) entrarNosChamados(usuario);
+            for (List<OuvinteChamados> doUsuario : ouvintesChamados.values()) avisarChamados.addAll(doUsuario);
+
+            if (reconectou) Log.i(TAG, "Reconectado; " + ouvintes.size() + " ticket(s) em acompanhamento");
+
+            if (!emUso() && fechamento == null) {
+                fechamento = agendador.schedule(this::fecharSeOciosa, FECHAR_OCIOSA_MS, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        for (Ouvinte o : avisar) {
+            if (reconectou) o.aoReconectar();
+            o.aoConectar();
+        }
+        if (reconectou) {
+            for (OuvinteChamados o : avisarChamados) o.aoReconectar();
+        }
+    }
+
+    private synchronized void aoFalharConexao(Throwable erro) {
+        conectando = false;
+        Log.w(TAG, "Falha ao conectar: " + erro.getMessage());
+        agendarReconexao();
+    }
+
+    private synchronized void aoPerderConexao(Exception erro) {
+        conectando = false;
+        if (erro != null) Log.w(TAG, "Conexão perdida: " + erro.getMessage());
+        agendarReconexao();
+    }
+
+    // "Full jitter": espera aleatória entre 0 e o teto exponencial da tentativa
+    private void agendarReconexao() {
+        if (!emUso() || reconexao != null) return;
+
+        long teto = Math.min(ESPERA_MAXIMA_MS, ESPERA_INICIAL_MS << Math.min(falhas, 5));
+        long espera = (long) (aleatorio.nextDouble() * teto);
+        falhas++;
+
+        reconexao = agendador.schedule(() -> {
+            synchronized (SessaoChat.this) {
+                reconexao = null;
+                if (emUso()) conectar();
+            }
+        }, espera, TimeUnit.MILLISECONDS);
+    }
+
+    // A rede voltou: não espera o fim do intervalo de reconexão
+    private void observarRede(Context context) {
+        ConnectivityManager cm = context.getSystemService(ConnectivityManager.class);
+        if (cm == null) return;
+
+        try {
+            cm.registerDefaultNetworkCallback(new ConnectivityManager.NetworkCallback() {
+                @Override
+                public void onAvailable(@NonNull Network rede) {
+                    synchronized (SessaoChat.this) {
+                        if (reconexao == null) return;
+                        cancelar(reconexao);
+                        reconexao = null;
+                        falhas = 0;
+                        conectar();
+                    }
+                }
+            });
+        } catch (SecurityException e) {
+            Log.w(TAG, "Sem acesso ao estado da rede: " + e.getMessage());
+        }
+    }
+
+    private synchronized void fecharSeOciosa() {
+        fechamento = null;
+        if (emUso() || hub == null) return;
+
+        cancelar(reconexao);
+        reconexao = null;
+        jaConectou = false; // a próxima conexão é uma sessão nova, não uma reconexão
+        if (hub.getConnectionState() != HubConnectionState.DISCONNECTED) hub.stop();
+    }
+
+    private void entrarNoTicket(int ticketId) {
+        hub.invoke("EntrarNoTicket", ticketId)
+                .subscribe(() -> { }, erro -> Log.w(TAG, "EntrarNoTicket " + ticketId + ": " + erro.getMessage()));
+    }
+
+    private void entrarNosChamados(String usuario) {
+        hub.invoke("AcompanharChamados", usuario)
+                .subscribe(() -> { }, erro -> Log.w(TAG, "AcompanharChamados: " + erro.getMessage()));
+    }
+
+    private static void cancelar(ScheduledFuture<?> agendado) {
+        if (agendado != null) agendado.cancel(false);
+    }
+
+    // ============================================================
+    // EVENTOS DO HUB
+    // ============================================================
+
+    // Registrados uma única vez: continuam valendo depois de cada reconexão.
+    // Os payloads são desserializados direto nas classes do model.
+    private void registrarHandlers(HubConnection conexao) {
+
+        conexao.on("ReceberMensagem", mensagem -> {
+            if (mensagem == null) return;
+
+            // Servidor antigo (sem ticketId no payload): entrega a todos
+            if (mensagem.getTicketId() > 0) {
+                for (Ouvinte o : doTicket(mensagem.getTicketId())) o.aoReceberMensagem(mensagem);
+            } else {
+                for (List<Ouvinte> lista : ouvintes.values()) {
+                    for (Ouvinte o : lista) o.aoReceberMensagem(mensagem);
+                }
+            }
+        }, MensagemAoVivo.class);
+
+        conexao.on("ChatEncerradoPeloTecnico", ticketId -> {
+            for (Ouvinte o : doTicket(ticketId)) o.aoSolicitarEncerramento();
+        }, Integer.class);
+
+        // Enviado só ao grupo do usuário: vai para todas as listas abertas
+        conexao.on("ChamadoAtualizado", chamado -> {
+            if (chamado == null) return;
+            for (List<OuvinteChamados> lista : ouvintesChamados.values()) {
+                for (OuvinteChamados o : lista) o.aoAtualizar(chamado);
+            }
+        }, ChamadoAtualizado.class);
+    }
+
+    private List<Ouvinte> doTicket(int ticketId) {
+        List<Ouvinte> lista = ouvintes.get(ticketId);
+        return lista != null ? lista : Collections.emptyList();
+    }
+}
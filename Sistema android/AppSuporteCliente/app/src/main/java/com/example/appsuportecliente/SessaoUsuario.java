@@ -0,0 +1,129 @@
+package com.example.appsuportecliente;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Usuário autenticado no aparelho.
+ *
+ * O login salvo ("UserPrefs") é lido em segundo plano logo no início do
+ * processo, então nenhuma tela precisa ler SharedPreferences na thread
+ * principal. Enquanto a sessão for válida ({@link #VALIDADE_MS} desde o
+ * último login), o app abre direto nos chamados, sem passar pelo LoginActivity.
+ */
+public final class SessaoUsuario {
+
+    // Depois desse tempo sem novo login, a tela de login volta a aparecer
+    private static final long VALIDADE_MS = TimeUnit.DAYS.toMillis(30);
+
+    // Quanto getUsuario() espera pela leitura inicial antes de desistir
+    private static final long ESPERA_LEITURA_MS = 2_000;
+
+    private static final String PREFS = "UserPrefs";
+
+    // Recebe o usuário da sessão salva (null = sem sessão válida). Chamado na thread principal.
+    public interface Ouvinte {
+        void aoCarregar(@Nullable String usuario);
+    }
+
+    private static SessaoUsuario instancia;
+
+    private final SharedPreferences prefs;
+    private final Handler main = new Handler(Looper.getMainLooper());
+    private final CountDownLatch carregada = new CountDownLatch(1);
+
+    private volatile String usuario;
+    private final List<Ouvinte> aguardando = new ArrayList<>(); // protegido por "this"
+
+    private SessaoUsuario(Context app) {
+        prefs = app.getSharedPreferences(PREFS, Context.MODE_PRIVATE);
+    }
+
+    // Chamado uma vez pelo SuporteApplication: começa a leitura da sessão salva
+    public static synchronized void init(Context context) {
+        if (instancia != null) return;
+
+        instancia = new SessaoUsuario(context.getApplicationContext());
+        Tarefas.io(Tarefas.Prioridade.VISIVEL, instancia::carregar);
+    }
+
+    public static SessaoUsuario get() {
+        if (instancia == null) throw new IllegalStateException("SessaoUsuario.init() não foi chamado");
+        return instancia;
+    }
+
+    // ============================================================
+    // API
+    // ============================================================
+
+    // Entrega o usuário assim que a sessão salva terminar de ser lida
+    // (na hora, se já foi). Sempre na thread principal.
+    public void quandoCarregada(Ouvinte ouvinte) {
+        synchronized (this) {
+            if (carregada.getCount() > 0) {
+                aguardando.add(ouvinte);
+                return;
+            }
+        }
+        String atual = usuario;
+        main.post(() -> ouvinte.aoCarregar(atual));
+    }
+
+    // Usuário logado (null sem sessão). Normalmente a leitura já terminou
+    // quando a primeira tela abre; se não, espera por ela no máximo ESPERA_LEITURA_MS.
+    @Nullable
+    public String getUsuario() {
+        try {
+            carregada.await(ESPERA_LEITURA_MS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return usuario;
+    }
+
+    // Login feito: vale para as próximas aberturas do app
+    public void iniciar(String nome, String email) {
+        usuario = nome;
+        prefs.edit()
+                .putString("username", nome)
+                .putString("email", email)
+                .putLong("loginEm", System.currentTimeMillis())
+                .apply(); // grava em disco em segundo plano
+    }
+
+    // ============================================================
+    // LEITURA INICIAL
+    // ============================================================
+
+    private void carregar() {
+        String nome = prefs.getString("username", null);
+        long loginEm = prefs.getLong("loginEm", 0);
+
+        boolean valida = nome != null && !nome.isEmpty()
+                && System.currentTimeMillis() - loginEm < VALIDADE_MS;
+
+        List<Ouvinte> avisar;
+        synchronized (this) {
+            // iniciar() pode ter rodado antes (login durante a leitura): ele vale
+            if (usuario == null && valida) usuario = nome;
+            carregada.countDown();
+
+            avisar = new ArrayList<>(aguardando);
+            aguardando.clear();
+        }
+
+        String atual = usuario;
+        main.post(() -> {
+            for (Ouvinte o : avisar) o.aoCarregar(atual);
+        });
+    }
+}
@@ -0,0 +1,180 @@
+package com.example.appsuportecliente;
+
+import android.content.Context;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.work.BackoffPolicy;
+import androidx.work.Constraints;
+import androidx.work.ExistingPeriodicWorkPolicy;
+import androidx.work.ExistingWorkPolicy;
+import androidx.work.NetworkType;
+import androidx.work.OneTimeWorkRequest;
+import androidx.work.PeriodicWorkRequest;
+import androidx.work.WorkManager;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+
+import com.example.appsuportecliente.model.AlteracoesChamados;
+import com.example.appsuportecliente.model.Mensagem;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.HttpUrl;
+import retrofit2.Response;
+
+/**
+ * Sincronização dos chamados em segundo plano (WorkManager).
+ *
+ * Pede ao servidor só o que mudou desde a última marca
+ * (Tickets/AlteracoesPorCliente) e grava no ChatDatabase os chamados
+ * alterados e, dos que receberam mensagens, a diferença da conversa. A lista
+ * e o chat abrem com o que já está no aparelho, sem esperar a rede.
+ *
+ * Duas execuções, cada uma como trabalho único (pedidos repetidos se juntam
+ * num só):
+ *  - periódica ({@link #agendar}): em rede não tarifada, com bateria boa e
+ *    com o aparelho ocioso;
+ *  - sob demanda ({@link #pedir}): quando o app sai da tela, depois de uma
+ *    espera, em rede não tarifada e com bateria boa.
+ * Se a última sincronização terminou há menos de {@link #INTERVALO_MINIMO_MS},
+ * a execução não vai à rede.
+ */
+public class SincronizacaoWorker extends Worker {
+
+    private static final String TAG = "SINCRONIZACAO";
+
+    private static final String PERIODICA = "sincronizacao_periodica";
+    private static final String SOB_DEMANDA = "sincronizacao_sob_demanda";
+
+    private static final long INTERVALO_HORAS = 6;
+
+    // Espera do pedido sob demanda: sair e voltar ao app logo em seguida não sincroniza
+    private static final long ESPERA_PEDIDO_S = 30;
+
+    private static final long INTERVALO_MINIMO_MS = 15 * 60_000;
+
+    public SincronizacaoWorker(@NonNull Context context, @NonNull WorkerParameters params) {
+        super(context, params);
+    }
+
+    // ============================================================
+    // AGENDAMENTO
+    // ============================================================
+
+    // Com sessão válida (abertura do app ou login). Já agendada: mantém a existente.
+    public static void agendar(Context context) {
+        Constraints restricoes = new Constraints.Builder()
+                .setRequiredNetworkType(NetworkType.UNMETERED)
+                .setRequiresBatteryNotLow(true)
+                .setRequiresDeviceIdle(true)
+                .build();
+
+        // Sem setBackoffCriteria: o WorkManager não aceita em trabalho que exige
+        // aparelho ocioso (uma falha espera a próxima janela)
+        PeriodicWorkRequest pedido = new PeriodicWorkRequest.Builder(
+                SincronizacaoWorker.class, INTERVALO_HORAS, TimeUnit.HOURS)
+                .setConstraints(restricoes)
+                .build();
+
+        WorkManager.getInstance(context)
+                .enqueueUniquePeriodicWork(PERIODICA, ExistingPeriodicWorkPolicy.KEEP, pedido);
+    }
+
+    // App foi para segundo plano: sincroniza para a próxima abertura.
+    // Um pedido ainda na espera absorve os seguintes.
+    public static void pedir(Context context) {
+        Constraints restricoes = new Constraints.Builder()
+                .setRequiredNetworkType(NetworkType.UNMETERED)
+                .setRequiresBatteryNotLow(true)
+                .build();
+
+        OneTimeWorkRequest pedido = new OneTimeWorkRequest.Builder(SincronizacaoWorker.class)
+                .setConstraints(restricoes)
+                .setInitialDelay(ESPERA_PEDIDO_S, TimeUnit.SECONDS)
+                .setBackoffCriteria(BackoffPolicy.EXPONENTIAL, 1, TimeUnit.MINUTES)
+                .build();
+
+        WorkManager.getInstance(context)
+                .enqueueUniqueWork(SOB_DEMANDA, ExistingWorkPolicy.KEEP, pedido);
+    }
+
+    // ============================================================
+    // EXECUÇÃO
+    // ============================================================
+
+    // Roda numa thread do WorkManager
+    @NonNull
+    @Override
+    public Result doWork() {
+        String usuario = SessaoUsuario.get().getUsuario();
+        if (usuario == null) return Result.success(); // sem sessão: nada para sincronizar
+
+        ChatDatabase banco = ChatDatabase.getInstance(getApplicationContext());
+        if (System.currentTimeMillis() - banco.sincronizadoEm(usuario) < INTERVALO_MINIMO_MS) {
+            Log.d(TAG, "Sincronizado há pouco; nada a fazer");
+            return Result.success();
+        }
+
+        long inicio = SystemClock.elapsedRealtime();
+        try {
+            String desde = banco.marcaSincronismo(usuario);
+            Response<AlteracoesChamados> resposta = RetrofitClient.getApiService()
+                    .alteracoesChamados(usuario, desde).execute();
+
+            AlteracoesChamados alteracoes = resposta.body();
+            if (!resposta.isSuccessful() || alteracoes == null || !alteracoes.isSuccess()
+                    || alteracoes.getMarca() == null) {
+                Log.w(TAG, "Alterações não recebidas: HTTP " + resposta.code());
+                return Result.retry();
+            }
+
+            banco.salvarChamados(usuario, alteracoes.getTickets());
+
+            List<Integer> conversas = alteracoes.getComMensagens() != null
+                    ? alteracoes.getComMensagens() : Collections.emptyList();
+            for (int ticketId : conversas) {
+                if (isStopped()) return Result.retry(); // restrição deixou de valer
+                baixarConversa(banco, ticketId, Long.MAX_VALUE);
+            }
+
+            // Só com tudo gravado: se algo falhou acima, a próxima vez parte da marca antiga
+            banco.salvarSincronismo(usuario, alteracoes.getMarca(), System.currentTimeMillis());
+
+            int chamados = alteracoes.getTickets() != null ? alteracoes.getTickets().size() : 0;
+            Log.i(TAG, "Sincronizado desde " + desde + ": " + chamados + " chamados, "
+                    + conversas.size() + " conversas em " + (SystemClock.elapsedRealtime() - inicio) + " ms");
+            return Result.success();
+
+        } catch (IOException e) {
+            Log.w(TAG, "Sincronização falhou: " + e.getMessage());
+            return Result.retry();
+        }
+    }
+
+    // Grava no banco as mensagens da conversa desde o último sincronismo dela,
+    // ou só a página mais recente se o ticket ainda não tem nada no aparelho
+    // (mesma busca que o ChatActivity faz ao abrir). Para de baixar depois de
+    // maxBytes, gravando o que já chegou. Retorna os bytes baixados.
+    static long baixarConversa(ChatDatabase banco, int ticketId, long maxBytes) throws IOException {
+        HttpUrl.Builder url = LeitorHistorico.url(RetrofitClient.getBaseUrl(), ticketId);
+
+        String desde = banco.ultimaDataSincronizada(ticketId);
+        if (desde != null) {
+            url.addQueryParameter("desde", desde);
+        } else {
+            url.addQueryParameter("limite", String.valueOf(ChatActivity.TAMANHO_PAGINA));
+        }
+
+        List<Mensagem> mensagens = new ArrayList<>();
+        LeitorHistorico.Resultado resultado = LeitorHistorico.buscar(
+                RetrofitClient.getHttpClient(), url.build(), ticketId, maxBytes, mensagens::add);
+        banco.salvarMensagens(ticketId, mensagens);
+        return resultado.bytes;
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.appsuportecliente;
+
+import android.app.Application;
+import android.util.Log;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Classe Application do aplicativo.
+ *
+ * Inicializa os componentes que vivem enquanto o processo existir
+ * (ex: a pilha de rede compartilhada do RetrofitClient e o cache de imagens).
+ */
+public class SuporteApplication extends Application {
+
+    // Tamanho de fila a partir do qual o monitor de tarefas registra um aviso
+    private static final int FILA_ALERTA = 16;
+
+    // Relatório da TelemetriaRede (percentis por endpoint), dentro de getFilesDir()
+    public static final String ARQUIVO_TELEMETRIA = "telemetria_rede.txt";
+
+    @Override
+    public void onCreate() {
+        super.onCreate();
+
+        // Configura URL base e timeouts da rede a partir dos recursos
+        RetrofitClient.init(this);
+
+        // Picasso com cache em memória/disco limitados
+        ImagemLoader.init(this);
+
+        // Conexão única com o chat (SignalR), compartilhada pelas telas
+        SessaoChat.init(this);
+
+        // Mensagens ainda não entregues voltam a ser enviadas
+        CaixaDeSaida.init(this);
+
+        // Sessão do usuário lida em segundo plano; com sessão válida, os chamados
+        // e as conversas recentes já começam a carregar antes da primeira tela
+        SessaoUsuario.init(this);
+        PreCarregamento.init(this);
+        SessaoUsuario.get().quandoCarregada(usuario -> {
+            if (usuario == null) return;
+            PreCarregamento.get().iniciar(usuario);
+            SincronizacaoWorker.agendar(this);
+        });
+
+        // Avisa no log quando as filas de tarefas em segundo plano acumulam
+        Tarefas.setMonitor((pool, naFila, ativas) -> {
+            if (naFila >= FILA_ALERTA) {
+                Log.w("TAREFAS", "Fila " + pool + ": " + naFila + " aguardando, " + ativas + " rodando");
+            }
+        });
+    }
+
+    @Override
+    public void onTrimMemory(int level) {
+        super.onTrimMemory(level);
+
+        // Devolve ao sistema os bitmaps em cache quando a memória aperta
+        ImagemLoader.aoReduzirMemoria(level);
+
+        // App foi para segundo plano: grava a telemetria de rede em files/telemetria_rede.txt
+        // e pede uma sincronização dos chamados, para a próxima abertura já ter os dados
+        if (level >= TRIM_MEMORY_UI_HIDDEN) {
+            SincronizacaoWorker.pedir(this);
+
+            File arquivo = new File(getFilesDir(), ARQUIVO_TELEMETRIA);
+            Tarefas.io(Tarefas.Prioridade.FUNDO, () -> {
+                try {
+                    TelemetriaRede.get().exportar(arquivo);
+                } catch (IOException e) {
+                    Log.w("REDE", "Falha ao exportar telemetria: " + e.getMessage());
+                }
+            });
+        }
+    }
+}
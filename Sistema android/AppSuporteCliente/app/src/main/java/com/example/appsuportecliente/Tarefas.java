@@ -0,0 +1,250 @@
+package com.example.appsuportecliente;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.Lifecycle;
+import androidx.lifecycle.LifecycleEventObserver;
+import androidx.lifecycle.LifecycleOwner;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Agendador de tarefas em segundo plano do app inteiro.
+ *
+ * - dois pools limitados: IO (rede, banco, arquivos) e CPU (parse de JSON, cálculos);
+ * - uma thread só para uploads, que podem levar minutos e não devem ocupar o pool de IO;
+ * - fila com prioridade: o que está visível na tela passa na frente;
+ * - {@link Escopo} amarrado ao ciclo de vida da Activity: ao destruir a tela,
+ *   as tarefas pendentes são canceladas e nada mais é postado na UI;
+ * - {@link Monitor} opcional para acompanhar o tamanho das filas.
+ *
+ * Substitui os "new Thread(...)" soltos, que não tinham limite e continuavam
+ * rodando (e segurando a Activity) depois que o usuário saía da tela.
+ */
+public final class Tarefas {
+
+    private static final String TAG = "TAREFAS";
+
+    // Ordem da fila: menor ordinal sai primeiro
+    public enum Prioridade {
+        VISIVEL,    // resultado aparece na tela agora (ex: histórico do chat aberto)
+        NORMAL,
+        FUNDO       // pode esperar (ex: gravar cache)
+    }
+
+    // Recebe o estado das filas a cada tarefa enfileirada ou concluída
+    public interface Monitor {
+        void onFila(String pool, int naFila, int ativas);
+    }
+
+    private static final int NUCLEOS = Runtime.getRuntime().availableProcessors();
+
+    // IO passa a maior parte do tempo esperando: mais threads que núcleos.
+    // CPU: um a menos que os núcleos, para sobrar um para a thread principal.
+    private static final Pool IO = new Pool("io", 4);
+    private static final Pool CPU = new Pool("cpu", Math.max(1, NUCLEOS - 1));
+
+    // Envios longos, um de cada vez: a prioridade da fila do IO não adianta
+    // contra threads que já estão ocupadas com uma transferência
+    private static final Pool UPLOAD = new Pool("upload", 1);
+
+    private static final Handler MAIN = new Handler(Looper.getMainLooper());
+
+    private static volatile Monitor monitor;
+
+    private Tarefas() {
+    }
+
+    public static void setMonitor(Monitor novoMonitor) {
+        monitor = novoMonitor;
+    }
+
+    // Tarefa de IO sem dono (ex: inicialização do app). Prefira escopo(...).io(...)
+    public static Tarefa io(Prioridade prioridade, Runnable tarefa) {
+        return IO.enfileirar(prioridade, tarefa);
+    }
+
+    // Tarefa de CPU sem dono. Prefira escopo(...).cpu(...)
+    public static Tarefa cpu(Prioridade prioridade, Runnable tarefa) {
+        return CPU.enfileirar(prioridade, tarefa);
+    }
+
+    // Cria um escopo que é cancelado quando o dono (Activity) for destruído
+    public static Escopo escopo(@NonNull LifecycleOwner dono) {
+        return new Escopo(dono.getLifecycle());
+    }
+
+    // ============================================================
+    // TAREFA
+    // ============================================================
+
+    // Tarefa enfileirada (permite cancelar antes ou durante a execução)
+    public static final class Tarefa extends FutureTask<Void> implements Comparable<Tarefa> {
+
+        private static final AtomicLong SEQUENCIA = new AtomicLong();
+
+        private final Prioridade prioridade;
+        private final long ordem = SEQUENCIA.getAndIncrement(); // FIFO dentro da mesma prioridade
+        private final Pool pool;
+        private Runnable aoTerminar;
+
+        private Tarefa(Pool pool, Prioridade prioridade, Runnable tarefa) {
+            super(tarefa, null);
+            this.pool = pool;
+            this.prioridade = prioridade;
+        }
+
+        // Cancela a tarefa (interrompe a thread se já estiver rodando)
+        public void cancelar() {
+            cancel(true);
+        }
+
+        @Override
+        protected void done() {
+            if (aoTerminar != null) aoTerminar.run();
+
+            // Cancelada ainda na fila: sai da fila agora, sem esperar a vez
+            if (isCancelled()) pool.executor.remove(this);
+            pool.informar();
+
+            if (!isCancelled()) {
+                try {
+                    get();
+                } catch (Exception e) {
+                    Log.e(TAG, "Tarefa falhou no pool " + pool.nome, e.getCause() != null ? e.getCause() : e);
+                }
+            }
+        }
+
+        @Override
+        public int compareTo(Tarefa outra) {
+            int p = prioridade.compareTo(outra.prioridade);
+            return p != 0 ? p : Long.compare(ordem, outra.ordem);
+        }
+    }
+
+    // ============================================================
+    // ESCOPO (ciclo de vida da Activity)
+    // ============================================================
+
+    public static final class Escopo {
+
+        private final Set<Tarefa> pendentes = ConcurrentHashMap.newKeySet();
+        private volatile boolean encerrado;
+
+        private Escopo(Lifecycle lifecycle) {
+            if (lifecycle.getCurrentState() == Lifecycle.State.DESTROYED) {
+                encerrado = true;
+                return;
+            }
+
+            lifecycle.addObserver((LifecycleEventObserver) (dono, evento) -> {
+                if (evento == Lifecycle.Event.ON_DESTROY) encerrar();
+            });
+        }
+
+        public Tarefa io(Prioridade prioridade, Runnable tarefa) {
+            return acompanhar(IO, prioridade, tarefa);
+        }
+
+        public Tarefa cpu(Prioridade prioridade, Runnable tarefa) {
+            return acompanhar(CPU, prioridade, tarefa);
+        }
+
+        // Upload que bloqueia até terminar (ex: envio em partes)
+        public Tarefa upload(Runnable tarefa) {
+            return acompanhar(UPLOAD, Prioridade.FUNDO, tarefa);
+        }
+
+        // Executa na thread principal, só se a tela ainda existir
+        public void naUi(Runnable acao) {
+            if (encerrado) return;
+            MAIN.post(() -> {
+                if (!encerrado) acao.run();
+            });
+        }
+
+        public boolean isEncerrado() {
+            return encerrado;
+        }
+
+        // Cancela tudo o que este escopo ainda tem pendente
+        public void encerrar() {
+            encerrado = true;
+            for (Tarefa t : pendentes) t.cancelar();
+            pendentes.clear();
+        }
+
+        private Tarefa acompanhar(Pool pool, Prioridade prioridade, Runnable tarefa) {
+            Tarefa t = pool.criar(prioridade, tarefa);
+            if (encerrado) {
+                t.cancelar();
+                return t;
+            }
+
+            t.aoTerminar = () -> pendentes.remove(t);
+            pendentes.add(t);
+            pool.executar(t);
+            return t;
+        }
+    }
+
+    // ============================================================
+    // POOL
+    // ============================================================
+
+    private static final class Pool {
+
+        private final String nome;
+        private final ThreadPoolExecutor executor;
+
+        Pool(String nome, int threads) {
+            this.nome = nome;
+
+            AtomicInteger contador = new AtomicInteger();
+            ThreadFactory fabrica = r -> {
+                Thread t = new Thread(r, nome + "-" + contador.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            };
+
+            // Com fila sem limite o pool nunca passa do "core": core == max.
+            // As threads ociosas morrem depois de 30 s.
+            executor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+                    new PriorityBlockingQueue<>(), fabrica);
+            executor.allowCoreThreadTimeOut(true);
+        }
+
+        Tarefa criar(Prioridade prioridade, Runnable tarefa) {
+            return new Tarefa(this, prioridade, tarefa);
+        }
+
+        Tarefa enfileirar(Prioridade prioridade, Runnable tarefa) {
+            Tarefa t = criar(prioridade, tarefa);
+            executar(t);
+            return t;
+        }
+
+        // execute() e não submit(): a fila de prioridade precisa receber a própria Tarefa
+        void executar(Tarefa t) {
+            executor.execute(t);
+            informar();
+        }
+
+        void informar() {
+            Monitor m = monitor;
+            if (m != null) m.onFila(nome, executor.getQueue().size(), executor.getActiveCount());
+        }
+    }
+}
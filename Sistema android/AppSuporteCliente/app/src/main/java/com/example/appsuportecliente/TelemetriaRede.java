@@ -0,0 +1,279 @@
+package com.example.appsuportecliente;
+
+import androidx.annotation.NonNull;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+import okhttp3.Call;
+import okhttp3.EventListener;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Telemetria das chamadas HTTP, por endpoint (ex: "GET /Tickets/VisualizarChatMobile/{id}").
+ *
+ * Ligada ao OkHttpClient compartilhado como EventListener.Factory: cada chamada
+ * ganha um {@link Medicao}, que anota os tempos dos eventos do OkHttp e, ao
+ * terminar, registra nos {@link Histograma}s do endpoint:
+ *  - dns e conexão (só quando a chamada abriu uma conexão nova);
+ *  - primeiro byte: do fim do envio da requisição até o início da resposta;
+ *  - total: da chamada inteira, até o corpo da resposta ser lido.
+ * Também soma bytes enviados/recebidos e conta erros por tipo
+ * (classe da exceção ou "HTTP 4xx"/"HTTP 5xx").
+ *
+ * O relatório com os percentis pode ser gravado em arquivo com {@link #exportar(File)}.
+ */
+public final class TelemetriaRede implements EventListener.Factory {
+
+    // Endpoints distintos guardados; os demais são somados em "outros"
+    private static final int MAX_ENDPOINTS = 32;
+
+    private static final TelemetriaRede INSTANCIA = new TelemetriaRede();
+
+    // Protegido por "this"; LinkedHashMap para o relatório sair na ordem de uso
+    private final Map<String, Endpoint> endpoints = new LinkedHashMap<>();
+
+    private TelemetriaRede() {
+    }
+
+    public static TelemetriaRede get() {
+        return INSTANCIA;
+    }
+
+    @NonNull
+    @Override
+    public EventListener create(@NonNull Call call) {
+        return new Medicao();
+    }
+
+    // ============================================================
+    // DADOS POR ENDPOINT
+    // ============================================================
+
+    static final class Endpoint {
+        final String nome;
+
+        // Tempos em microssegundos
+        final Histograma dns = new Histograma();
+        final Histograma conexao = new Histograma();
+        final Histograma primeiroByte = new Histograma();
+        final Histograma total = new Histograma();
+
+        // Protegidos por "this"
+        long bytesEnviados;
+        long bytesRecebidos;
+        final Map<String, Integer> erros = new TreeMap<>();
+
+        Endpoint(String nome) {
+            this.nome = nome;
+        }
+    }
+
+    private synchronized Endpoint endpoint(String nome) {
+        Endpoint e = endpoints.get(nome);
+        if (e != null) return e;
+
+        if (endpoints.size() >= MAX_ENDPOINTS) nome = "outros";
+        e = endpoints.get(nome);
+        if (e == null) {
+            e = new Endpoint(nome);
+            endpoints.put(nome, e);
+        }
+        return e;
+    }
+
+    // Método + caminho, sem a query string. Trechos variáveis são agrupados:
+    // nomes de arquivo viram {arquivo} e trechos com números (ids, "ticket_12") viram {id}.
+    static String nomeDoEndpoint(Request request) {
+        StringBuilder sb = new StringBuilder(request.method());
+        for (String segmento : request.url().pathSegments()) {
+            sb.append('/');
+            if (segmento.indexOf('.') >= 0) sb.append("{arquivo}");
+            else if (segmento.chars().anyMatch(Character::isDigit)) sb.append("{id}");
+            else sb.append(segmento);
+        }
+
+        // "GET/Tickets" -> "GET /Tickets"
+        return sb.insert(request.method().length(), ' ').toString();
+    }
+
+    // ============================================================
+    // MEDIÇÃO DE UMA CHAMADA
+    // ============================================================
+    // O OkHttp entrega os eventos de uma chamada em sequência (nunca ao mesmo tempo).
+
+    private final class Medicao extends EventListener {
+        private String nome;
+        private long inicio;
+        private long inicioDns;
+        private long dns = -1;
+        private long inicioConexao;
+        private long conexao = -1;
+        private long fimEnvio;
+        private long primeiroByte = -1;
+        private long bytesEnviados;
+        private long bytesRecebidos;
+        private String erro;
+        private boolean encerrada;
+
+        @Override
+        public void callStart(@NonNull Call call) {
+            nome = nomeDoEndpoint(call.request());
+            inicio = System.nanoTime();
+        }
+
+        @Override
+        public void dnsStart(@NonNull Call call, @NonNull String domainName) {
+            inicioDns = System.nanoTime();
+        }
+
+        @Override
+        public void dnsEnd(@NonNull Call call, @NonNull String domainName,
+                           @NonNull List<InetAddress> inetAddressList) {
+            dns = Math.max(dns, 0) + System.nanoTime() - inicioDns;
+        }
+
+        @Override
+        public void connectStart(@NonNull Call call, @NonNull InetSocketAddress inetSocketAddress,
+                                 @NonNull Proxy proxy) {
+            inicioConexao = System.nanoTime();
+        }
+
+        // Inclui o handshake TLS quando houver
+        @Override
+        public void connectEnd(@NonNull Call call, @NonNull InetSocketAddress inetSocketAddress,
+                               @NonNull Proxy proxy, Protocol protocol) {
+            conexao = Math.max(conexao, 0) + System.nanoTime() - inicioConexao;
+        }
+
+        @Override
+        public void connectFailed(@NonNull Call call, @NonNull InetSocketAddress inetSocketAddress,
+                                  @NonNull Proxy proxy, Protocol protocol, @NonNull IOException ioe) {
+            conexao = Math.max(conexao, 0) + System.nanoTime() - inicioConexao;
+        }
+
+        @Override
+        public void requestHeadersEnd(@NonNull Call call, @NonNull Request request) {
+            fimEnvio = System.nanoTime();
+            bytesEnviados += request.headers().byteCount();
+        }
+
+        @Override
+        public void requestBodyEnd(@NonNull Call call, long byteCount) {
+            fimEnvio = System.nanoTime();
+            bytesEnviados += byteCount;
+        }
+
+        @Override
+        public void responseHeadersStart(@NonNull Call call) {
+            if (primeiroByte < 0) primeiroByte = System.nanoTime() - fimEnvio;
+        }
+
+        @Override
+        public void responseHeadersEnd(@NonNull Call call, @NonNull Response response) {
+            bytesRecebidos += response.headers().byteCount();
+            if (response.code() >= 400) erro = "HTTP " + response.code() / 100 + "xx";
+        }
+
+        @Override
+        public void responseBodyEnd(@NonNull Call call, long byteCount) {
+            bytesRecebidos += byteCount;
+        }
+
+        @Override
+        public void callEnd(@NonNull Call call) {
+            encerrar(erro);
+        }
+
+        @Override
+        public void callFailed(@NonNull Call call, @NonNull IOException ioe) {
+            encerrar(ioe.getClass().getSimpleName());
+        }
+
+        private void encerrar(String tipoErro) {
+            if (encerrada || nome == null) return;
+            encerrada = true;
+
+            Endpoint e = endpoint(nome);
+            e.total.registrar(micros(System.nanoTime() - inicio));
+            if (dns >= 0) e.dns.registrar(micros(dns));
+            if (conexao >= 0) e.conexao.registrar(micros(conexao));
+            if (primeiroByte >= 0) e.primeiroByte.registrar(micros(primeiroByte));
+
+            synchronized (e) {
+                e.bytesEnviados += bytesEnviados;
+                e.bytesRecebidos += bytesRecebidos;
+                if (tipoErro != null) e.erros.merge(tipoErro, 1, Integer::sum);
+            }
+        }
+    }
+
+    private static long micros(long nanos) {
+        return nanos / 1_000;
+    }
+
+    // ============================================================
+    // RELATÓRIO
+    // ============================================================
+
+    // Grava o relatório no arquivo (substitui o anterior). Chamar fora da thread principal.
+    public void exportar(File arquivo) throws IOException {
+        File temporario = new File(arquivo.getPath() + ".tmp");
+        try (Writer out = new OutputStreamWriter(new FileOutputStream(temporario), StandardCharsets.UTF_8)) {
+            out.write(relatorio());
+        }
+        if (!temporario.renameTo(arquivo)) throw new IOException("Não foi possível gravar " + arquivo);
+    }
+
+    public String relatorio() {
+        List<Endpoint> lista;
+        synchronized (this) {
+            lista = new ArrayList<>(endpoints.values());
+        }
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("# Telemetria de rede - ")
+                .append(new SimpleDateFormat("yyyy-MM-dd HH:mm:ss", Locale.ROOT).format(new Date()))
+                .append("\n# tempos em ms: n, média, p50, p90, p99, p99.9, máximo\n");
+
+        for (Endpoint e : lista) {
+            sb.append('\n').append(e.nome).append('\n');
+            synchronized (e) {
+                sb.append(String.format(Locale.ROOT, "  chamadas=%d  enviados=%d B  recebidos=%d B  erros=%s%n",
+                        e.total.getTotal(), e.bytesEnviados, e.bytesRecebidos,
+                        e.erros.isEmpty() ? "-" : e.erros.toString()));
+            }
+            linha(sb, "total", e.total);
+            linha(sb, "primeiro_byte", e.primeiroByte);
+            linha(sb, "conexao", e.conexao);
+            linha(sb, "dns", e.dns);
+        }
+        return sb.toString();
+    }
+
+    private static void linha(StringBuilder sb, String nome, Histograma h) {
+        if (h.getTotal() == 0) return;
+
+        sb.append(String.format(Locale.ROOT, "  %-14s n=%-6d média=%9.1f  p50=%9.1f  p90=%9.1f  p99=%9.1f  p99.9=%9.1f  máx=%9.1f%n",
+                nome, h.getTotal(), h.getMedia() / 1000.0,
+                h.percentil(50) / 1000.0, h.percentil(90) / 1000.0, h.percentil(99) / 1000.0,
+                h.percentil(99.9) / 1000.0, h.getMaximo() / 1000.0));
+    }
+}
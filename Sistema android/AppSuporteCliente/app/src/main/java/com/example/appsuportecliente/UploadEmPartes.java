@@ -0,0 +1,319 @@
+package com.example.appsuportecliente;
+
+import com.google.gson.Gson;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+import okhttp3.Call;
+import okhttp3.FormBody;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+
+/**
+ * Upload retomável em partes de tamanho fixo para o backend (Upload/Iniciar,
+ * Upload/Parte, Upload/Concluir).
+ *
+ * O offset confirmado pelo servidor é salvo no {@link Registro} após cada parte.
+ * Se a conexão cair (ou o processo morrer), a próxima chamada de
+ * {@link #enviar} para o mesmo arquivo consulta Upload/Status e continua
+ * da última parte confirmada.
+ */
+public class UploadEmPartes {
+
+    // Tamanho padrão de cada parte (1 MB)
+    public static final int TAMANHO_PARTE_PADRAO = 1024 * 1024;
+
+    private static final MediaType OCTET_STREAM = MediaType.parse("application/octet-stream");
+    private static final Gson GSON = AdaptadoresJson.gson();
+
+    // Origem dos bytes do arquivo
+    public interface Fonte {
+        // Abre o arquivo já posicionado no offset informado
+        InputStream abrir(long offset) throws IOException;
+    }
+
+    // Persistência do andamento dos uploads (SharedPreferences no app, memória nos testes)
+    public interface Registro {
+        Estado carregar(String chave);
+        void salvar(Estado estado);
+        void remover(String chave);
+        List<Estado> pendentes();
+    }
+
+    // Progresso em bytes já confirmados pelo servidor
+    public interface Progresso {
+        void onProgresso(long confirmados, long total);
+    }
+
+    // Andamento de um upload (o que precisa sobreviver a um reinício do app)
+    public static class Estado {
+        public String chave;        // identifica o arquivo de origem (ex: uri + ticket)
+        public String origem;       // uri do arquivo, para retomar após reinício
+        public String nomeArquivo;
+        public long tamanho;
+        public int ticketId;
+        public String usuario;
+        public String uploadId;     // id devolvido pelo Upload/Iniciar
+        public long confirmados;    // bytes confirmados pelo servidor
+    }
+
+    // Resposta JSON dos endpoints de upload
+    static class RespostaUpload {
+        boolean success;
+        String uploadId;
+        long recebidos;
+        String fileUrl;
+        String error;
+        boolean conflito;           // veio de um 409 aceito (não faz parte do JSON)
+    }
+
+    private final OkHttpClient client;
+    private final String baseUrl;
+    private final Registro registro;
+    private final int tamanhoParte;
+    private final int tentativasPorParte;
+
+    private volatile Call chamadaAtual;
+    private volatile boolean cancelado;
+
+    public UploadEmPartes(OkHttpClient client, String baseUrl, Registro registro) {
+        this(client, baseUrl, registro, TAMANHO_PARTE_PADRAO, 3);
+    }
+
+    public UploadEmPartes(OkHttpClient client, String baseUrl, Registro registro,
+                          int tamanhoParte, int tentativasPorParte) {
+        this.client = client;
+        this.baseUrl = baseUrl;
+        this.registro = registro;
+        this.tamanhoParte = tamanhoParte;
+        this.tentativasPorParte = tentativasPorParte;
+    }
+
+    /**
+     * Envia (ou continua enviando) o arquivo descrito em {@code dados} e
+     * devolve a URL pública dele. Bloqueia a thread: chame fora da UI.
+     *
+     * @throws IOException se a rede falhar além das tentativas; o andamento fica
+     *                     salvo e uma nova chamada continua de onde parou.
+     */
+    public String enviar(Estado dados, Fonte fonte, Progresso progresso) throws IOException {
+        Estado estado = registro.carregar(dados.chave);
+
+        // Já existe upload para este arquivo: pergunta ao servidor onde parou
+        if (estado != null && estado.uploadId != null) {
+            RespostaUpload status = consultarStatus(estado.uploadId);
+            if (status != null) {
+                estado.confirmados = status.recebidos;
+                registro.salvar(estado);
+            } else {
+                estado = null; // o servidor não conhece mais este upload
+            }
+        }
+
+        if (estado == null) {
+            estado = dados;
+            estado.uploadId = iniciar(estado);
+            estado.confirmados = 0;
+            registro.salvar(estado);
+        }
+
+        if (progresso != null) progresso.onProgresso(estado.confirmados, estado.tamanho);
+
+        enviarPartes(estado, fonte, progresso);
+
+        String fileUrl = concluir(estado);
+        registro.remover(estado.chave);
+        return fileUrl;
+    }
+
+    // Interrompe o envio em andamento (o andamento salvo continua no registro)
+    public void cancelar() {
+        cancelado = true;
+        Call chamada = chamadaAtual;
+        if (chamada != null) chamada.cancel();
+    }
+
+    // ============================================================
+    // PARTES
+    // ============================================================
+
+    private void enviarPartes(Estado estado, Fonte fonte, Progresso progresso) throws IOException {
+        byte[] buffer = new byte[tamanhoParte];
+        int falhas = 0;
+        InputStream in = null;
+
+        try {
+            while (estado.confirmados < estado.tamanho) {
+                verificarCancelado();
+
+                if (in == null) in = fonte.abrir(estado.confirmados);
+
+                int lidos = lerParte(in, buffer, (int) Math.min(tamanhoParte, estado.tamanho - estado.confirmados));
+                if (lidos <= 0) throw new IOException("Arquivo terminou antes do esperado");
+
+                RespostaUpload resposta;
+                try {
+                    resposta = enviarParte(estado.uploadId, estado.confirmados, buffer, lidos);
+                } catch (IOException e) {
+                    verificarCancelado();
+                    if (++falhas >= tentativasPorParte) throw e;
+
+                    // Reabre a partir do último offset confirmado pelo servidor
+                    fechar(in);
+                    in = null;
+                    RespostaUpload status = consultarStatus(estado.uploadId);
+                    if (status == null) throw e;
+                    estado.confirmados = status.recebidos;
+                    registro.salvar(estado);
+                    continue;
+                }
+
+                // Servidor confirmou (ou corrigiu, em caso de 409) o offset
+                boolean avancou = resposta.recebidos == estado.confirmados + lidos;
+                estado.confirmados = resposta.recebidos;
+                registro.salvar(estado);
+                falhas = 0;
+
+                if (!avancou) {
+                    // Offset divergente: reposiciona o arquivo
+                    fechar(in);
+                    in = null;
+                }
+
+                if (progresso != null) progresso.onProgresso(estado.confirmados, estado.tamanho);
+            }
+        } finally {
+            fechar(in);
+        }
+    }
+
+    // Lê até "max" bytes (InputStream.read pode devolver menos que o pedido)
+    private static int lerParte(InputStream in, byte[] buffer, int max) throws IOException {
+        int total = 0;
+        while (total < max) {
+            int n = in.read(buffer, total, max - total);
+            if (n == -1) break;
+            total += n;
+        }
+        return total;
+    }
+
+    // ============================================================
+    // CHAMADAS HTTP
+    // ============================================================
+
+    private String iniciar(Estado estado) throws IOException {
+        RequestBody corpo = new FormBody.Builder()
+                .add("nomeArquivo", estado.nomeArquivo)
+                .add("tamanho", String.valueOf(estado.tamanho))
+                .add("ticketId", String.valueOf(estado.ticketId))
+                .add("usuario", estado.usuario)
+                .build();
+
+        RespostaUpload resposta = executar(new Request.Builder()
+                .url(baseUrl + "Upload/Iniciar").post(corpo).build(), false);
+
+        if (resposta == null || !resposta.success || resposta.uploadId == null) {
+            throw new IOException("Servidor recusou o upload: "
+                    + (resposta != null ? resposta.error : "sem resposta"));
+        }
+        return resposta.uploadId;
+    }
+
+    // Retorna null se o servidor não conhece o upload (404)
+    private RespostaUpload consultarStatus(String uploadId) throws IOException {
+        RespostaUpload resposta = executar(new Request.Builder()
+                .url(baseUrl + "Upload/Status/" + uploadId).get().build(), false);
+
+        if (resposta != null && !resposta.success) {
+            throw new IOException("Falha ao consultar upload " + uploadId + ": " + resposta.error);
+        }
+        return resposta;
+    }
+
+    private RespostaUpload enviarParte(String uploadId, long offset, byte[] dados, int tamanho)
+            throws IOException {
+
+        RequestBody corpo = RequestBody.create(dados, OCTET_STREAM, 0, tamanho);
+
+        // 409 (offset divergente) também traz "recebidos" no corpo
+        RespostaUpload resposta = executar(new Request.Builder()
+                .url(baseUrl + "Upload/Parte/" + uploadId + "?offset=" + offset)
+                .post(corpo).build(), true);
+
+        if (resposta == null) throw new IOException("Upload " + uploadId + " não existe mais no servidor");
+        if (!resposta.success && !resposta.conflito) {
+            throw new IOException("Servidor recusou a parte: " + resposta.error);
+        }
+        return resposta;
+    }
+
+    private String concluir(Estado estado) throws IOException {
+        verificarCancelado();
+
+        RespostaUpload resposta = executar(new Request.Builder()
+                .url(baseUrl + "Upload/Concluir/" + estado.uploadId)
+                .post(RequestBody.create(new byte[0], null)).build(), false);
+
+        if (resposta == null || !resposta.success || resposta.fileUrl == null) {
+            throw new IOException("Falha ao concluir upload: "
+                    + (resposta != null ? resposta.error : "upload não encontrado"));
+        }
+        return resposta.fileUrl;
+    }
+
+    // Executa a requisição e converte o JSON. 404 → null; 409 aceito só se aceitarConflito.
+    // Qualquer outro erro HTTP (400, 500...) é IOException: o corpo de erro nunca
+    // é tratado como resposta, senão um "recebidos" ausente viraria offset 0.
+    private RespostaUpload executar(Request request, boolean aceitarConflito) throws IOException {
+        Call chamada = client.newCall(request);
+        chamadaAtual = chamada;
+
+        try (Response response = chamada.execute()) {
+            if (response.code() == 404) return null;
+
+            boolean conflito = response.code() == 409;
+            String corpo = response.body() != null ? response.body().string() : "";
+            RespostaUpload resposta = lerJson(corpo);
+
+            if (!response.isSuccessful() && !(conflito && aceitarConflito)) {
+                throw new IOException("HTTP " + response.code() + " em " + request.url().encodedPath()
+                        + (resposta != null && resposta.error != null ? ": " + resposta.error : ""));
+            }
+            if (resposta == null) {
+                throw new IOException("Resposta inválida em " + request.url().encodedPath());
+            }
+
+            resposta.conflito = conflito;
+            return resposta;
+        } finally {
+            chamadaAtual = null;
+        }
+    }
+
+    private static RespostaUpload lerJson(String corpo) {
+        try {
+            return GSON.fromJson(corpo, RespostaUpload.class);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private void verificarCancelado() throws IOException {
+        if (cancelado) throw new IOException("Canceled");
+    }
+
+    private static void fechar(InputStream in) {
+        if (in == null) return;
+        try {
+            in.close();
+        } catch (IOException ignored) {
+            // nada a fazer
+        }
+    }
+}
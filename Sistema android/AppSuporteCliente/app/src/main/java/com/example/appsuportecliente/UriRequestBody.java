@@ -0,0 +1,82 @@
+package com.example.appsuportecliente;
+
+import android.content.ContentResolver;
+import android.net.Uri;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okio.BufferedSink;
+import okio.Okio;
+import okio.Source;
+
+/**
+ * Corpo de requisição que lê o arquivo direto do ContentResolver enquanto envia.
+ *
+ * Não existe cópia temporária em disco: os bytes vão do provedor do arquivo
+ * para o buffer do OkHttp, segmento a segmento, e o progresso é informado
+ * a cada bloco escrito.
+ */
+public class UriRequestBody extends RequestBody {
+
+    // Recebe o progresso do envio (chamado na thread do OkHttp)
+    public interface ProgressoListener {
+        void onProgresso(long enviados, long total);
+    }
+
+    private static final long SEGMENTO = 8192;
+
+    private final ContentResolver resolver;
+    private final Uri uri;
+    private final MediaType tipo;
+    private final long tamanho;
+    private final ProgressoListener listener;
+
+    /**
+     * @param tamanho  tamanho em bytes, ou -1 se o provedor não informar
+     * @param listener pode ser null
+     */
+    public UriRequestBody(ContentResolver resolver, Uri uri, @Nullable MediaType tipo,
+                          long tamanho, @Nullable ProgressoListener listener) {
+        this.resolver = resolver;
+        this.uri = uri;
+        this.tipo = tipo;
+        this.tamanho = tamanho;
+        this.listener = listener;
+    }
+
+    @Nullable
+    @Override
+    public MediaType contentType() {
+        return tipo;
+    }
+
+    @Override
+    public long contentLength() {
+        return tamanho;
+    }
+
+    @Override
+    public void writeTo(@NonNull BufferedSink sink) throws IOException {
+        InputStream in = resolver.openInputStream(uri);
+        if (in == null) throw new FileNotFoundException("Não foi possível abrir " + uri);
+
+        try (Source source = Okio.source(in)) {
+            long enviados = 0;
+            long lidos;
+
+            // Lê direto para o buffer do sink (sem array intermediário)
+            while ((lidos = source.read(sink.getBuffer(), SEGMENTO)) != -1) {
+                sink.emitCompleteSegments();
+                enviados += lidos;
+                if (listener != null) listener.onProgresso(enviados, tamanho);
+            }
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.appsuportecliente.model;
+
+import java.util.List;
+
+/**
+ * Resposta do Tickets/AlteracoesPorCliente, usada pela sincronização em
+ * segundo plano (SincronizacaoWorker).
+ *
+ * {
+ *   "success": true,
+ *   "tickets": [...],          chamados alterados desde a marca enviada
+ *   "comMensagens": [12, 15],  chamados com mensagens novas desde a marca
+ *   "marca": "2025-10-20 14:32:00"
+ * }
+ *
+ * A marca é o horário do servidor; ela volta como "desde" na próxima sincronização.
+ */
+public class AlteracoesChamados {
+
+    private boolean success;
+    private List<Ticket> tickets;
+    private List<Integer> comMensagens;
+    private String marca;
+
+    public boolean isSuccess() { return success; }
+
+    public List<Ticket> getTickets() { return tickets; }
+
+    public List<Integer> getComMensagens() { return comMensagens; }
+
+    public String getMarca() { return marca; }
+
+    // Setters usados pelo AdaptadoresJson ao ler a resposta da API.
+    public void setSuccess(boolean success) { this.success = success; }
+
+    public void setTickets(List<Ticket> tickets) { this.tickets = tickets; }
+
+    public void setComMensagens(List<Integer> comMensagens) { this.comMensagens = comMensagens; }
+
+    public void setMarca(String marca) { this.marca = marca; }
+}
@@ -0,0 +1,33 @@
+package com.example.appsuportecliente.model;
+
+/**
+ * Aviso do evento "ChamadoAtualizado" do ChatHub: um chamado do usuário mudou
+ * de status ou de técnico, ou recebeu uma mensagem nova.
+ *
+ * Enviado ao grupo do usuário (AcompanharChamados) com o estado atual do
+ * chamado; os nomes dos campos são os do objeto anônimo do AvisosChamados.
+ */
+public class ChamadoAtualizado {
+
+    private int ticketId;
+
+    // Status e técnico atuais (técnico null = ainda não atribuído)
+    private String status;
+    private String tecnico;
+
+    // Só em avisos de mensagem nova: quem enviou e quando ("yyyy-MM-dd HH:mm:ss")
+    private String autorMensagem;
+    private String dataMensagem;
+
+    public int getTicketId() { return ticketId; }
+
+    public String getStatus() { return status; }
+
+    public String getTecnico() { return tecnico; }
+
+    public String getAutorMensagem() { return autorMensagem; }
+
+    public String getDataMensagem() { return dataMensagem; }
+
+    public boolean isMensagemNova() { return dataMensagem != null; }
+}
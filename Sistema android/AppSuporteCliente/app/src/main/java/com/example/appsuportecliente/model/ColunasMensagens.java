@@ -0,0 +1,183 @@
+package com.example.appsuportecliente.model;
+
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lista de mensagens guardada em colunas, para conversas grandes
+ * (ex: o histórico inteiro que vem na reabertura de um chamado).
+ *
+ * Em vez de um objeto Mensagem por item, cada campo fica em um array:
+ * id, ticket e data em arrays de primitivos; remetente, destinatário e tipo
+ * como índices de uma tabela com os poucos valores distintos da conversa.
+ * Conteúdo, nome do arquivo e cursor ficam em UTF-8, um depois do outro, num
+ * único array de bytes da lista inteira (só o fim de cada um é guardado), em
+ * vez de três objetos String por mensagem.
+ *
+ * {@link #get(int)} monta uma Mensagem nova a cada chamada (cópia: alterá-la
+ * não muda a lista; os textos são decodificados de novo). O id local do banco
+ * não é guardado.
+ */
+public final class ColunasMensagens extends AbstractList<Mensagem> {
+
+    private static final int CAPACIDADE_INICIAL = 16;
+
+    // Índice de "" na tabela de valores (o 0 é null)
+    private static final short VAZIO = 1;
+
+    // Textos de cada mensagem, nesta ordem, no array de bytes
+    private static final int CONTEUDO = 0;
+    private static final int NOME_ORIGINAL = 1;
+    private static final int CURSOR = 2;
+    private static final int TEXTOS = 3;
+
+    private int tamanho;
+    private int[] ids = new int[CAPACIDADE_INICIAL];
+    private int[] ticketIds = new int[CAPACIDADE_INICIAL];
+    private long[] datasEnvio = new long[CAPACIDADE_INICIAL];
+    private short[] remetentes = new short[CAPACIDADE_INICIAL];
+    private short[] destinatarios = new short[CAPACIDADE_INICIAL];
+    private short[] tipos = new short[CAPACIDADE_INICIAL];
+
+    // Fim (exclusivo) de cada texto em "bytes": o início é o fim do anterior.
+    // Bit k de "nulos": o texto k da mensagem é null (e não "").
+    private int[] fins = new int[CAPACIDADE_INICIAL * TEXTOS];
+    private byte[] nulos = new byte[CAPACIDADE_INICIAL];
+    private byte[] bytes = new byte[CAPACIDADE_INICIAL * 64];
+    private int bytesUsados;
+
+    // Valores repetidos (nomes e tipos)
+    private final List<String> valores = new ArrayList<>();
+    private final Map<String, Short> indices = new HashMap<>();
+
+    public ColunasMensagens() {
+        valores.add(null);
+        valores.add("");
+        indices.put("", VAZIO);
+    }
+
+    @Override
+    public int size() {
+        return tamanho;
+    }
+
+    @Override
+    public Mensagem get(int i) {
+        if (i < 0 || i >= tamanho) throw new IndexOutOfBoundsException("Índice " + i + ", tamanho " + tamanho);
+
+        Mensagem m = new Mensagem();
+        m.setId(ids[i]);
+        m.setTicketId(ticketIds[i]);
+        m.setDataEnvio(datasEnvio[i]);
+        m.setRemetente(valores.get(remetentes[i]));
+        m.setDestinatario(valores.get(destinatarios[i]));
+        m.setTipo(valores.get(tipos[i]));
+        m.setConteudo(texto(i, CONTEUDO));
+        m.setNomeOriginal(texto(i, NOME_ORIGINAL));
+        m.setCursor(texto(i, CURSOR));
+        return m;
+    }
+
+    // Copia os campos da mensagem para o fim das colunas
+    @Override
+    public boolean add(Mensagem m) {
+        if (tamanho == ids.length) crescer();
+
+        int i = tamanho++;
+        ids[i] = m.getId();
+        ticketIds[i] = m.getTicketId();
+        datasEnvio[i] = m.getDataEnvio();
+        remetentes[i] = indice(m.getRemetente());
+        destinatarios[i] = indice(m.getDestinatario());
+        tipos[i] = indice(m.getTipo());
+        nulos[i] = 0;
+        guardarTexto(i, CONTEUDO, m.getConteudo());
+        guardarTexto(i, NOME_ORIGINAL, m.getNomeOriginal());
+        guardarTexto(i, CURSOR, m.getCursor());
+        modCount++;
+        return true;
+    }
+
+    // Devolve a sobra dos arrays (chamado quando a lista não cresce mais)
+    public void compactar() {
+        redimensionar(tamanho);
+        fins = Arrays.copyOf(fins, tamanho * TEXTOS);
+        bytes = Arrays.copyOf(bytes, bytesUsados);
+    }
+
+    // Leitura direta das colunas, sem montar a Mensagem
+    public int getId(int i) {
+        return ids[i];
+    }
+
+    public long getDataEnvio(int i) {
+        return datasEnvio[i];
+    }
+
+    public String getRemetente(int i) {
+        return valores.get(remetentes[i]);
+    }
+
+    public String getConteudo(int i) {
+        return texto(i, CONTEUDO);
+    }
+
+    private String texto(int i, int campo) {
+        if ((nulos[i] & (1 << campo)) != 0) return null;
+
+        int j = i * TEXTOS + campo;
+        int inicio = j == 0 ? 0 : fins[j - 1];
+        int fim = fins[j];
+        return fim == inicio ? "" : new String(bytes, inicio, fim - inicio, StandardCharsets.UTF_8);
+    }
+
+    private void guardarTexto(int i, int campo, String valor) {
+        if (valor == null) {
+            nulos[i] |= (byte) (1 << campo);
+        } else if (!valor.isEmpty()) {
+            byte[] codificado = valor.getBytes(StandardCharsets.UTF_8);
+            if (bytesUsados + codificado.length > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, bytesUsados + codificado.length));
+            }
+            System.arraycopy(codificado, 0, bytes, bytesUsados, codificado.length);
+            bytesUsados += codificado.length;
+        }
+        fins[i * TEXTOS + campo] = bytesUsados;
+    }
+
+    // Com mais valores distintos do que cabem em um short (não é uma conversa
+    // entre poucas pessoas), os excedentes ficam como texto vazio.
+    private short indice(String valor) {
+        if (valor == null) return 0;
+
+        Short existente = indices.get(valor);
+        if (existente != null) return existente;
+        if (valores.size() > Short.MAX_VALUE) return VAZIO;
+
+        short novo = (short) valores.size();
+        valores.add(valor);
+        indices.put(valor, novo);
+        return novo;
+    }
+
+    private void crescer() {
+        int capacidade = Math.max(CAPACIDADE_INICIAL, ids.length * 2);
+        redimensionar(capacidade);
+        fins = Arrays.copyOf(fins, capacidade * TEXTOS);
+    }
+
+    private void redimensionar(int capacidade) {
+        ids = Arrays.copyOf(ids, capacidade);
+        ticketIds = Arrays.copyOf(ticketIds, capacidade);
+        datasEnvio = Arrays.copyOf(datasEnvio, capacidade);
+        remetentes = Arrays.copyOf(remetentes, capacidade);
+        destinatarios = Arrays.copyOf(destinatarios, capacidade);
+        tipos = Arrays.copyOf(tipos, capacidade);
+        nulos = Arrays.copyOf(nulos, capacidade);
+    }
+}
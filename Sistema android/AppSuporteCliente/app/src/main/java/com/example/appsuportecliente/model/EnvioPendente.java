@@ -0,0 +1,43 @@
+package com.example.appsuportecliente.model;
+
+/**
+ * Mensagem do cliente que está na caixa de saída (ainda sem confirmação do servidor).
+ *
+ * O clientId é gerado no aparelho e enviado junto com a mensagem: reenviar
+ * o mesmo clientId nunca grava a mensagem duas vezes no servidor.
+ */
+public class EnvioPendente {
+
+    // Id gerado no aparelho (UUID)
+    private final String clientId;
+
+    // Ticket (chamado) de destino
+    private final int ticketId;
+
+    // Nome de quem enviou (o usuário logado)
+    private final String autor;
+
+    // Texto da mensagem ou "file:<url>" para anexos já enviados
+    private final String conteudo;
+
+    // Momento em que o usuário enviou (epoch em ms)
+    private final long criadaEm;
+
+    public EnvioPendente(String clientId, int ticketId, String autor, String conteudo, long criadaEm) {
+        this.clientId = clientId;
+        this.ticketId = ticketId;
+        this.autor = autor;
+        this.conteudo = conteudo;
+        this.criadaEm = criadaEm;
+    }
+
+    public String getClientId() { return clientId; }
+
+    public int getTicketId() { return ticketId; }
+
+    public String getAutor() { return autor; }
+
+    public String getConteudo() { return conteudo; }
+
+    public long getCriadaEm() { return criadaEm; }
+}
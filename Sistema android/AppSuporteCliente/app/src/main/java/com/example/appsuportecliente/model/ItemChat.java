@@ -0,0 +1,153 @@
+package com.example.appsuportecliente.model;
+
+import java.util.Objects;
+
+/**
+ * Item exibido na linha do tempo do chat (uma bolha).
+ *
+ * É imutável: o ChatAdapter compara itens com DiffUtil, então
+ * qualquer mudança deve gerar um novo ItemChat.
+ *
+ * Os valores exibidos (texto formatado, rodapé) já vêm prontos do
+ * PreparadorMensagens: o ChatAdapter só os atribui às views.
+ */
+public class ItemChat {
+
+    // Tipos de bolha (também usados como view type do RecyclerView)
+    public static final int TIPO_TEXTO = 0;
+    public static final int TIPO_IMAGEM = 1;
+    public static final int TIPO_ARQUIVO = 2;
+    public static final int TIPO_ENVIO = 3; // arquivo do cliente ainda sendo enviado
+
+    // Progresso desconhecido (o provedor do arquivo não informou o tamanho)
+    public static final int PROGRESSO_INDETERMINADO = -1;
+
+    // Situação de entrega das mensagens do cliente (CaixaDeSaida)
+    public static final int ENTREGA_NENHUMA = 0;    // mensagem do técnico ou do histórico
+    public static final int ENTREGA_PENDENTE = 1;   // aguardando confirmação do servidor
+    public static final int ENTREGA_CONFIRMADA = 2;
+    public static final int ENTREGA_FALHOU = 3;     // servidor recusou
+
+    // Chave estável da bolha (usada como id do RecyclerView)
+    private final long chave;
+
+    // Tipo da bolha (TIPO_TEXTO, TIPO_IMAGEM, TIPO_ARQUIVO ou TIPO_ENVIO)
+    private final int tipo;
+
+    // Texto da mensagem, URL do arquivo quando for anexo, ou nome do arquivo em envio
+    private final String conteudo;
+
+    // Texto pronto para o TextView (HTML já convertido; nome do arquivo nos anexos)
+    private final CharSequence texto;
+
+    // true se a mensagem foi enviada pelo próprio cliente
+    private final boolean usuario;
+
+    // Nome de quem enviou, exibido no rodapé (null nas mensagens do cliente)
+    private final String autor;
+
+    // Data de envio em milissegundos desde 1970
+    private final long dataEnvio;
+
+    // Horário exibido abaixo da bolha (ex: "14:32")
+    private final String hora;
+
+    // Percentual enviado (só para TIPO_ENVIO): 0 a 100 ou PROGRESSO_INDETERMINADO
+    private final int progresso;
+
+    // ENTREGA_NENHUMA, ENTREGA_PENDENTE, ENTREGA_CONFIRMADA ou ENTREGA_FALHOU
+    private final int entrega;
+
+    // Linha abaixo da bolha: autor, horário e situação da entrega
+    private final String rodape;
+
+    // Bolha de mensagem (texto, imagem ou arquivo)
+    public ItemChat(long chave, int tipo, String conteudo, CharSequence texto, boolean usuario,
+                    String autor, long dataEnvio, String hora) {
+        this(chave, tipo, conteudo, texto, usuario, autor, dataEnvio, hora, 0, ENTREGA_NENHUMA);
+    }
+
+    // Bolha de arquivo em envio (TIPO_ENVIO)
+    public ItemChat(long chave, String nomeArquivo, long dataEnvio, String hora, int progresso) {
+        this(chave, TIPO_ENVIO, nomeArquivo, "📤 " + nomeArquivo, true, null, dataEnvio, hora,
+                progresso, ENTREGA_NENHUMA);
+    }
+
+    private ItemChat(long chave, int tipo, String conteudo, CharSequence texto, boolean usuario,
+                     String autor, long dataEnvio, String hora, int progresso, int entrega) {
+        this.chave = chave;
+        this.tipo = tipo;
+        this.conteudo = conteudo;
+        this.texto = texto;
+        this.usuario = usuario;
+        this.autor = autor;
+        this.dataEnvio = dataEnvio;
+        this.hora = hora;
+        this.progresso = progresso;
+        this.entrega = entrega;
+        this.rodape = (autor != null ? autor + " · " + hora : hora) + marcaEntrega(entrega);
+    }
+
+    // Cópia deste item com outro progresso (o item é imutável)
+    public ItemChat comProgresso(int novoProgresso) {
+        return new ItemChat(chave, tipo, conteudo, texto, usuario, autor, dataEnvio, hora, novoProgresso, entrega);
+    }
+
+    // Cópia deste item com outra situação de entrega
+    public ItemChat comEntrega(int novaEntrega) {
+        return new ItemChat(chave, tipo, conteudo, texto, usuario, autor, dataEnvio, hora, progresso, novaEntrega);
+    }
+
+    // Indicador depois do horário: relógio enquanto o servidor não confirma
+    private static String marcaEntrega(int entrega) {
+        switch (entrega) {
+            case ENTREGA_PENDENTE: return " 🕓";
+            case ENTREGA_CONFIRMADA: return " ✓";
+            case ENTREGA_FALHOU: return " ⚠️ não enviada";
+            default: return "";
+        }
+    }
+
+    public long getChave() { return chave; }
+
+    public int getTipo() { return tipo; }
+
+    public String getConteudo() { return conteudo; }
+
+    public CharSequence getTexto() { return texto; }
+
+    public boolean isUsuario() { return usuario; }
+
+    public String getAutor() { return autor; }
+
+    public long getDataEnvio() { return dataEnvio; }
+
+    public String getHora() { return hora; }
+
+    public String getRodape() { return rodape; }
+
+    public int getProgresso() { return progresso; }
+
+    public int getEntrega() { return entrega; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ItemChat)) return false;
+        ItemChat outro = (ItemChat) o;
+        return chave == outro.chave
+                && tipo == outro.tipo
+                && progresso == outro.progresso
+                && entrega == outro.entrega
+                && usuario == outro.usuario
+                && dataEnvio == outro.dataEnvio
+                && Objects.equals(conteudo, outro.conteudo)
+                && Objects.equals(autor, outro.autor)
+                && Objects.equals(hora, outro.hora);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(chave);
+    }
+}
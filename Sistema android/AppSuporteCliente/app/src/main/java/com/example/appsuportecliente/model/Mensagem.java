@@ -21,12 +21,25 @@ public class Mensagem {
     // Conteúdo textual da mensagem enviada
     private String conteudo;
 
-    // Data e horário em que a mensagem foi enviada (string vinda da API)
-    private String dataEnvio;
+    // Data e horário em que a mensagem foi enviada, em milissegundos desde 1970
+    // (0 = sem data). A string da API é convertida na leitura do JSON/banco.
+    private long dataEnvio;
 
     // Referência ao ticket (chamado) ao qual esta mensagem pertence
     private int ticketId;
 
+    // Tipo calculado pelo backend ("texto", "imagem" ou "arquivo")
+    private String tipo;
+
+    // Nome original do arquivo anexado (vazio para mensagens de texto)
+    private String nomeOriginal;
+
+    // Posição da mensagem no histórico do servidor (usada para pedir as anteriores)
+    private String cursor;
+
+    // Id da linha no banco local (não vem da API; 0 se a mensagem não veio do banco)
+    private transient long idLocal;
+
     // =============================
     //        GETTERS
     // =============================
@@ -52,7 +65,7 @@ public class Mensagem {
     }
 
     // Retorna a data e hora de envio
-    public String getDataEnvio() {
+    public long getDataEnvio() {
         return dataEnvio;
     }
 
@@ -61,6 +74,26 @@ public class Mensagem {
         return ticketId;
     }
 
+    // Retorna o tipo da mensagem (texto, imagem, arquivo)
+    public String getTipo() {
+        return tipo;
+    }
+
+    // Retorna o nome original do arquivo anexado
+    public String getNomeOriginal() {
+        return nomeOriginal;
+    }
+
+    // Retorna o cursor de paginação desta mensagem
+    public String getCursor() {
+        return cursor;
+    }
+
+    // Retorna o id da linha no banco local
+    public long getIdLocal() {
+        return idLocal;
+    }
+
     // =============================
     //        SETTERS
     // =============================
@@ -86,7 +119,7 @@ public class Mensagem {
     }
 
     // Define a data/hora do envio
-    public void setDataEnvio(String dataEnvio) {
+    public void setDataEnvio(long dataEnvio) {
         this.dataEnvio = dataEnvio;
     }
 
@@ -94,4 +127,24 @@ public class Mensagem {
     public void setTicketId(int ticketId) {
         this.ticketId = ticketId;
     }
+
+    // Define o tipo da mensagem
+    public void setTipo(String tipo) {
+        this.tipo = tipo;
+    }
+
+    // Define o nome original do arquivo
+    public void setNomeOriginal(String nomeOriginal) {
+        this.nomeOriginal = nomeOriginal;
+    }
+
+    // Define o cursor de paginação
+    public void setCursor(String cursor) {
+        this.cursor = cursor;
+    }
+
+    // Define o id da linha no banco local
+    public void setIdLocal(long idLocal) {
+        this.idLocal = idLocal;
+    }
 }
@@ -0,0 +1,51 @@
+package com.example.appsuportecliente.model;
+
+/**
+ * Mensagem recebida em tempo real pelo evento "ReceberMensagem" do ChatHub.
+ *
+ * O SignalR desserializa o payload direto nesta classe; os nomes dos campos
+ * precisam ser os mesmos do objeto anônimo enviado pelo servidor
+ * (ChatHub, ChatController e UploadController).
+ */
+public class MensagemAoVivo {
+
+    // Ticket da mensagem (0 em servidores antigos, que não enviavam o campo)
+    private int ticketId;
+
+    // Id da mensagem na tabela Mensagens (0 em avisos do sistema e de arquivos)
+    private int id;
+
+    // Id gerado pelo app que enviou a mensagem (null quando veio da web)
+    private String clientId;
+
+    // Nome de quem enviou
+    private String autor;
+
+    // Texto da mensagem, ou "file:<url>" para arquivos
+    private String mensagem;
+
+    // "cliente", "tecnico" ou "sistema"
+    private String papel;
+
+    // Data de envio no formato "yyyy-MM-dd HH:mm:ss"
+    private String data;
+
+    // Nome original do arquivo (só nos avisos de upload)
+    private String nomeOriginal;
+
+    public int getTicketId() { return ticketId; }
+
+    public int getId() { return id; }
+
+    public String getClientId() { return clientId; }
+
+    public String getAutor() { return autor != null ? autor : ""; }
+
+    public String getMensagem() { return mensagem != null ? mensagem : ""; }
+
+    public String getPapel() { return papel != null ? papel : ""; }
+
+    public String getData() { return data; }
+
+    public String getNomeOriginal() { return nomeOriginal; }
+}
@@ -10,6 +10,8 @@ import java.util.List;
  *  - success → se deu certo ou não reabrir o ticket
  *  - ticket → objeto completo do chamado reaberto
  *  - mensagens → histórico de mensagens do ticket enviado pela API
+ *  - cursorAnterior → quando o histórico vem paginado, cursor para pedir
+ *    as mensagens anteriores (null se não houver mais)
  *
  * Esta classe precisa refletir exatamente o JSON retornado pela API ASP.NET,
  * para que o Retrofit consiga fazer a desserialização corretamente.
@@ -25,6 +27,9 @@ public class ReabrirResponse {
     // Lista de mensagens já existentes no ticket
     private List<Mensagem> mensagens;
 
+    // Cursor da página anterior do histórico (null = início da conversa)
+    private String cursorAnterior;
+
     // =============================
     //           GETTERS
     // =============================
@@ -50,4 +55,33 @@ public class ReabrirResponse {
     public List<Mensagem> getMensagens() {
         return mensagens;
     }
+
+    /**
+     * Retorna o cursor para buscar as mensagens anteriores
+     * (null quando não há mais histórico).
+     */
+    public String getCursorAnterior() {
+        return cursorAnterior;
+    }
+
+    // =============================
+    //           SETTERS
+    // =============================
+    // Usados pelo AdaptadoresJson ao ler a resposta da API.
+
+    public void setSuccess(boolean success) {
+        this.success = success;
+    }
+
+    public void setTicket(Ticket ticket) {
+        this.ticket = ticket;
+    }
+
+    public void setMensagens(List<Mensagem> mensagens) {
+        this.mensagens = mensagens;
+    }
+
+    public void setCursorAnterior(String cursorAnterior) {
+        this.cursorAnterior = cursorAnterior;
+    }
 }
@@ -0,0 +1,71 @@
+package com.example.appsuportecliente.model;
+
+/**
+ * Um resultado da busca local: um chamado (título/descrição) ou uma
+ * mensagem do chat que contém as palavras procuradas.
+ *
+ * O trecho vem do snippet() do SQLite, com as palavras encontradas entre
+ * {@link #INICIO_DESTAQUE} e {@link #FIM_DESTAQUE}.
+ */
+public class ResultadoBusca {
+
+    public static final int TIPO_CHAMADO = 0;
+    public static final int TIPO_MENSAGEM = 1;
+
+    // Marcas do trecho (caracteres de controle: não aparecem em texto digitado)
+    public static final char INICIO_DESTAQUE = '\u0002';
+    public static final char FIM_DESTAQUE = '\u0003';
+
+    private final int tipo;
+
+    // Chamado encontrado (ou o chamado da mensagem)
+    private final int ticketId;
+    private final String titulo;
+    private final String status;
+    private final String tecnico;
+
+    // Texto em volta das palavras encontradas
+    private final String trecho;
+
+    // Só para mensagens: id local (ChatDatabase), autor e data de envio (epoch em ms)
+    private final long idMensagem;
+    private final String autor;
+    private final long dataEnvio;
+
+    // BM25 (maior = mais relevante)
+    private final double relevancia;
+
+    public ResultadoBusca(int tipo, int ticketId, String titulo, String status, String tecnico,
+                          String trecho, long idMensagem, String autor, long dataEnvio, double relevancia) {
+        this.tipo = tipo;
+        this.ticketId = ticketId;
+        this.titulo = titulo;
+        this.status = status;
+        this.tecnico = tecnico;
+        this.trecho = trecho;
+        this.idMensagem = idMensagem;
+        this.autor = autor;
+        this.dataEnvio = dataEnvio;
+        this.relevancia = relevancia;
+    }
+
+    public int getTipo() { return tipo; }
+
+    public int getTicketId() { return ticketId; }
+
+    public String getTitulo() { return titulo; }
+
+    public String getStatus() { return status; }
+
+    public String getTecnico() { return tecnico; }
+
+    public String getTrecho() { return trecho; }
+
+    public long getIdMensagem() { return idMensagem; }
+
+    public String getAutor() { return autor; }
+
+    public long getDataEnvio() { return dataEnvio; }
+
+    public double getRelevancia() { return relevancia; }
+}
@@ -0,0 +1,43 @@
+package com.example.appsuportecliente.model;
+
+import java.util.Locale;
+
+/**
+ * Situação de um chamado, interpretada uma vez quando o chamado é lido
+ * (o texto vindo da API varia em maiúsculas e sinônimos). O texto exibido
+ * no card é o da própria situação, como o servidor grava hoje.
+ */
+public enum StatusTicket {
+    ABERTO("Aberto"),
+    EM_ANDAMENTO("Em Andamento"),
+    FECHADO("Finalizado"),      // "fechado", "finalizado" ou "encerrado"
+    DESCONHECIDO(null);
+
+    private final String texto;
+
+    StatusTicket(String texto) {
+        this.texto = texto;
+    }
+
+    // Texto do card (null se desconhecido)
+    public String getTexto() {
+        return texto;
+    }
+
+    public static StatusTicket de(String status) {
+        if (status == null) return DESCONHECIDO;
+
+        switch (status.trim().toLowerCase(Locale.ROOT)) {
+            case "aberto":
+                return ABERTO;
+            case "em andamento":
+                return EM_ANDAMENTO;
+            case "fechado":
+            case "finalizado":
+            case "encerrado":
+                return FECHADO;
+            default:
+                return DESCONHECIDO;
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package com.example.appsuportecliente.model;
 // Define o pacote onde esta classe está localizada dentro do projeto.
 
+// Datas ficam em milissegundos desde 1970 (0 = sem data) e o tempo de
+// atendimento em segundos (-1 = sem tempo): a conversão do texto da API é
+// feita uma vez, na leitura do JSON (AdaptadoresJson).
 public class Ticket {
 
     // ---------------------- ATRIBUTOS DO TICKET ----------------------
@@ -8,13 +11,14 @@ public class Ticket {
     private int id;                     // ID único do ticket
     private String title;               // Título do ticket
     private String description;         // Descrição informada pelo usuário
-    private String status;              // Status atual (ex: "aberto", "em andamento", "fechado")
+    private StatusTicket situacao = StatusTicket.DESCONHECIDO; // Status já interpretado (o texto vem dele)
     private String tecnico;             // Nome do técnico responsável (se houver)
     private String criador;             // Nome de quem criou o ticket
-    private String dataCriacao;         // Data e hora em que o ticket foi criado
-    private String inicioAtendimento;   // Data/hora em que o técnico iniciou o atendimento
-    private String fimAtendimento;      // Data/hora em que o atendimento terminou
-    private String tempoAtendimento;    // Tempo total gasto no atendimento
+    private long dataCriacao;           // Data e hora em que o ticket foi criado
+    private long inicioAtendimento;     // Data/hora em que o técnico iniciou o atendimento
+    private long fimAtendimento;        // Data/hora em que o atendimento terminou
+    private int tempoAtendimento = -1;  // Tempo total gasto no atendimento, em segundos
+    private long mensagemNova;          // Data da última mensagem avisada pelo hub e ainda não vista (0 = nenhuma)
 
     // ---------------------- GETTERS ----------------------
     // Métodos que permitem acessar os valores dos atributos
@@ -28,8 +32,11 @@ public class Ticket {
     public String getDescription() { return description; }
     // Retorna a descrição
 
-    public String getStatus() { return status; }
-    // Retorna o status atual do ticket
+    public String getStatus() { return situacao.getTexto(); }
+    // Retorna o status atual do ticket (texto exibido no card; null se desconhecido)
+
+    public StatusTicket getSituacao() { return situacao; }
+    // Retorna o status interpretado (para decisões: cores, botões, prioridade)
 
     public String getTecnico() { return tecnico; }
     // Retorna o nome do técnico responsável (pode ser null)
@@ -37,18 +44,21 @@ public class Ticket {
     public String getCriador() { return criador; }
     // Retorna o nome de quem criou o ticket
 
-    public String getDataCriacao() { return dataCriacao; }
+    public long getDataCriacao() { return dataCriacao; }
     // Retorna a data em que o ticket foi criado
 
-    public String getInicioAtendimento() { return inicioAtendimento; }
+    public long getInicioAtendimento() { return inicioAtendimento; }
     // Retorna quando o atendimento foi iniciado
 
-    public String getFimAtendimento() { return fimAtendimento; }
+    public long getFimAtendimento() { return fimAtendimento; }
     // Retorna quando o atendimento foi finalizado
 
-    public String getTempoAtendimento() { return tempoAtendimento; }
+    public int getTempoAtendimento() { return tempoAtendimento; }
     // Retorna o tempo calculado do atendimento
 
+    public long getMensagemNova() { return mensagemNova; }
+    // Retorna a data da mensagem nova ainda não vista (0 = nenhuma)
+
     // ---------------------- SETTERS ----------------------
     // Métodos usados para modificar os valores dos atributos
 
@@ -61,8 +71,8 @@ public class Ticket {
     public void setDescription(String description) { this.description = description; }
     // Define a descrição completa do ticket
 
-    public void setStatus(String status) { this.status = status; }
-    // Define o status do ticket
+    public void setStatus(String status) { this.situacao = StatusTicket.de(status); }
+    // Define o status do ticket a partir do texto da API (só a interpretação é guardada)
 
     public void setTecnico(String tecnico) { this.tecnico = tecnico; }
     // Define o técnico responsável pelo atendimento
@@ -70,15 +80,38 @@ public class Ticket {
     public void setCriador(String criador) { this.criador = criador; }
     // Define quem criou o ticket
 
-    public void setDataCriacao(String dataCriacao) { this.dataCriacao = dataCriacao; }
+    public void setDataCriacao(long dataCriacao) { this.dataCriacao = dataCriacao; }
     // Define a data de criação do ticket
 
-    public void setInicioAtendimento(String inicioAtendimento) { this.inicioAtendimento = inicioAtendimento; }
+    public void setInicioAtendimento(long inicioAtendimento) { this.inicioAtendimento = inicioAtendimento; }
     // Define quando o técnico começou o atendimento
 
-    public void setFimAtendimento(String fimAtendimento) { this.fimAtendimento = fimAtendimento; }
+    public void setFimAtendimento(long fimAtendimento) { this.fimAtendimento = fimAtendimento; }
     // Define quando o atendimento foi concluído
 
-    public void setTempoAtendimento(String tempoAtendimento) { this.tempoAtendimento = tempoAtendimento; }
+    public void setTempoAtendimento(int tempoAtendimento) { this.tempoAtendimento = tempoAtendimento; }
     // Define o tempo total consumido no atendimento
+
+    public void setMensagemNova(long mensagemNova) { this.mensagemNova = mensagemNova; }
+    // Marca (ou desmarca, com 0) a mensagem nova no card
+
+    // ---------------------- CÓPIAS ----------------------
+    // A lista (DiffUtil) compara o ticket antigo com o novo: atualizações
+    // geram uma cópia em vez de alterar o ticket que já está no adapter
+
+    public Ticket copia() {
+        Ticket t = new Ticket();
+        t.id = id;
+        t.title = title;
+        t.description = description;
+        t.situacao = situacao;
+        t.tecnico = tecnico;
+        t.criador = criador;
+        t.dataCriacao = dataCriacao;
+        t.inicioAtendimento = inicioAtendimento;
+        t.fimAtendimento = fimAtendimento;
+        t.tempoAtendimento = tempoAtendimento;
+        t.mensagemNova = mensagemNova;
+        return t;
+    }
 }
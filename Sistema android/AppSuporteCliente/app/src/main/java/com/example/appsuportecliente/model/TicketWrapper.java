@@ -21,10 +21,24 @@ public class TicketWrapper {
     // Mapeia o campo "tickets" do JSON para a variável listagem de Tickets.
     private List<Ticket> tickets;
 
+    @SerializedName("proximoCursor")
+    // Na listagem paginada: cursor da próxima página (null quando é a última).
+    private Integer proximoCursor;
+
     // Getter que retorna o valor do campo success.
     // Indica se a requisição ao servidor foi bem sucedida.
     public boolean isSuccess() { return success; }
 
     // Getter que retorna a lista de tickets enviada pela API.
     public List<Ticket> getTickets() { return tickets; }
+
+    // Getter do cursor da próxima página (null se não houver mais chamados).
+    public Integer getProximoCursor() { return proximoCursor; }
+
+    // Setters usados pelo AdaptadoresJson ao ler a resposta da API.
+    public void setSuccess(boolean success) { this.success = success; }
+
+    public void setTickets(List<Ticket> tickets) { this.tickets = tickets; }
+
+    public void setProximoCursor(Integer proximoCursor) { this.proximoCursor = proximoCursor; }
 }
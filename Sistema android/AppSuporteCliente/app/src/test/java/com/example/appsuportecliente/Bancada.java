@@ -0,0 +1,156 @@
+package com.example.appsuportecliente;
+
+import java.lang.management.ManagementFactory;
+import java.lang.ref.Reference;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+
+/**
+ * Medição simples de desempenho na JVM (usada pelo DesempenhoTest).
+ *
+ * Cada medição roda a operação por um tempo de aquecimento (para o JIT
+ * compilar o caminho quente) e depois por um tempo fixo, contando quantas
+ * vezes ela rodou e quantos bytes a thread alocou nesse período.
+ *
+ * A alocação vem do com.sun.management.ThreadMXBean (HotSpot/OpenJDK);
+ * em outras JVMs ela aparece como -1.
+ *
+ * {@link #retido} mede outra coisa: quanto heap um objeto mantém vivo
+ * depois de criado (ex: uma conversa inteira em memória).
+ */
+final class Bancada {
+
+    interface Operacao {
+        // O retorno é consumido para o JIT não eliminar o trabalho
+        Object executar() throws Exception;
+    }
+
+    static final class Resultado {
+        final String nome;
+        final long execucoes;
+        final long nanos;
+        final long bytesAlocados;
+
+        Resultado(String nome, long execucoes, long nanos, long bytesAlocados) {
+            this.nome = nome;
+            this.execucoes = execucoes;
+            this.nanos = nanos;
+            this.bytesAlocados = bytesAlocados;
+        }
+
+        double porSegundo() {
+            return execucoes * 1e9 / nanos;
+        }
+
+        double microsPorExecucao() {
+            return nanos / 1e3 / execucoes;
+        }
+
+        double bytesPorExecucao() {
+            return bytesAlocados < 0 ? -1 : (double) bytesAlocados / execucoes;
+        }
+
+        double mbAlocadosPorSegundo() {
+            return bytesAlocados < 0 ? -1 : bytesAlocados * 1e9 / nanos / (1024 * 1024);
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%-44s %14.1f op/s %14.2f us/op %16.0f B/op %10.1f MB/s",
+                    nome, porSegundo(), microsPorExecucao(), bytesPorExecucao(), mbAlocadosPorSegundo());
+        }
+    }
+
+    private static final com.sun.management.ThreadMXBean THREADS = threads();
+
+    // Ativado com ./gradlew testDebugUnitTest -Pbenchmark
+    static boolean ativada() {
+        return Boolean.getBoolean("benchmark");
+    }
+
+    private final long aquecimentoMs;
+    private final long medicaoMs;
+
+    // Evita que o resultado das operações seja descartado pelo JIT
+    private volatile int sumidouro;
+
+    Bancada(long aquecimentoMs, long medicaoMs) {
+        this.aquecimentoMs = aquecimentoMs;
+        this.medicaoMs = medicaoMs;
+    }
+
+    Resultado medir(String nome, Operacao operacao) throws Exception {
+        rodarPor(aquecimentoMs, operacao);
+
+        long threadId = Thread.currentThread().getId();
+        long bytesAntes = alocados(threadId);
+        long inicio = System.nanoTime();
+        long execucoes = rodarPor(medicaoMs, operacao);
+        long nanos = System.nanoTime() - inicio;
+        long bytesDepois = alocados(threadId);
+
+        long bytes = bytesAntes < 0 || bytesDepois < 0 ? -1 : bytesDepois - bytesAntes;
+        Resultado resultado = new Resultado(nome, execucoes, nanos, bytes);
+        System.out.println(resultado);
+        return resultado;
+    }
+
+    // Heap ocupado pelo que a criação devolve, em bytes (média de algumas
+    // medições, com coletas de lixo antes e depois). É uma estimativa: serve
+    // para comparar estruturas entre si, não como valor exato.
+    static long retido(String nome, Callable<Object> criacao) throws Exception {
+        final int rodadas = 3;
+        long soma = 0;
+
+        for (int i = 0; i < rodadas; i++) {
+            long antes = heapUsado();
+            Object criado = criacao.call();
+            long depois = heapUsado();
+            Reference.reachabilityFence(criado); // vivo até a segunda medição
+            soma += depois - antes;
+        }
+
+        long bytes = soma / rodadas;
+        System.out.println(String.format(Locale.ROOT, "%-44s %14d B retidos", nome, bytes));
+        return bytes;
+    }
+
+    private static long heapUsado() throws InterruptedException {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 4; i++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    // Roda pelo menos uma vez, mesmo que uma execução passe do tempo
+    private long rodarPor(long ms, Operacao operacao) throws Exception {
+        long fim = System.nanoTime() + ms * 1_000_000;
+        long execucoes = 0;
+        do {
+            Object r = operacao.executar();
+            sumidouro += System.identityHashCode(r);
+            execucoes++;
+        } while (System.nanoTime() < fim);
+        return execucoes;
+    }
+
+    private static long alocados(long threadId) {
+        return THREADS != null ? THREADS.getThreadAllocatedBytes(threadId) : -1;
+    }
+
+    private static com.sun.management.ThreadMXBean threads() {
+        try {
+            java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+            if (!(bean instanceof com.sun.management.ThreadMXBean)) return null;
+
+            com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+            if (!threads.isThreadAllocatedMemorySupported()) return null;
+            threads.setThreadAllocatedMemoryEnabled(true);
+            return threads;
+        } catch (LinkageError | UnsupportedOperationException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package com.example.appsuportecliente;
+
+import com.example.appsuportecliente.model.ColunasMensagens;
+import com.example.appsuportecliente.model.ItemChat;
+import com.example.appsuportecliente.model.Mensagem;
+import com.example.appsuportecliente.model.ReabrirResponse;
+import com.example.appsuportecliente.model.TicketWrapper;
+import com.google.gson.Gson;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Benchmarks dos caminhos quentes do cliente na JVM: leitura do JSON da API,
+ * deduplicação/classificação das mensagens do chat, memória ocupada por uma
+ * conversa e resposta do upload.
+ *
+ * Rodam na JVM, sem Android: só medem classes do app que não usam APIs do
+ * Android (quem entra aqui precisa continuar assim).
+ *
+ * Não rodam no build normal. Para medir:
+ *   ./gradlew testDebugUnitTest -Pbenchmark --tests "*DesempenhoTest"
+ *
+ * Cada linha do relatório traz execuções por segundo, tempo por execução,
+ * bytes alocados por execução e taxa de alocação. Compare com o resultado
+ * do branch principal na mesma máquina antes de integrar mudanças nesses caminhos.
+ */
+public class DesempenhoTest {
+
+    private static final int[] TAMANHOS = {10, 1_000, 100_000};
+
+    private static final Gson GSON = AdaptadoresJson.gson();
+
+    private static Bancada bancada;
+
+    @BeforeClass
+    public static void preparar() {
+        assumeTrue("benchmark desativado (use -Pbenchmark)", Bancada.ativada());
+        bancada = new Bancada(1_000, 2_000);
+    }
+
+    // ============================================================
+    // JSON DA API
+    // ============================================================
+
+    @Test
+    public void listaDeChamados() throws Exception {
+        for (int n : TAMANHOS) {
+            String json = jsonChamados(n);
+            assertEquals(n, GSON.fromJson(json, TicketWrapper.class).getTickets().size());
+
+            bancada.medir("TicketWrapper " + n, () ->
+                    GSON.fromJson(new StringReader(json), TicketWrapper.class));
+        }
+    }
+
+    @Test
+    public void historicoPeloRetrofit() throws Exception {
+        for (int n : TAMANHOS) {
+            String json = jsonHistorico(n);
+            assertEquals(n, GSON.fromJson(json, ReabrirResponse.class).getMensagens().size());
+
+            bancada.medir("ReabrirResponse " + n, () ->
+                    GSON.fromJson(new StringReader(json), ReabrirResponse.class));
+        }
+    }
+
+    @Test
+    public void historicoEmStreaming() throws Exception {
+        for (int n : TAMANHOS) {
+            String json = jsonHistorico(n);
+
+            bancada.medir("LeitorHistorico " + n, () -> {
+                List<Mensagem> lidas = new ArrayList<>();
+                LeitorHistorico.ler(new StringReader(json), 1, lidas::add);
+                return lidas;
+            });
+        }
+    }
+
+    // Heap de uma conversa grande já lida: uma Mensagem por item (como o
+    // LeitorHistorico entrega) contra as colunas usadas na reabertura
+    @Test
+    public void memoriaDoHistorico() throws Exception {
+        int n = 100_000;
+        String json = jsonHistorico(n);
+
+        List<Mensagem> lidas = GSON.fromJson(json, ReabrirResponse.class).getMensagens();
+        assertTrue("reabertura deveria usar ColunasMensagens", lidas instanceof ColunasMensagens);
+        ColunasMensagens colunas = (ColunasMensagens) lidas;
+        assertEquals(n, colunas.size());
+        assertEquals("Técnico 3", colunas.get(1).getRemetente());
+        assertEquals(DatasApi.epochDe("2024-05-20 10:00:01"), colunas.getDataEnvio(1));
+
+        long objetos = Bancada.retido("Histórico em objetos " + n, () -> {
+            List<Mensagem> objetosLidos = new ArrayList<>();
+            LeitorHistorico.ler(new StringReader(json), 1, objetosLidos::add);
+            return objetosLidos;
+        });
+        long emColunas = Bancada.retido("Histórico em colunas " + n, () ->
+                GSON.fromJson(new StringReader(json), ReabrirResponse.class));
+
+        System.out.println("B/mensagem: objetos " + objetos / n + ", colunas " + emColunas / n);
+        // Na JVM: ~276 B/mensagem em objetos contra ~129 B em colunas
+        assertTrue("colunas deveriam ocupar ao menos um terço a menos de heap", emColunas * 3 < objetos * 2);
+    }
+
+    // ============================================================
+    // CHAT
+    // ============================================================
+
+    // O que adicionarBolha/renderizarMensagens fazem por mensagem, sem a tela:
+    // id de deduplicação, janela de ids e tipo/conteúdo da bolha
+    @Test
+    public void deduplicacaoEClassificacao() throws Exception {
+        for (int n : TAMANHOS) {
+            List<Mensagem> mensagens = GSON.fromJson(jsonHistorico(n), ReabrirResponse.class).getMensagens();
+            assertEquals(n - n / 50, deduplicarEClassificar(mensagens));
+
+            bancada.medir("Deduplicação + tipo " + n, () -> deduplicarEClassificar(mensagens));
+        }
+    }
+
+    private static int deduplicarEClassificar(List<Mensagem> mensagens) {
+        JanelaIds janela = new JanelaIds(1024);
+        int exibidas = 0;
+        int tipos = 0;
+
+        for (Mensagem m : mensagens) {
+            if (!janela.adicionar(ClassificadorChat.chaveDe(m.getId(), m.getConteudo()))) continue;
+
+            tipos += ClassificadorChat.tipoDe(m.getConteudo());
+            tipos += ClassificadorChat.conteudoDe(m.getConteudo()).length();
+            exibidas++;
+        }
+        return tipos >= 0 ? exibidas : -1;
+    }
+
+    @Test
+    public void classificacaoDeArquivos() throws Exception {
+        assertEquals(ItemChat.TIPO_IMAGEM, ClassificadorChat.tipoDe("file:/uploads/a.PNG"));
+        assertEquals(ItemChat.TIPO_ARQUIVO, ClassificadorChat.tipoDe("file: /uploads/a.pdf"));
+        assertEquals(ItemChat.TIPO_TEXTO, ClassificadorChat.tipoDe("olá"));
+
+        String[] exemplos = {"file:/uploads/foto.jpg", "file:/uploads/relatorio.pdf", "texto comum"};
+        bancada.medir("tipoDe (imagem, arquivo, texto)", () -> {
+            int soma = 0;
+            for (String e : exemplos) soma += ClassificadorChat.tipoDe(e);
+            return soma;
+        });
+    }
+
+    // Data de envio de cada bolha (antes: um SimpleDateFormat novo por bolha, com a hora atual)
+    @Test
+    public void dataDeEnvio() throws Exception {
+        long epoch = DatasApi.epochDe("2025-03-07 14:32:05");
+        assertEquals("14:32", DatasApi.horaDe(epoch));
+        assertEquals(epoch, DatasApi.epochDe("2025-03-07T14:32:05.123"));
+        assertEquals(0, DatasApi.epochDe("07/03/2025 14:32"));
+
+        String[] datas = {"2025-03-07 14:32:05", "2024-12-31 23:59:59", "2025-01-01 00:00:00"};
+        bancada.medir("epochDe + horaDe", () -> {
+            int soma = 0;
+            for (String d : datas) soma += DatasApi.horaDe(DatasApi.epochDe(d)).length();
+            return soma;
+        });
+    }
+
+    // ============================================================
+    // UPLOAD
+    // ============================================================
+
+    @Test
+    public void respostaDoUpload() throws Exception {
+        String simples = "{\"success\":true,\"fileUrl\":\"/uploads/ticket_12/3f2a9c_relatorio.pdf\"}";
+        String parte = "{\"success\":true,\"uploadId\":\"6d1f0a2b9e\",\"recebidos\":5242880}";
+        assertEquals("/uploads/ticket_12/3f2a9c_relatorio.pdf",
+                GSON.fromJson(simples, UploadEmPartes.RespostaUpload.class).fileUrl);
+
+        bancada.medir("RespostaUpload (upload simples)", () ->
+                GSON.fromJson(simples, UploadEmPartes.RespostaUpload.class));
+        bancada.medir("RespostaUpload (parte)", () ->
+                GSON.fromJson(parte, UploadEmPartes.RespostaUpload.class));
+    }
+
+    // ============================================================
+    // DADOS
+    // ============================================================
+
+    private static String jsonChamados(int n) {
+        StringBuilder sb = new StringBuilder(n * 300).append("{\"success\":true,\"tickets\":[");
+        for (int i = 0; i < n; i++) {
+            if (i > 0) sb.append(',');
+            sb.append("{\"id\":").append(n - i)
+                    .append(",\"title\":\"Impressora do setor ").append(i % 40).append(" não imprime\"")
+                    .append(",\"description\":\"Desde ontem a impressora mostra \\\"erro 0x").append(i % 97)
+                    .append("\\\" ao enviar qualquer documento.\"")
+                    .append(",\"status\":\"").append(i % 3 == 0 ? "Aberto" : "Em andamento").append('"')
+                    .append(",\"tecnico\":").append(i % 3 == 0 ? "null" : "\"Técnico " + i % 7 + "\"")
+                    .append(",\"criador\":\"cliente").append(i % 11).append('"')
+                    .append(",\"dataCriacao\":\"2024-05-").append(10 + i % 18).append(" 14:32:05\"")
+                    .append(",\"inicioAtendimento\":null,\"fimAtendimento\":null,\"tempoAtendimento\":null}");
+        }
+        return sb.append("],\"proximoCursor\":null}").toString();
+    }
+
+    // A cada 10 mensagens uma é arquivo (imagem e PDF alternados); a cada 50,
+    // uma repete a anterior (a mesma mensagem entregue duas vezes)
+    private static String jsonHistorico(int n) {
+        StringBuilder sb = new StringBuilder(n * 220)
+                .append("{\"success\":true,\"ticket\":{\"id\":1,\"title\":\"Sem acesso ao e-mail\"},\"mensagens\":[");
+        String anterior = null;
+
+        for (int i = 0; i < n; i++) {
+            String item;
+            if (i % 50 == 49 && anterior != null) {
+                item = anterior;
+            } else if (i % 10 == 9) {
+                String arquivo = (i / 10) % 2 == 0 ? "print_" + i + ".png" : "log_" + i + ".pdf";
+                item = "{\"id\":" + (i + 1) + ",\"remetente\":\"cliente\",\"conteudo\":\"file:/uploads/ticket_1/"
+                        + arquivo + "\",\"tipo\":\"arquivo\",\"nomeOriginal\":\"" + arquivo
+                        + "\",\"dataEnvio\":\"2024-05-20 10:" + doisDigitos(i / 60 % 60) + ":" + doisDigitos(i % 60)
+                        + "\",\"cursor\":\"638500000000000000-1-" + (i + 1) + "\"}";
+            } else {
+                item = "{\"id\":" + (i + 1) + ",\"remetente\":\"" + (i % 2 == 0 ? "cliente" : "Técnico 3")
+                        + "\",\"conteudo\":\"Mensagem número " + i + ": já reiniciei o computador e o erro continua.\""
+                        + ",\"tipo\":\"texto\",\"nomeOriginal\":\"\""
+                        + ",\"dataEnvio\":\"2024-05-20 10:" + doisDigitos(i / 60 % 60) + ":" + doisDigitos(i % 60)
+                        + "\",\"cursor\":\"638500000000000000-0-" + (i + 1) + "\"}";
+            }
+
+            if (i > 0) sb.append(',');
+            sb.append(item);
+            anterior = item;
+        }
+        return sb.append("],\"cursorAnterior\":null}").toString();
+    }
+
+    private static String doisDigitos(int v) {
+        return v < 10 ? "0" + v : Integer.toString(v);
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.appsuportecliente;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Testa o histograma usado na telemetria de rede.
+ */
+public class HistogramaTest {
+
+    @Test
+    public void vazioDevolveZero() {
+        Histograma h = new Histograma();
+
+        assertEquals(0, h.getTotal());
+        assertEquals(0, h.percentil(50));
+        assertEquals(0, h.getMinimo());
+    }
+
+    @Test
+    public void valoresPequenosSaoExatos() {
+        Histograma h = new Histograma();
+        for (int v = 1; v <= 20; v++) h.registrar(v);
+
+        assertEquals(10, h.percentil(50));
+        assertEquals(18, h.percentil(90));
+        assertEquals(20, h.percentil(100));
+        assertEquals(1, h.getMinimo());
+        assertEquals(10.5, h.getMedia(), 1e-9);
+    }
+
+    @Test
+    public void faixasSaoContinuas() {
+        // Cada faixa começa logo depois do fim da anterior
+        for (int i = 1; i < Histograma.indice(Long.MAX_VALUE); i++) {
+            assertEquals("faixa " + i, i, Histograma.indice(Histograma.limiteSuperior(i - 1) + 1));
+            assertEquals("faixa " + i, i, Histograma.indice(Histograma.limiteSuperior(i)));
+        }
+    }
+
+    @Test
+    public void percentisDentroDaPrecisao() {
+        Histograma h = new Histograma();
+        long[] valores = new long[50_000];
+        Random aleatorio = new Random(3);
+
+        // Distribuição de cauda longa, como tempos de rede em microssegundos
+        for (int i = 0; i < valores.length; i++) {
+            valores[i] = (long) (1_000 * Math.exp(aleatorio.nextGaussian() * 1.5));
+            h.registrar(valores[i]);
+        }
+        Arrays.sort(valores);
+
+        for (double p : new double[]{50, 90, 99, 99.9}) {
+            long exato = valores[(int) Math.ceil(valores.length * p / 100.0) - 1];
+            long estimado = h.percentil(p);
+
+            assertTrue("p" + p + " abaixo do exato", estimado >= exato);
+            assertTrue("p" + p + " acima da precisão", estimado <= exato + exato / 16 + 1);
+        }
+        assertEquals(valores[valores.length - 1], h.percentil(100));
+    }
+}
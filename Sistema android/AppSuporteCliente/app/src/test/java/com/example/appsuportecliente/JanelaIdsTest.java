@@ -0,0 +1,79 @@
+package com.example.appsuportecliente;
+
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * Testa a janela de ids usada na deduplicação do chat.
+ */
+public class JanelaIdsTest {
+
+    @Test
+    public void recusaIdRepetido() {
+        JanelaIds janela = new JanelaIds(4);
+
+        assertTrue(janela.adicionar(10));
+        assertFalse(janela.adicionar(10));
+        assertTrue(janela.contem(10));
+        assertEquals(1, janela.tamanho());
+    }
+
+    @Test
+    public void semIdNuncaERepetido() {
+        JanelaIds janela = new JanelaIds(4);
+
+        assertTrue(janela.adicionar(JanelaIds.SEM_ID));
+        assertTrue(janela.adicionar(JanelaIds.SEM_ID));
+        assertEquals(0, janela.tamanho());
+    }
+
+    @Test
+    public void maisAntigoSaiQuandoEnche() {
+        JanelaIds janela = new JanelaIds(3);
+        janela.adicionar(1);
+        janela.adicionar(2);
+        janela.adicionar(3);
+        janela.adicionar(4);
+
+        assertFalse(janela.contem(1));
+        assertTrue(janela.contem(2));
+        assertTrue(janela.contem(4));
+        assertEquals(3, janela.tamanho());
+
+        // Depois de sair, o id volta a ser aceito
+        assertTrue(janela.adicionar(1));
+    }
+
+    @Test
+    public void igualAUmaFilaDeReferencia() {
+        // Poucos valores possíveis: muitas repetições, colisões e remoções no meio das sequências
+        int capacidade = 64;
+        JanelaIds janela = new JanelaIds(capacidade);
+        ArrayDeque<Long> ordem = new ArrayDeque<>();
+        Set<Long> referencia = new HashSet<>();
+        Random aleatorio = new Random(7);
+
+        for (int n = 0; n < 100_000; n++) {
+            long id = 1 + aleatorio.nextInt(200);
+
+            boolean esperado = !referencia.contains(id);
+            if (esperado) {
+                if (ordem.size() == capacidade) referencia.remove(ordem.removeFirst());
+                ordem.addLast(id);
+                referencia.add(id);
+            }
+
+            assertEquals("operação " + n, esperado, janela.adicionar(id));
+        }
+
+        for (long id = 1; id <= 200; id++) {
+            assertEquals("id " + id, referencia.contains(id), janela.contem(id));
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.appsuportecliente;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Testa a consulta e a relevância da busca local.
+ */
+public class RelevanciaBuscaTest {
+
+    @Test
+    public void consultaSoComPalavras() {
+        assertEquals("erro* 0x80*", RelevanciaBusca.consultaFts("  Erro \"0x80\" "));
+        assertEquals("impressora* não*", RelevanciaBusca.consultaFts("impressora NÃO"));
+
+        // Operadores e aspas não passam; palavras de uma letra são ignoradas
+        assertEquals("or* near*", RelevanciaBusca.consultaFts("a OR* NEAR -x"));
+        assertNull(RelevanciaBusca.consultaFts(" - * \" "));
+        assertNull(RelevanciaBusca.consultaFts(null));
+    }
+
+    @Test
+    public void consultaLimitaPalavras() {
+        String consulta = RelevanciaBusca.consultaFts("aa bb cc dd ee ff gg hh ii jj");
+        assertEquals(RelevanciaBusca.MAX_PALAVRAS, consulta.split(" ").length);
+    }
+
+    @Test
+    public void maisAcertosERaridadeSobemANota() {
+        double[] pesos = {1};
+
+        // 'pcnalx' com uma frase e uma coluna: 100 linhas, média de 10 palavras
+        double umAcerto = RelevanciaBusca.bm25(matchinfo(100, 10, 10, 1, 50), pesos);
+        double tresAcertos = RelevanciaBusca.bm25(matchinfo(100, 10, 10, 3, 50), pesos);
+        double palavraRara = RelevanciaBusca.bm25(matchinfo(100, 10, 10, 1, 2), pesos);
+        double textoLongo = RelevanciaBusca.bm25(matchinfo(100, 10, 80, 1, 50), pesos);
+
+        assertTrue(tresAcertos > umAcerto);
+        assertTrue(palavraRara > umAcerto);
+        assertTrue(textoLongo < umAcerto);
+        assertEquals(0, RelevanciaBusca.bm25(matchinfo(100, 10, 10, 0, 50), pesos), 0);
+    }
+
+    @Test
+    public void pesoDaColuna() {
+        // Duas colunas (título, descrição): acerto só no título ou só na descrição
+        int[] noTitulo = {1, 2, 100, 5, 20, 5, 20, 1, 1, 10, 0, 0, 10};
+        int[] naDescricao = {1, 2, 100, 5, 20, 5, 20, 0, 0, 10, 1, 1, 10};
+        double[] pesos = {2, 1};
+
+        assertTrue(RelevanciaBusca.bm25(noTitulo, pesos) > RelevanciaBusca.bm25(naDescricao, pesos));
+    }
+
+    // p=1, c=1, n, a, l, x = (acertos na linha, acertos em todas, linhas com acerto)
+    private static int[] matchinfo(int linhas, int media, int tamanho, int acertos, int linhasComAcerto) {
+        return new int[]{1, 1, linhas, media, tamanho, acertos, acertos * 3, linhasComAcerto};
+    }
+}
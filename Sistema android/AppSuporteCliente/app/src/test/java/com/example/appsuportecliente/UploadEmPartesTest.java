@@ -0,0 +1,249 @@
+package com.example.appsuportecliente;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okhttp3.mockwebserver.SocketPolicy;
+
+import static org.junit.Assert.*;
+
+/**
+ * Testa o upload em partes contra um servidor falso que imita o UploadController
+ * (Iniciar / Status / Parte / Concluir), incluindo quedas de conexão.
+ */
+public class UploadEmPartesTest {
+
+    private static final int PARTE = 4096;
+
+    private MockWebServer server;
+    private ServidorFalso servidor;
+    private RegistroMemoria registro;
+    private OkHttpClient client;
+
+    // Arquivo de 10 KB: 3 partes (4096 + 4096 + 2048)
+    private final byte[] arquivo = new byte[10 * 1024];
+
+    @Before
+    public void setUp() throws IOException {
+        new Random(42).nextBytes(arquivo);
+
+        servidor = new ServidorFalso();
+        server = new MockWebServer();
+        server.setDispatcher(servidor);
+        server.start();
+
+        registro = new RegistroMemoria();
+
+        // Sem retentativa automática do OkHttp: a retomada é responsabilidade do UploadEmPartes
+        client = new OkHttpClient.Builder().retryOnConnectionFailure(false).build();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    public void enviaTodasAsPartesEConclui() throws IOException {
+        List<Long> progresso = new ArrayList<>();
+
+        String url = novoUpload(3).enviar(dados(), this::abrir, (confirmados, total) -> progresso.add(confirmados));
+
+        assertEquals("/uploads/teste.bin", url);
+        assertArrayEquals(arquivo, servidor.recebidos.toByteArray());
+        assertEquals(1, servidor.iniciados);
+        assertEquals(Long.valueOf(arquivo.length), progresso.get(progresso.size() - 1));
+        assertTrue("andamento deve ser apagado ao concluir", registro.estados.isEmpty());
+    }
+
+    @Test
+    public void respostaPerdidaContinuaDoOffsetDoServidor() throws IOException {
+        // Servidor grava a 2ª parte, mas a conexão cai antes da resposta
+        servidor.derrubarNaParte = 2;
+        servidor.gravarAntesDeDerrubar = true;
+
+        novoUpload(3).enviar(dados(), this::abrir, null);
+
+        // Nenhum byte duplicado ou faltando
+        assertArrayEquals(arquivo, servidor.recebidos.toByteArray());
+    }
+
+    @Test
+    public void retomaUploadSalvoSemRecomecar() throws IOException {
+        // 1ª tentativa: a conexão cai na 2ª parte e não há retentativas
+        servidor.derrubarNaParte = 2;
+        try {
+            novoUpload(1).enviar(dados(), this::abrir, null);
+            fail("esperava falha de rede");
+        } catch (IOException esperado) {
+            // andamento fica salvo
+        }
+
+        UploadEmPartes.Estado salvo = registro.carregar("teste");
+        assertNotNull(salvo);
+        assertEquals(PARTE, salvo.confirmados);
+
+        // 2ª tentativa (ex: app reaberto): continua do byte 4096, sem novo Iniciar
+        servidor.derrubarNaParte = 0;
+        String url = novoUpload(3).enviar(dados(), this::abrir, null);
+
+        assertEquals("/uploads/teste.bin", url);
+        assertEquals(1, servidor.iniciados);
+        assertEquals(Long.valueOf(PARTE), servidor.offsets.get(2));
+        assertArrayEquals(arquivo, servidor.recebidos.toByteArray());
+    }
+
+    @Test
+    public void uploadDesconhecidoNoServidorRecomeca() throws IOException {
+        // Andamento salvo de um upload que o servidor já descartou
+        UploadEmPartes.Estado antigo = dados();
+        antigo.uploadId = "naoexiste";
+        antigo.confirmados = PARTE;
+        registro.salvar(antigo);
+
+        novoUpload(3).enviar(dados(), this::abrir, null);
+
+        assertEquals(1, servidor.iniciados);
+        assertEquals(Long.valueOf(0), servidor.offsets.get(0));
+        assertArrayEquals(arquivo, servidor.recebidos.toByteArray());
+    }
+
+    @Test
+    public void parteRecusadaFalhaSemRecomecar() throws IOException {
+        // Upload/Parte responde 400 (ex: mais bytes que o tamanho informado)
+        servidor.recusarPartes = true;
+        try {
+            novoUpload(3).enviar(dados(), this::abrir, null);
+            fail("esperava recusa do servidor");
+        } catch (IOException esperado) {
+            // o erro não pode ser lido como "0 bytes recebidos"
+        }
+
+        assertEquals(1, servidor.iniciados);
+        assertEquals("uma requisição por tentativa", 3, servidor.offsets.size());
+        assertEquals(0, registro.carregar("teste").confirmados);
+    }
+
+    // ============================================================
+    // AUXILIARES
+    // ============================================================
+
+    private UploadEmPartes novoUpload(int tentativas) {
+        return new UploadEmPartes(client, server.url("/").toString(), registro, PARTE, tentativas);
+    }
+
+    private UploadEmPartes.Estado dados() {
+        UploadEmPartes.Estado estado = new UploadEmPartes.Estado();
+        estado.chave = "teste";
+        estado.nomeArquivo = "teste.bin";
+        estado.tamanho = arquivo.length;
+        estado.ticketId = 7;
+        estado.usuario = "cliente";
+        return estado;
+    }
+
+    private ByteArrayInputStream abrir(long offset) {
+        ByteArrayInputStream in = new ByteArrayInputStream(arquivo);
+        in.skip(offset);
+        return in;
+    }
+
+    // Registro em memória (no app é o RegistroUploads, em SharedPreferences)
+    private static class RegistroMemoria implements UploadEmPartes.Registro {
+        final Map<String, UploadEmPartes.Estado> estados = new HashMap<>();
+
+        @Override public UploadEmPartes.Estado carregar(String chave) { return estados.get(chave); }
+        @Override public void salvar(UploadEmPartes.Estado estado) { estados.put(estado.chave, estado); }
+        @Override public void remover(String chave) { estados.remove(chave); }
+        @Override public List<UploadEmPartes.Estado> pendentes() { return new ArrayList<>(estados.values()); }
+    }
+
+    // Imita os endpoints de upload em partes do UploadController (um upload por vez)
+    private static class ServidorFalso extends Dispatcher {
+        final ByteArrayOutputStream recebidos = new ByteArrayOutputStream();
+        final List<Long> offsets = new ArrayList<>();
+        int iniciados;
+        long tamanho;
+
+        // Número da requisição de parte (1, 2, ...) em que a conexão cai; 0 = nunca
+        int derrubarNaParte;
+        boolean gravarAntesDeDerrubar;
+
+        // Responde 400 a toda parte, como o UploadController faz com um corpo inválido
+        boolean recusarPartes;
+
+        private int partes;
+
+        @Override
+        public synchronized MockResponse dispatch(RecordedRequest request) {
+            HttpUrl url = request.getRequestUrl();
+            String caminho = url.encodedPath();
+
+            if (caminho.equals("/Upload/Iniciar")) {
+                String form = request.getBody().readUtf8();
+                tamanho = Long.parseLong(HttpUrl.get("http://x/?" + form).queryParameter("tamanho"));
+                recebidos.reset();
+                iniciados++;
+                return json("{\"success\":true,\"uploadId\":\"abc\"}");
+            }
+
+            if (!caminho.endsWith("/abc")) return new MockResponse().setResponseCode(404);
+
+            if (caminho.startsWith("/Upload/Status/")) {
+                return json("{\"success\":true,\"recebidos\":" + recebidos.size() + "}");
+            }
+
+            if (caminho.startsWith("/Upload/Parte/")) {
+                partes++;
+                long offset = Long.parseLong(url.queryParameter("offset"));
+                offsets.add(offset);
+                byte[] corpo = request.getBody().readByteArray();
+
+                if (recusarPartes) {
+                    return json("{\"success\":false,\"error\":\"Parte inválida.\"}").setResponseCode(400);
+                }
+
+                if (partes == derrubarNaParte) {
+                    if (gravarAntesDeDerrubar) recebidos.write(corpo, 0, corpo.length);
+                    return new MockResponse().setSocketPolicy(SocketPolicy.DISCONNECT_AFTER_REQUEST);
+                }
+
+                if (offset != recebidos.size()) {
+                    return json("{\"success\":false,\"recebidos\":" + recebidos.size() + "}").setResponseCode(409);
+                }
+
+                recebidos.write(corpo, 0, corpo.length);
+                return json("{\"success\":true,\"recebidos\":" + recebidos.size() + "}");
+            }
+
+            if (caminho.startsWith("/Upload/Concluir/")) {
+                if (recebidos.size() != tamanho) {
+                    return json("{\"success\":false,\"error\":\"incompleto\"}").setResponseCode(409);
+                }
+                return json("{\"success\":true,\"fileUrl\":\"/uploads/teste.bin\"}");
+            }
+
+            return new MockResponse().setResponseCode(404);
+        }
+
+        private static MockResponse json(String corpo) {
+            return new MockResponse().setHeader("Content-Type", "application/json").setBody(corpo);
+        }
+    }
+}
@@ -125,6 +125,7 @@ namespace WebApplication1.Controllers
                 }
 
                 await _context.SaveChangesAsync();
+                await AvisosChamados.AvisarAsync(_hubContext.Clients, _context, ticket.Id);
             }
 
             // Carrega mensagens do ticket
@@ -205,10 +206,12 @@ namespace WebApplication1.Controllers
             await _hubContext.Clients.Group($"ticket_{ticketId}")
                 .SendAsync("ReceberMensagem", new
                 {
+                    ticketId,
                     mensagem = novaMensagem.Conteudo,
                     papel,
                     data = novaMensagem.DataEnvio.ToString("yyyy-MM-dd HH:mm:ss")
                 });
+            await AvisosChamados.AvisarAsync(_hubContext.Clients, _context, ticketId, autor, novaMensagem.DataEnvio);
 
             // Retorna para o AJAX
             return Ok(new
@@ -316,11 +319,13 @@ namespace WebApplication1.Controllers
             await _hubContext.Clients.Group($"ticket_{ticketId}")
                 .SendAsync("ReceberMensagem", new
                 {
+                    ticketId,
                     autor,
                     mensagem = conteudoMensagem,
                     data = DateTime.Now.ToString("yyyy-MM-dd HH:mm:ss"),
                     papel
                 });
+            await AvisosChamados.AvisarAsync(_hubContext.Clients, _context, ticketId, autor, novaMensagem.DataEnvio);
 
             return Ok(new
             {
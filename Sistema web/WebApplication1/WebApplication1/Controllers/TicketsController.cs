@@ -485,6 +485,7 @@ Responda apenas com o nome do técnico mais indicado.
 
             await _context.SaveChangesAsync();
             _logger.LogInformation("✅ Ticket {Id} iniciado com sucesso.", id);
+            await AvisosChamados.AvisarAsync(_hubContext.Clients, _context, id);
 
             var chatUrl = Url.Action("AbrirChat", "Chat", new { ticketId = id, modo = "escrita" });
             return Json(new { success = true, status = ticket.Status, redirectUrl = chatUrl });
@@ -535,6 +536,7 @@ Responda apenas com o nome do técnico mais indicado.
 
                 // 🚪 Novo: também fecha o chat do técnico automaticamente
                 await _hubContext.Clients.Group(grupo).SendAsync("FecharChatTecnico", ticket.Id);
+                await AvisosChamados.AvisarAsync(_hubContext.Clients, _context, ticket.Id);
 
                 return Json(new
                 {
@@ -554,13 +556,21 @@ Responda apenas com o nome do técnico mais indicado.
 
 
 
+        // Lista os tickets do cliente.
+        // Sem "tamanho" devolve todos (comportamento antigo, usado pelo site).
+        // Com "tamanho" devolve uma página, do mais novo para o mais antigo:
+        // "cursor" é o proximoCursor da página anterior (tickets com Id menor que ele).
         [HttpGet]
         [Route("Tickets/ListarPorCliente")]
-        public async Task<IActionResult> ListarPorCliente([FromQuery] string usuario)
+        public async Task<IActionResult> ListarPorCliente([FromQuery] string usuario,
+            [FromQuery] int? cursor, [FromQuery] int? tamanho)
         {
             if (string.IsNullOrWhiteSpace(usuario))
                 return BadRequest(new { success = false, message = "Parâmetro 'usuario' é obrigatório." });
 
+            if (tamanho.HasValue)
+                return await ListarPaginaPorCliente(usuario, cursor, Math.Clamp(tamanho.Value, 1, 100));
+
             try
             {
                 var tickets = await _context.Tickets
@@ -600,6 +610,129 @@ Responda apenas com o nome do técnico mais indicado.
             }
         }
 
+        // Página de tickets do cliente. Filtra e ordena no banco (por Id, que cresce
+        // junto com a DataCriacao) e busca um item a mais para saber se há próxima página.
+        private async Task<IActionResult> ListarPaginaPorCliente(string usuario, int? cursor, int tamanho)
+        {
+            try
+            {
+                var consulta = _context.Tickets
+                    .Where(t => t.Criador != null && t.Criador.Username == usuario);
+
+                if (cursor.HasValue)
+                    consulta = consulta.Where(t => t.Id < cursor.Value);
+
+                var tickets = await consulta
+                    .OrderByDescending(t => t.Id)
+                    .Take(tamanho + 1)
+                    .Select(t => new
+                    {
+                        t.Id,
+                        t.Title,
+                        t.Description,
+                        t.Status,
+                        Tecnico = t.Tecnico != null ? t.Tecnico.Nome : null,
+                        Criador = t.Criador != null ? t.Criador.Username : null,
+                        DataCriacao = t.DataCriacao.ToString("yyyy-MM-dd HH:mm:ss"),
+                        InicioAtendimento = t.InicioAtendimento.HasValue ? t.InicioAtendimento.Value.ToString("yyyy-MM-dd HH:mm:ss") : null,
+                        FimAtendimento = t.FimAtendimento.HasValue ? t.FimAtendimento.Value.ToString("yyyy-MM-dd HH:mm:ss") : null,
+                        TempoAtendimento = t.TempoAtendimento.HasValue ? t.TempoAtendimento.Value.ToString(@"hh\:mm\:ss") : null
+                    })
+                    .ToListAsync();
+
+                bool temMais = tickets.Count > tamanho;
+                if (temMais)
+                    tickets.RemoveAt(tickets.Count - 1);
+
+                int? proximoCursor = temMais ? tickets[^1].Id : null;
+
+                return Json(new { success = true, tickets, proximoCursor });
+            }
+            catch (Exception ex)
+            {
+                _logger.LogError(ex, "Erro ao listar página de tickets para o usuário {usuario}", usuario);
+                return Json(new { success = false, error = ex.Message });
+            }
+        }
+
+        // Alterações nos tickets do cliente desde a última sincronização do app
+        // (feita em segundo plano). Sem "desde", devolve todos os tickets dele.
+        // Como o ticket não tem data de atualização, conta como alterado o ticket
+        // criado, iniciado ou finalizado depois de "desde", ou que recebeu mensagem
+        // ou arquivo depois disso; "comMensagens" diz quais, para o app baixar só
+        // essas conversas.
+        // "marca" é o horário do servidor antes da consulta: o app a devolve como
+        // "desde" na próxima vez, sem depender do relógio do aparelho e sem perder
+        // o que chegar enquanto a consulta roda.
+        [HttpGet]
+        [Route("Tickets/AlteracoesPorCliente")]
+        public async Task<IActionResult> AlteracoesPorCliente([FromQuery] string usuario, [FromQuery] DateTime? desde)
+        {
+            if (string.IsNullOrWhiteSpace(usuario))
+                return BadRequest(new { success = false, message = "Parâmetro 'usuario' é obrigatório." });
+
+            var marca = DateTime.Now;
+
+            try
+            {
+                var consulta = _context.Tickets
+                    .Where(t => t.Criador != null && t.Criador.Username == usuario);
+
+                var comMensagens = new List<int>();
+                if (desde.HasValue)
+                {
+                    var d = desde.Value;
+                    var idsDoCliente = consulta.Select(t => t.Id);
+
+                    comMensagens = await _context.Mensagens
+                        .Where(m => m.DataEnvio >= d && idsDoCliente.Contains(m.TicketId))
+                        .Select(m => m.TicketId)
+                        .Union(_context.ChatFiles
+                            .Where(f => f.UploadedAt >= d && idsDoCliente.Contains(f.TicketId))
+                            .Select(f => f.TicketId))
+                        .ToListAsync();
+
+                    consulta = consulta.Where(t => t.DataCriacao >= d
+                        || t.InicioAtendimento >= d
+                        || t.FimAtendimento >= d
+                        || comMensagens.Contains(t.Id));
+                }
+
+                var tickets = await consulta
+                    .OrderByDescending(t => t.Id)
+                    .Select(t => new
+                    {
+                        t.Id,
+                        t.Title,
+                        t.Description,
+                        t.Status,
+                        Tecnico = t.Tecnico != null ? t.Tecnico.Nome : null,
+                        Criador = t.Criador != null ? t.Criador.Username : null,
+                        DataCriacao = t.DataCriacao.ToString("yyyy-MM-dd HH:mm:ss"),
+                        InicioAtendimento = t.InicioAtendimento.HasValue ? t.InicioAtendimento.Value.ToString("yyyy-MM-dd HH:mm:ss") : null,
+                        FimAtendimento = t.FimAtendimento.HasValue ? t.FimAtendimento.Value.ToString("yyyy-MM-dd HH:mm:ss") : null,
+                        TempoAtendimento = t.TempoAtendimento.HasValue ? t.TempoAtendimento.Value.ToString(@"hh\:mm\:ss") : null
+                    })
+                    .ToListAsync();
+
+                _logger.LogInformation("Sincronização de {usuario} desde {desde}: {count} tickets, {mensagens} com mensagens",
+                    usuario, desde, tickets.Count, comMensagens.Count);
+
+                return Json(new
+                {
+                    success = true,
+                    tickets,
+                    comMensagens,
+                    marca = marca.ToString("yyyy-MM-dd HH:mm:ss")
+                });
+            }
+            catch (Exception ex)
+            {
+                _logger.LogError(ex, "Erro ao listar alterações de tickets para o usuário {usuario}", usuario);
+                return Json(new { success = false, error = ex.Message });
+            }
+        }
+
         [HttpPost]
         [Route("Tickets/ReabrirChatMobile/{id}")]
         public async Task<IActionResult> ReabrirChatMobile(int id, [FromQuery] string tecnico)
@@ -685,6 +818,7 @@ Responda apenas com o nome do técnico mais indicado.
                     tecnico = tecnicoObj.Nome,
                     mensagem = "🔁 O chat foi reaberto pelo cliente."
                 });
+                await AvisosChamados.AvisarAsync(_hubContext.Clients, _context, id);
 
                 return Json(new
                 {
@@ -710,8 +844,14 @@ Responda apenas com o nome do técnico mais indicado.
         }
 
 
+        // Histórico do chat para o app.
+        // - desde: só mensagens a partir dessa data (sincronismo incremental);
+        // - limite: só as "limite" mensagens mais recentes anteriores ao cursor "antes"
+        //   (carregamento sob demanda ao rolar para cima). A resposta traz
+        //   "cursorAnterior" para pedir a página seguinte (null quando acabou).
         [HttpGet("Tickets/VisualizarChatMobile/{id}")]
-        public IActionResult VisualizarChatMobile(int id)
+        public IActionResult VisualizarChatMobile(int id, [FromQuery] DateTime? desde,
+            [FromQuery] string? antes, [FromQuery] int? limite)
         {
             try
             {
@@ -737,7 +877,8 @@ Responda apenas com o nome do técnico mais indicado.
                             : (m.Conteudo.Contains("/uploads/") ? "arquivo" : "texto")
                         ),
                         NomeOriginal = (string?)"",
-                        DataEnvio = m.DataEnvio
+                        DataEnvio = m.DataEnvio,
+                        Origem = 0
                     });
 
                 var mensagensArquivos = _context.ChatFiles
@@ -755,12 +896,68 @@ Responda apenas com o nome do técnico mais indicado.
                             : "arquivo"
                         ),
                         NomeOriginal = (string?)f.FileName,
-                        DataEnvio = f.UploadedAt
+                        DataEnvio = f.UploadedAt,
+                        Origem = 1
                     });
 
-                var todasMensagens = mensagensTexto
-                    .Concat(mensagensArquivos)
-                    .OrderBy(m => m.DataEnvio)
+                // Sincronismo incremental: o app envia a data da última mensagem que já tem
+                if (desde.HasValue)
+                {
+                    mensagensTexto = mensagensTexto.Where(m => m.DataEnvio >= desde.Value);
+                    mensagensArquivos = mensagensArquivos.Where(f => f.DataEnvio >= desde.Value);
+                }
+
+                // Página de mensagens anteriores ao cursor, na ordem (DataEnvio, Origem, Id).
+                // Textos (Origem 0) e arquivos (Origem 1) vêm de tabelas diferentes e podem ter o mesmo Id.
+                bool paginado = !desde.HasValue && limite.HasValue;
+                if (paginado && CursorChat.TryParse(antes, out var cursor))
+                {
+                    var d = cursor.DataEnvio;
+                    mensagensTexto = cursor.Origem > 0
+                        ? mensagensTexto.Where(m => m.DataEnvio <= d)
+                        : mensagensTexto.Where(m => m.DataEnvio < d || (m.DataEnvio == d && m.Id < cursor.Id));
+                    mensagensArquivos = cursor.Origem > 0
+                        ? mensagensArquivos.Where(f => f.DataEnvio < d || (f.DataEnvio == d && f.Id < cursor.Id))
+                        : mensagensArquivos.Where(f => f.DataEnvio < d);
+                }
+
+                var consulta = mensagensTexto.Concat(mensagensArquivos);
+                string? cursorAnterior = null;
+
+                List<MensagemChat> selecionadas;
+                if (paginado)
+                {
+                    int tamanho = Math.Clamp(limite!.Value, 1, 200);
+
+                    // Busca um item a mais para saber se ainda há mensagens anteriores
+                    selecionadas = consulta
+                        .OrderByDescending(m => m.DataEnvio)
+                        .ThenByDescending(m => m.Origem)
+                        .ThenByDescending(m => m.Id)
+                        .Take(tamanho + 1)
+                        .Select(m => new MensagemChat(m.Id, m.Remetente, m.Conteudo, m.Tipo, m.NomeOriginal, m.DataEnvio, m.Origem))
+                        .ToList();
+
+                    bool temAnteriores = selecionadas.Count > tamanho;
+                    if (temAnteriores)
+                        selecionadas.RemoveAt(selecionadas.Count - 1);
+
+                    selecionadas.Reverse(); // do mais antigo para o mais novo, como no histórico completo
+
+                    if (temAnteriores)
+                        cursorAnterior = selecionadas[0].Cursor;
+                }
+                else
+                {
+                    selecionadas = consulta
+                        .OrderBy(m => m.DataEnvio)
+                        .ThenBy(m => m.Origem)
+                        .ThenBy(m => m.Id)
+                        .Select(m => new MensagemChat(m.Id, m.Remetente, m.Conteudo, m.Tipo, m.NomeOriginal, m.DataEnvio, m.Origem))
+                        .ToList();
+                }
+
+                var todasMensagens = selecionadas
                     .Select(m => new
                     {
                         m.Id,
@@ -768,7 +965,8 @@ Responda apenas com o nome do técnico mais indicado.
                         Conteudo = m.Tipo != "texto" ? $"file:{m.Conteudo}" : m.Conteudo,
                         m.Tipo,
                         m.NomeOriginal,
-                        DataEnvio = m.DataEnvio.ToString("yyyy-MM-dd HH:mm:ss")
+                        DataEnvio = m.DataEnvio.ToString("yyyy-MM-dd HH:mm:ss"),
+                        m.Cursor
                     })
                     .ToList();
 
@@ -788,7 +986,8 @@ Responda apenas com o nome do técnico mais indicado.
                         FimAtendimento = ticket.FimAtendimento?.ToString("yyyy-MM-dd HH:mm:ss"),
                         TempoAtendimento = ticket.TempoAtendimento?.ToString(@"hh\:mm\:ss")
                     },
-                    mensagens = todasMensagens
+                    mensagens = todasMensagens,
+                    cursorAnterior
                 };
 
                 return Json(resposta);
@@ -801,6 +1000,34 @@ Responda apenas com o nome do técnico mais indicado.
         }
 
 
+        // Mensagem do histórico (texto ou arquivo) com a sua posição para paginação
+        private sealed record MensagemChat(int Id, string? Remetente, string Conteudo, string Tipo,
+            string? NomeOriginal, DateTime DataEnvio, int Origem)
+        {
+            public string Cursor => new CursorChat(DataEnvio, Origem, Id).ToString();
+        }
+
+        // Posição de uma mensagem na ordem do histórico, no formato "ticks-origem-id"
+        private readonly record struct CursorChat(DateTime DataEnvio, int Origem, int Id)
+        {
+            public override string ToString() => $"{DataEnvio.Ticks}-{Origem}-{Id}";
+
+            public static bool TryParse(string? texto, out CursorChat cursor)
+            {
+                cursor = default;
+                var partes = texto?.Split('-');
+                if (partes == null || partes.Length != 3) return false;
+
+                if (!long.TryParse(partes[0], out var ticks) || ticks < DateTime.MinValue.Ticks || ticks > DateTime.MaxValue.Ticks ||
+                    !int.TryParse(partes[1], out var origem) ||
+                    !int.TryParse(partes[2], out var id))
+                    return false;
+
+                cursor = new CursorChat(new DateTime(ticks), origem, id);
+                return true;
+            }
+        }
+
         public static string RemoverAcentos(string text)
         {
             if (string.IsNullOrWhiteSpace(text)) return text;
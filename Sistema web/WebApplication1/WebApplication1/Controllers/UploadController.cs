@@ -14,7 +14,7 @@ namespace WebApplication1.Controllers
         private readonly IHubContext<ChatHub> _hubContext;   // Acesso ao SignalR
 
         // Extensões de arquivo permitidas
-        private readonly string[] allowedExtensions = { ".jpg", ".jpeg", ".png", ".gif", ".pdf", ".doc", ".docx", ".txt" };
+        private readonly string[] allowedExtensions = { ".jpg", ".jpeg", ".png", ".gif", ".pdf", ".doc", ".docx", ".txt", ".log", ".zip", ".mp4", ".webm" };
 
         // Tamanho máximo permitido (10MB)
         private const long maxFileSize = 10 * 1024 * 1024;
@@ -70,102 +70,286 @@ namespace WebApplication1.Controllers
                 var fileUrl = $"{Request.Scheme}://{Request.Host}/uploads/{uniqueName}";
                 Console.WriteLine($"[UPLOAD URL] {fileUrl}");
 
-                // Carrega dados do ticket
-                var ticket = await _dbContext.Tickets
-                    .Include(t => t.Criador)
-                    .Include(t => t.Tecnico)
-                    .FirstOrDefaultAsync(t => t.Id == ticketId);
+                // Registra no banco e avisa o chat
+                var erro = await RegistrarArquivo(file.FileName, fileUrl, ticketId, usuario);
+                if (erro != null)
+                    return BadRequest(new { error = erro });
 
-                if (ticket == null)
-                    return BadRequest(new { error = "Ticket não encontrado." });
+                // Retorna URL do arquivo ao frontend
+                return Json(new { success = true, fileUrl });
+            }
+            catch (Exception ex)
+            {
+                // Log em caso de erro inesperado
+                Console.WriteLine($"[UPLOAD ERROR ❌] {ex.Message}\n{ex.StackTrace}");
+                return StatusCode(500, new { error = "Erro interno ao enviar o arquivo: " + ex.Message });
+            }
+        }
+
+        // ===========================================================
+        // Grava o ChatFile do arquivo e avisa o grupo do ticket via SignalR.
+        // Retorna null se deu certo, ou a mensagem de erro.
+        // ===========================================================
+        private async Task<string?> RegistrarArquivo(string nomeOriginal, string fileUrl, int ticketId, string usuario)
+        {
+            // Carrega dados do ticket
+            var ticket = await _dbContext.Tickets
+                .Include(t => t.Criador)
+                .Include(t => t.Tecnico)
+                .FirstOrDefaultAsync(t => t.Id == ticketId);
 
-                int uploadedById = 0, uploadedToId = 0;
-                string uploadedByName = "Desconhecido";
-                bool isTecnico = false;
+            if (ticket == null)
+                return "Ticket não encontrado.";
 
-                // ===========================================================
-                // Identifica se quem enviou é técnico ou cliente
-                // ===========================================================
+            int uploadedById = 0, uploadedToId = 0;
+            string uploadedByName = "Desconhecido";
+            bool isTecnico = false;
 
-                // Tenta localizar técnico pelo nome ou e-mail
-                var tecnico = await _dbContext.TbTecnico
-                    .FirstOrDefaultAsync(t => t.Nome == usuario || t.Email == usuario);
+            // ===========================================================
+            // Identifica se quem enviou é técnico ou cliente
+            // ===========================================================
 
-                if (tecnico != null)
-                {
-                    // Quem enviou é TÉCNICO
-                    isTecnico = true;
+            // Tenta localizar técnico pelo nome ou e-mail
+            var tecnico = await _dbContext.TbTecnico
+                .FirstOrDefaultAsync(t => t.Nome == usuario || t.Email == usuario);
 
-                    uploadedById = tecnico.Id;
-                    uploadedToId = ticket.Criador?.Id ?? 0;
-                    uploadedByName = tecnico.Nome ?? "Técnico";
+            if (tecnico != null)
+            {
+                // Quem enviou é TÉCNICO
+                isTecnico = true;
 
-                    Console.WriteLine($"[UPLOAD] Técnico detectado: {uploadedByName} (ID: {uploadedById})");
-                }
-                else
-                {
-                    // Caso contrário, é CLIENTE
-                    var cliente = await _dbContext.Users
-                        .FirstOrDefaultAsync(u => u.Username == usuario || u.Email == usuario);
+                uploadedById = tecnico.Id;
+                uploadedToId = ticket.Criador?.Id ?? 0;
+                uploadedByName = tecnico.Nome ?? "Técnico";
 
-                    uploadedById = cliente?.Id ?? ticket.Criador?.Id ?? 0;
-                    uploadedToId = ticket.Tecnico?.Id ?? 0;
-                    uploadedByName = cliente?.Username ?? ticket.Criador?.Username ?? "Cliente";
+                Console.WriteLine($"[UPLOAD] Técnico detectado: {uploadedByName} (ID: {uploadedById})");
+            }
+            else
+            {
+                // Caso contrário, é CLIENTE
+                var cliente = await _dbContext.Users
+                    .FirstOrDefaultAsync(u => u.Username == usuario || u.Email == usuario);
 
-                    Console.WriteLine($"[UPLOAD] Cliente detectado: {uploadedByName} (ID: {uploadedById})");
-                }
+                uploadedById = cliente?.Id ?? ticket.Criador?.Id ?? 0;
+                uploadedToId = ticket.Tecnico?.Id ?? 0;
+                uploadedByName = cliente?.Username ?? ticket.Criador?.Username ?? "Cliente";
 
-                // Se, por algum motivo, não encontrou ninguém
-                if (uploadedById == 0)
+                Console.WriteLine($"[UPLOAD] Cliente detectado: {uploadedByName} (ID: {uploadedById})");
+            }
+
+            // Se, por algum motivo, não encontrou ninguém
+            if (uploadedById == 0)
+            {
+                Console.WriteLine("[UPLOAD ERROR] Nenhum ID válido encontrado para o remetente.");
+                return "Usuário não encontrado no sistema.";
+            }
+
+            // ===========================================================
+            // Salva o registro do arquivo no banco
+            // ===========================================================
+            var chatFile = new ChatFile
+            {
+                FileName = nomeOriginal,
+                FileUrl = fileUrl,
+                UploadedAt = DateTime.Now,
+                UploadedToId = uploadedToId,
+                UploadedByName = uploadedByName,
+                TicketId = ticketId,
+                UploadedById = isTecnico ? null : uploadedById,   // Se for técnico → null
+                UploadedByTecnicoId = isTecnico ? uploadedById : null
+            };
+
+            _dbContext.ChatFiles.Add(chatFile);
+            await _dbContext.SaveChangesAsync();
+
+            Console.WriteLine($"[UPLOAD OK ✅] {nomeOriginal} salvo no servidor para ticket {ticketId}.");
+
+            // ===========================================================
+            // Envia notificação para o SignalR (chat)
+            // Prefixo "file:" evita duplicação de conteúdo
+            // ===========================================================
+            await _hubContext.Clients.Group($"ticket_{ticketId}")
+                .SendAsync("ReceberMensagem", new
                 {
-                    Console.WriteLine("[UPLOAD ERROR] Nenhum ID válido encontrado para o remetente.");
-                    return BadRequest(new { error = "Usuário não encontrado no sistema." });
-                }
+                    ticketId,
+                    autor = uploadedByName,
+                    mensagem = $"file:{fileUrl}",        // FRONT sabe que é arquivo
+                    nomeOriginal = nomeOriginal,
+                    data = DateTime.Now.ToString("yyyy-MM-dd HH:mm:ss"),
+                    papel = isTecnico ? "tecnico" : "cliente"
+                });
+
+            await AvisosChamados.AvisarAsync(_hubContext.Clients, _dbContext, ticketId, uploadedByName, chatFile.UploadedAt);
+
+            Console.WriteLine($"[SIGNALR ✅] Arquivo enviado via SignalR para ticket {ticketId}.");
+
+            return null;
+        }
+
+        // ===========================================================
+        // Upload em partes (retomável) — usado pelo app Android para arquivos grandes
+        //
+        // 1. POST Upload/Iniciar            → cria o upload e devolve uploadId
+        // 2. GET  Upload/Status/{id}        → quantos bytes o servidor já confirmou
+        // 3. POST Upload/Parte/{id}?offset= → anexa uma parte (corpo cru); 409 se o offset não bater
+        // 4. POST Upload/Concluir/{id}      → move o arquivo para wwwroot/uploads e registra no chat
+        // ===========================================================
+
+        // Tamanho máximo no upload em partes (200MB)
+        private const long maxChunkedFileSize = 200L * 1024 * 1024;
+
+        // Dados do upload em andamento (salvos ao lado do arquivo parcial)
+        private class UploadParcial
+        {
+            public string NomeArquivo { get; set; } = string.Empty;
+            public long Tamanho { get; set; }
+            public int TicketId { get; set; }
+            public string Usuario { get; set; } = string.Empty;
+        }
+
+        private string PastaParcial()
+        {
+            var pasta = Path.Combine(_env.ContentRootPath, "App_Data", "uploads_parciais");
+            if (!Directory.Exists(pasta))
+                Directory.CreateDirectory(pasta);
+            return pasta;
+        }
+
+        // Só aceita ids gerados por Iniciar (Guid "N"), evitando caminhos arbitrários
+        private static bool UploadIdValido(string id) =>
+            Guid.TryParseExact(id, "N", out _);
+
+        private UploadParcial? LerUploadParcial(string id)
+        {
+            var meta = Path.Combine(PastaParcial(), id + ".json");
+            if (!System.IO.File.Exists(meta))
+                return null;
+            return System.Text.Json.JsonSerializer.Deserialize<UploadParcial>(System.IO.File.ReadAllText(meta));
+        }
+
+        private long BytesRecebidos(string id)
+        {
+            var parte = new FileInfo(Path.Combine(PastaParcial(), id + ".part"));
+            return parte.Exists ? parte.Length : 0;
+        }
+
+        [HttpPost]
+        public IActionResult Iniciar(string nomeArquivo, long tamanho, int ticketId, string usuario)
+        {
+            if (string.IsNullOrWhiteSpace(nomeArquivo) || tamanho <= 0)
+                return BadRequest(new { success = false, error = "Arquivo inválido." });
+
+            var extension = Path.GetExtension(nomeArquivo).ToLower();
+            if (!allowedExtensions.Contains(extension))
+                return BadRequest(new { success = false, error = "Tipo de arquivo não permitido." });
+
+            if (tamanho > maxChunkedFileSize)
+                return BadRequest(new { success = false, error = $"O arquivo não pode exceder {maxChunkedFileSize / (1024 * 1024)} MB." });
+
+            var uploadId = Guid.NewGuid().ToString("N");
+            var dados = new UploadParcial { NomeArquivo = nomeArquivo, Tamanho = tamanho, TicketId = ticketId, Usuario = usuario };
+
+            System.IO.File.WriteAllText(Path.Combine(PastaParcial(), uploadId + ".json"),
+                System.Text.Json.JsonSerializer.Serialize(dados));
+            System.IO.File.Create(Path.Combine(PastaParcial(), uploadId + ".part")).Dispose();
+
+            Console.WriteLine($"[UPLOAD PARTES] Iniciado {uploadId}: {nomeArquivo} ({tamanho} bytes), ticket {ticketId}");
+
+            return Json(new { success = true, uploadId });
+        }
+
+        [HttpGet("Upload/Status/{id}")]
+        public IActionResult Status(string id)
+        {
+            if (!UploadIdValido(id) || LerUploadParcial(id) == null)
+                return NotFound(new { success = false, error = "Upload não encontrado." });
+
+            return Json(new { success = true, recebidos = BytesRecebidos(id) });
+        }
+
+        [HttpPost("Upload/Parte/{id}")]
+        public async Task<IActionResult> Parte(string id, [FromQuery] long offset)
+        {
+            if (!UploadIdValido(id))
+                return NotFound(new { success = false, error = "Upload não encontrado." });
+
+            var dados = LerUploadParcial(id);
+            if (dados == null)
+                return NotFound(new { success = false, error = "Upload não encontrado." });
+
+            // A parte precisa começar exatamente onde o servidor parou
+            long recebidos = BytesRecebidos(id);
+            if (offset != recebidos)
+                return Conflict(new { success = false, recebidos });
+
+            // Nunca grava além do tamanho informado: uma parte grande demais (ou
+            // repetida) deixaria o arquivo maior que o esperado, e Status/Concluir
+            // não deixariam mais o upload terminar
+            long restante = dados.Tamanho - recebidos;
+            if (Request.ContentLength > restante)
+                return BadRequest(new { success = false, error = "Recebidos mais bytes que o tamanho informado.", recebidos });
 
-                // ===========================================================
-                // Salva o registro do arquivo no banco
-                // ===========================================================
-                var chatFile = new ChatFile
+            using (var stream = new FileStream(Path.Combine(PastaParcial(), id + ".part"), FileMode.Open, FileAccess.Write))
+            {
+                stream.Seek(0, SeekOrigin.End);
+
+                var buffer = new byte[81920];
+                int lidos;
+                while ((lidos = await Request.Body.ReadAsync(buffer)) > 0)
                 {
-                    FileName = file.FileName,
-                    FileUrl = fileUrl,
-                    UploadedAt = DateTime.Now,
-                    UploadedToId = uploadedToId,
-                    UploadedByName = uploadedByName,
-                    TicketId = ticketId,
-                    UploadedById = isTecnico ? null : uploadedById,   // Se for técnico → null
-                    UploadedByTecnicoId = isTecnico ? uploadedById : null
-                };
-
-                _dbContext.ChatFiles.Add(chatFile);
-                await _dbContext.SaveChangesAsync();
-
-                Console.WriteLine($"[UPLOAD OK ✅] {file.FileName} salvo no servidor para ticket {ticketId}.");
-
-                // ===========================================================
-                // Envia notificação para o SignalR (chat)
-                // Prefixo "file:" evita duplicação de conteúdo
-                // ===========================================================
-                await _hubContext.Clients.Group($"ticket_{ticketId}")
-                    .SendAsync("ReceberMensagem", new
+                    if (lidos > restante)
                     {
-                        autor = uploadedByName,
-                        mensagem = $"file:{fileUrl}",        // FRONT sabe que é arquivo
-                        nomeOriginal = file.FileName,
-                        data = DateTime.Now.ToString("yyyy-MM-dd HH:mm:ss"),
-                        papel = isTecnico ? "tecnico" : "cliente"
-                    });
+                        // Sem Content-Length (corpo em chunks): descarta a parte inteira
+                        stream.SetLength(recebidos);
+                        return BadRequest(new { success = false, error = "Recebidos mais bytes que o tamanho informado.", recebidos });
+                    }
 
-                Console.WriteLine($"[SIGNALR ✅] Arquivo enviado via SignalR para ticket {ticketId}.");
+                    await stream.WriteAsync(buffer.AsMemory(0, lidos));
+                    restante -= lidos;
+                }
+            }
+
+            recebidos = BytesRecebidos(id);
+            return Json(new { success = true, recebidos });
+        }
+
+        [HttpPost("Upload/Concluir/{id}")]
+        public async Task<IActionResult> Concluir(string id)
+        {
+            try
+            {
+                if (!UploadIdValido(id))
+                    return NotFound(new { success = false, error = "Upload não encontrado." });
+
+                var dados = LerUploadParcial(id);
+                if (dados == null)
+                    return NotFound(new { success = false, error = "Upload não encontrado." });
+
+                long recebidos = BytesRecebidos(id);
+                if (recebidos != dados.Tamanho)
+                    return Conflict(new { success = false, recebidos });
+
+                var uploadPath = Path.Combine(_env.WebRootPath, "uploads");
+                if (!Directory.Exists(uploadPath))
+                    Directory.CreateDirectory(uploadPath);
+
+                var uniqueName = Guid.NewGuid().ToString() + Path.GetExtension(dados.NomeArquivo).ToLower();
+                System.IO.File.Move(Path.Combine(PastaParcial(), id + ".part"), Path.Combine(uploadPath, uniqueName));
+                System.IO.File.Delete(Path.Combine(PastaParcial(), id + ".json"));
+
+                var fileUrl = $"{Request.Scheme}://{Request.Host}/uploads/{uniqueName}";
+                Console.WriteLine($"[UPLOAD PARTES] Concluído {id} → {fileUrl}");
+
+                var erro = await RegistrarArquivo(dados.NomeArquivo, fileUrl, dados.TicketId, dados.Usuario);
+                if (erro != null)
+                    return BadRequest(new { success = false, error = erro });
 
-                // Retorna URL do arquivo ao frontend
                 return Json(new { success = true, fileUrl });
             }
             catch (Exception ex)
             {
-                // Log em caso de erro inesperado
                 Console.WriteLine($"[UPLOAD ERROR ❌] {ex.Message}\n{ex.StackTrace}");
-                return StatusCode(500, new { error = "Erro interno ao enviar o arquivo: " + ex.Message });
+                return StatusCode(500, new { error = "Erro interno ao concluir o upload: " + ex.Message });
             }
         }
     }
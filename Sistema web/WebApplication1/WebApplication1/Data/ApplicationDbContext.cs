@@ -203,10 +203,19 @@ namespace WebApplication1.Data
                 entity.Property(e => e.TicketId)
                       .IsRequired();
 
+                entity.Property(e => e.ClientId)
+                      .HasMaxLength(64)
+                      .IsRequired(false);
+
                 entity.HasOne(e => e.Ticket)
                       .WithMany()
                       .HasForeignKey(e => e.TicketId)
                       .OnDelete(DeleteBehavior.Cascade);
+
+                // Reenvios da caixa de saída do app: um clientId só uma vez por ticket
+                entity.HasIndex(e => new { e.TicketId, e.ClientId })
+                      .IsUnique()
+                      .HasFilter("[ClientId] IS NOT NULL");
             });
         }
     }
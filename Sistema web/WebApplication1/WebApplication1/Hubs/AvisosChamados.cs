@@ -0,0 +1,56 @@
+﻿using Microsoft.AspNetCore.SignalR;
+using Microsoft.EntityFrameworkCore;
+using System;
+using System.Linq;
+using System.Threading.Tasks;
+using WebApplication1.Data;
+
+namespace WebApplication1.Hubs
+{
+    /// <summary>
+    /// 📋 Avisos para a lista de chamados do app (evento "ChamadoAtualizado").
+    /// O app entra no grupo do usuário (ChatHub.AcompanharChamados) enquanto a
+    /// lista está aberta e atualiza só o card do chamado avisado, sem recarregar tudo.
+    /// </summary>
+    public static class AvisosChamados
+    {
+        // Grupo do SignalR com as conexões que acompanham os chamados do usuário
+        public static string Grupo(string usuario) => $"chamados_{usuario.Trim().ToLowerInvariant()}";
+
+        // Avisa o criador do ticket do status e técnico atuais.
+        // Em mensagens novas, informa também o autor e a data da mensagem.
+        public static async Task AvisarAsync(IHubClients clientes, ApplicationDbContext contexto, int ticketId,
+            string? autorMensagem = null, DateTime? dataMensagem = null)
+        {
+            try
+            {
+                var chamado = await contexto.Tickets
+                    .Where(t => t.Id == ticketId)
+                    .Select(t => new
+                    {
+                        t.Status,
+                        Tecnico = t.Tecnico != null ? t.Tecnico.Nome : null,
+                        Criador = t.Criador.Username
+                    })
+                    .FirstOrDefaultAsync();
+
+                if (chamado == null || string.IsNullOrWhiteSpace(chamado.Criador))
+                    return;
+
+                await clientes.Group(Grupo(chamado.Criador)).SendAsync("ChamadoAtualizado", new
+                {
+                    ticketId,
+                    status = chamado.Status,
+                    tecnico = chamado.Tecnico,
+                    autorMensagem,
+                    dataMensagem = dataMensagem?.ToString("yyyy-MM-dd HH:mm:ss")
+                });
+            }
+            catch (Exception ex)
+            {
+                // O aviso é só uma atualização da lista: não desfaz a operação que o gerou
+                Console.WriteLine($"⚠️ Aviso do ticket {ticketId} não enviado: {ex.Message}");
+            }
+        }
+    }
+}
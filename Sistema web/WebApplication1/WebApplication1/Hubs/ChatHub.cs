@@ -35,6 +35,32 @@ namespace WebApplication1.Hubs
             Console.WriteLine($"🟢 {Context.ConnectionId} entrou no grupo {grupo}");
         }
 
+        // Sai do grupo do ticket (o app deixou de acompanhar esse chat)
+        public async Task SairDoTicket(int ticketId)
+        {
+            await Groups.RemoveFromGroupAsync(Context.ConnectionId, $"ticket_{ticketId}");
+        }
+
+        // =====================================================================
+        // 📋 Lista de chamados do app (avisos de status, técnico e mensagens)
+        // =====================================================================
+
+        public async Task AcompanharChamados(string usuario)
+        {
+            if (string.IsNullOrWhiteSpace(usuario))
+                return;
+
+            await Groups.AddToGroupAsync(Context.ConnectionId, AvisosChamados.Grupo(usuario));
+        }
+
+        public async Task DeixarDeAcompanharChamados(string usuario)
+        {
+            if (string.IsNullOrWhiteSpace(usuario))
+                return;
+
+            await Groups.RemoveFromGroupAsync(Context.ConnectionId, AvisosChamados.Grupo(usuario));
+        }
+
         // =====================================================================
         // 💬 Enviar mensagem de texto (Cliente ↔ Técnico)
         // =====================================================================
@@ -45,65 +71,136 @@ namespace WebApplication1.Hubs
             if (string.IsNullOrWhiteSpace(conteudo))
                 return;
 
-            string grupo = $"ticket_{ticketId}";
-
             try
             {
-                // Carrega ticket com dados do cliente e técnico
-                var ticket = await _context.Tickets
-                    .Include(t => t.Criador)
-                    .Include(t => t.Tecnico)
-                    .FirstOrDefaultAsync(t => t.Id == ticketId);
+                await GravarEEnviarMensagem(ticketId, autor, conteudo, papel, null);
+            }
+            catch (Exception ex)
+            {
+                Console.WriteLine($"⚠️ Erro ao enviar mensagem: {ex.Message}");
+            }
+        }
 
-                if (ticket == null)
-                {
-                    Console.WriteLine("❌ Ticket não encontrado!");
-                    return;
-                }
+        // =====================================================================
+        // 📱 Enviar mensagem com id gerado no app (caixa de saída)
+        // =====================================================================
 
-                // Obtém IDs
-                int clienteId = ticket.Criador?.Id ?? 0;
-                int tecnicoId = ticket.Tecnico?.Id ?? 0;
+        // Retorna o Id da mensagem salva: o app só dá a mensagem como entregue
+        // quando recebe esse retorno. Se a resposta se perder (queda de conexão)
+        // o app reenvia o mesmo clientId, e a mensagem não é gravada duas vezes:
+        // o clientId fica na própria mensagem (índice único por ticket), então
+        // vale também depois de reiniciar o servidor.
+        public async Task<int> EnviarMensagemComId(int ticketId, string autor, string conteudo, string papel, string clientId)
+        {
+            if (string.IsNullOrWhiteSpace(conteudo))
+                throw new HubException("Mensagem vazia.");
 
-                // Nome de quem enviou a mensagem
-                string remetenteNome = autor;
+            if (string.IsNullOrWhiteSpace(clientId) || clientId.Length > 64)
+                throw new HubException("clientId inválido.");
 
-                // Define para quem a mensagem é destinada
-                string destinatarioNome = papel.ToLower() == "cliente"
-                    ? ticket.Tecnico?.Nome ?? "Técnico"
-                    : ticket.Criador?.Username ?? "Cliente";
+            // Reenvio de uma mensagem já gravada: devolve o mesmo Id
+            int? gravada = await IdPorClientId(ticketId, clientId);
+            if (gravada != null)
+                return gravada.Value;
 
-                // Cria nova mensagem para salvar no banco
-                var novaMensagem = new Mensagem
-                {
-                    Remetente = remetenteNome,
-                    Destinatario = destinatarioNome,
-                    Conteudo = conteudo,
-                    DataEnvio = DateTime.Now,
-                    TicketId = ticketId,
-                    ClienteId = clienteId,
-                    TecnicoId = tecnicoId
-                };
+            try
+            {
+                var mensagem = await GravarEEnviarMensagem(ticketId, autor, conteudo, papel, clientId);
+                return mensagem.Id;
+            }
+            catch (DbUpdateException ex)
+            {
+                // O mesmo clientId foi gravado ao mesmo tempo por outra conexão
+                // (o índice único recusou esta cópia): vale a que ficou no banco
+                _context.ChangeTracker.Clear();
+                gravada = await IdPorClientId(ticketId, clientId);
+                if (gravada != null)
+                    return gravada.Value;
+
+                Console.WriteLine($"⚠️ Erro ao enviar mensagem {clientId}: {ex.Message}");
+                throw new HubException("Não foi possível salvar a mensagem.");
+            }
+            catch (HubException)
+            {
+                throw;
+            }
+            catch (Exception ex)
+            {
+                Console.WriteLine($"⚠️ Erro ao enviar mensagem {clientId}: {ex.Message}");
+                throw new HubException("Não foi possível salvar a mensagem.");
+            }
+        }
 
-                // Grava no banco
-                _context.Mensagens.Add(novaMensagem);
-                await _context.SaveChangesAsync();
+        private async Task<int?> IdPorClientId(int ticketId, string clientId)
+        {
+            return await _context.Mensagens
+                .Where(m => m.TicketId == ticketId && m.ClientId == clientId)
+                .Select(m => (int?)m.Id)
+                .FirstOrDefaultAsync();
+        }
 
-                // Envia mensagem para todos os usuários do grupo
-                await Clients.Group(grupo).SendAsync("ReceberMensagem", new
-                {
-                    autor = remetenteNome,
-                    mensagem = conteudo,
-                    papel = papel,
-                    data = novaMensagem.DataEnvio.ToString("yyyy-MM-dd HH:mm:ss")
-                });
+        // Grava a mensagem e repassa ao grupo do ticket
+        private async Task<Mensagem> GravarEEnviarMensagem(int ticketId, string autor, string conteudo, string papel, string? clientId)
+        {
+            string grupo = $"ticket_{ticketId}";
 
-                Console.WriteLine($"📨 Mensagem salva e enviada no ticket {ticketId}");
-            }
-            catch (Exception ex)
+            // Carrega ticket com dados do cliente e técnico
+            var ticket = await _context.Tickets
+                .Include(t => t.Criador)
+                .Include(t => t.Tecnico)
+                .FirstOrDefaultAsync(t => t.Id == ticketId);
+
+            if (ticket == null)
             {
-                Console.WriteLine($"⚠️ Erro ao enviar mensagem: {ex.Message}");
+                Console.WriteLine("❌ Ticket não encontrado!");
+                throw new HubException("Ticket não encontrado.");
             }
+
+            // Obtém IDs
+            int clienteId = ticket.Criador?.Id ?? 0;
+            int tecnicoId = ticket.Tecnico?.Id ?? 0;
+
+            // Nome de quem enviou a mensagem
+            string remetenteNome = autor;
+
+            // Define para quem a mensagem é destinada
+            string destinatarioNome = papel.ToLower() == "cliente"
+                ? ticket.Tecnico?.Nome ?? "Técnico"
+                : ticket.Criador?.Username ?? "Cliente";
+
+            // Cria nova mensagem para salvar no banco
+            var novaMensagem = new Mensagem
+            {
+                Remetente = remetenteNome,
+                Destinatario = destinatarioNome,
+                Conteudo = conteudo,
+                DataEnvio = DateTime.Now,
+                TicketId = ticketId,
+                ClienteId = clienteId,
+                TecnicoId = tecnicoId,
+                ClientId = clientId
+            };
+
+            // Grava no banco
+            _context.Mensagens.Add(novaMensagem);
+            await _context.SaveChangesAsync();
+
+            // Envia mensagem para todos os usuários do grupo
+            await Clients.Group(grupo).SendAsync("ReceberMensagem", new
+            {
+                ticketId, // o app usa uma só conexão para vários tickets
+                id = novaMensagem.Id,
+                clientId,
+                autor = remetenteNome,
+                mensagem = conteudo,
+                papel = papel,
+                data = novaMensagem.DataEnvio.ToString("yyyy-MM-dd HH:mm:ss")
+            });
+
+            await AvisosChamados.AvisarAsync(Clients, _context, ticketId, remetenteNome, novaMensagem.DataEnvio);
+
+            Console.WriteLine($"📨 Mensagem salva e enviada no ticket {ticketId}");
+            return novaMensagem;
         }
 
         // =====================================================================
@@ -188,12 +285,15 @@ namespace WebApplication1.Hubs
                 // Notifica usuários
                 await Clients.Group(grupo).SendAsync("ReceberMensagem", new
                 {
+                    ticketId,
                     autor = remetenteNome,
                     mensagem,
                     papel,
                     data = novaMensagem.DataEnvio.ToString("yyyy-MM-dd HH:mm:ss")
                 });
 
+                await AvisosChamados.AvisarAsync(Clients, _context, ticketId, remetenteNome, novaMensagem.DataEnvio);
+
                 Console.WriteLine($"📁 Arquivo ({extensao}) enviado corretamente!");
             }
             catch (Exception ex)
@@ -213,6 +313,7 @@ namespace WebApplication1.Hubs
             // Envia notificação automática do sistema
             await Clients.Group(grupo).SendAsync("ReceberMensagem", new
             {
+                ticketId,
                 autor = "sistema",
                 mensagem = "🔴 O técnico solicitou o encerramento do atendimento. Aguardando confirmação.",
                 papel = "sistema",
@@ -251,6 +352,8 @@ namespace WebApplication1.Hubs
                     status = ticket.Status
                 });
 
+                await AvisosChamados.AvisarAsync(Clients, _context, ticketId);
+
                 Console.WriteLine($"✅ Ticket {ticketId} finalizado com sucesso e notificado via SignalR!");
             }
         }
@@ -265,6 +368,7 @@ namespace WebApplication1.Hubs
 
             await Clients.Group(grupo).SendAsync("ReceberMensagem", new
             {
+                ticketId,
                 autor = "sistema",
                 mensagem = "⚠️ O cliente optou por continuar a conversa.",
                 papel = "sistema",
@@ -0,0 +1,47 @@
+﻿using Microsoft.EntityFrameworkCore.Infrastructure;
+using Microsoft.EntityFrameworkCore.Migrations;
+using WebApplication1.Data;
+
+#nullable disable
+
+namespace WebApplication1.Migrations
+{
+    /// <summary>
+    /// Id gerado no app (caixa de saída) em cada mensagem, único por ticket:
+    /// um reenvio do mesmo clientId devolve a mensagem já gravada.
+    /// </summary>
+    [DbContext(typeof(ApplicationDbContext))]
+    [Migration("20261017120000_AddClientIdToMensagens")]
+    public partial class AddClientIdToMensagens : Migration
+    {
+        /// <inheritdoc />
+        protected override void Up(MigrationBuilder migrationBuilder)
+        {
+            migrationBuilder.AddColumn<string>(
+                name: "ClientId",
+                table: "Mensagens",
+                type: "nvarchar(64)",
+                maxLength: 64,
+                nullable: true);
+
+            migrationBuilder.CreateIndex(
+                name: "IX_Mensagens_TicketId_ClientId",
+                table: "Mensagens",
+                columns: new[] { "TicketId", "ClientId" },
+                unique: true,
+                filter: "[ClientId] IS NOT NULL");
+        }
+
+        /// <inheritdoc />
+        protected override void Down(MigrationBuilder migrationBuilder)
+        {
+            migrationBuilder.DropIndex(
+                name: "IX_Mensagens_TicketId_ClientId",
+                table: "Mensagens");
+
+            migrationBuilder.DropColumn(
+                name: "ClientId",
+                table: "Mensagens");
+        }
+    }
+}
@@ -52,5 +52,10 @@ namespace WebApplication1.Models
         // Se tiver tabela de técnicos, pode fazer a navegação:
         // [ForeignKey("TecnicoId")]
         // public Tecnico? Tecnico { get; set; }
+
+        // 🔹 Id gerado no app (caixa de saída); único por ticket, para que um
+        // reenvio da mesma mensagem não seja gravado duas vezes
+        [StringLength(64)]
+        public string? ClientId { get; set; }
     }
 }